@@ -0,0 +1,29 @@
+package dev.iwilkey.terrafort.benchmarks;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.headless.HeadlessFiles;
+
+import dev.iwilkey.terrafort.persistent.TPersistent;
+import dev.iwilkey.terrafort.world.TWorld;
+
+/**
+ * Creates headless {@link TWorld}s for benchmarks. Benchmarks run without a libGDX application, so only the file module is installed.
+ * @author Ian Wilkey (iwilkey)
+ */
+final class TBenchmarkWorlds {
+
+	public static final long SEED = 0x5eed;
+
+	private TBenchmarkWorlds() {}
+
+	/**
+	 * Returns a new, empty headless world with given name. Any world left behind under the same name is discarded.
+	 */
+	static TWorld create(String name) {
+		if(Gdx.files == null)
+			Gdx.files = new HeadlessFiles();
+		new TPersistent();
+		return new TWorld("benchmark-" + name, SEED, true);
+	}
+
+}
@@ -0,0 +1,79 @@
+package dev.iwilkey.terrafort.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import dev.iwilkey.terrafort.world.TChunk;
+import dev.iwilkey.terrafort.world.TWorld;
+
+/**
+ * TChunk.getOrGenerateTile over every tile of a chunk, on a cold cache (a new chunk every invocation, so every tile is generated) and on a
+ * warm one (every tile is already cached).
+ * @author Ian Wilkey (iwilkey)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TChunkBenchmark {
+
+	private TWorld world;
+	private TChunk warm;
+	private TChunk cold;
+	private int    next;
+
+	@Setup(Level.Trial)
+	public void createWorld() {
+		world = TBenchmarkWorlds.create("chunk");
+		warm  = new TChunk(world, 0, 0);
+		touch(warm, null);
+	}
+
+	@Setup(Level.Invocation)
+	public void createColdChunk() {
+		// a new position every time, so nothing is shared with the last chunk...
+		cold = new TChunk(world, ++next, 0);
+	}
+
+	@Benchmark
+	public void coldChunk(Blackhole hole) {
+		touch(cold, hole);
+	}
+
+	@Benchmark
+	public void warmChunk(Blackhole hole) {
+		touch(warm, hole);
+	}
+
+	@TearDown(Level.Trial)
+	public void disposeWorld() {
+		world.dispose();
+	}
+
+	private static void touch(TChunk chunk, Blackhole hole) {
+		final long x = (long)chunk.getChunkX() * TChunk.CHUNK_SIZE;
+		final long y = (long)chunk.getChunkY() * TChunk.CHUNK_SIZE;
+		for(int j = 0; j < TChunk.CHUNK_SIZE; j++)
+			for(int i = 0; i < TChunk.CHUNK_SIZE; i++) {
+				final int h = chunk.getOrGenerateTile(x + i, y + j);
+				if(hole != null)
+					hole.consume(h);
+			}
+	}
+
+}
@@ -0,0 +1,60 @@
+package dev.iwilkey.terrafort.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import dev.iwilkey.terrafort.clk.TClock;
+import dev.iwilkey.terrafort.clk.TEvent;
+
+/**
+ * One TClock.tick() with N events on the schedule. Events repeat (practically) forever with timeouts spread over ten seconds, so a few fire every tick.
+ * The schedule is static; every parameter runs in its own fork so schedules never add up.
+ * @author Ian Wilkey (iwilkey)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TClockBenchmark {
+
+	@Param({ "1000", "10000", "100000" })
+	public int events;
+
+	private TClock clock;
+	private long   fired;
+
+	@Setup(Level.Trial)
+	public void createSchedule() {
+		clock = new TClock();
+		final TEvent event = new TEvent() {
+			@Override
+			public boolean fire() {
+				fired++;
+				return false;
+			}
+		};
+		for(int i = 0; i < events; i++)
+			TClock.schedule(event, Integer.MAX_VALUE, 0.01f + (i % 1000) * 0.01f);
+	}
+
+	@Benchmark
+	public long tick() {
+		clock.tick();
+		return fired;
+	}
+
+}
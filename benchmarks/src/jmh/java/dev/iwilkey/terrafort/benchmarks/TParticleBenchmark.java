@@ -0,0 +1,60 @@
+package dev.iwilkey.terrafort.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import dev.iwilkey.terrafort.obj.particulate.TParticleSystem;
+import dev.iwilkey.terrafort.world.TWorld;
+
+/**
+ * One TParticleSystem.tick(dt) at 60 ticks per second with N live particles. Particles that die are emitted again right away, so the count
+ * stays at N. Particles are emitted over empty chunks, so this measures the simulation and the tile lookups, not the collisions.
+ * @author Ian Wilkey (iwilkey)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TParticleBenchmark {
+
+	@Param({ "1000", "10000", "50000" })
+	public int particles;
+
+	private TWorld          world;
+	private TParticleSystem system;
+
+	@Setup(Level.Trial)
+	public void createWorld() {
+		world  = TBenchmarkWorlds.create("particle");
+		system = world.getParticles();
+		system.emit(0, 0, 0xffffffff, particles);
+	}
+
+	@Benchmark
+	public int tick() {
+		system.tick(1f / 60);
+		system.emit(0, 0, 0xffffffff, particles - system.getCount());
+		return system.getCount();
+	}
+
+	@TearDown(Level.Trial)
+	public void disposeWorld() {
+		world.dispose();
+	}
+
+}
@@ -0,0 +1,104 @@
+package dev.iwilkey.terrafort.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import dev.iwilkey.terrafort.persistent.TBinaryReader;
+import dev.iwilkey.terrafort.persistent.TBinaryWriter;
+import dev.iwilkey.terrafort.persistent.TPersistent;
+import dev.iwilkey.terrafort.persistent.TRegionStore;
+import dev.iwilkey.terrafort.world.TChunk;
+import dev.iwilkey.terrafort.world.TWorld;
+
+/**
+ * Saves and loads every chunk of a world with N generated chunks. Chunks live in region files rather than one serialized world, so this is
+ * the cost of TWorld.dispose() writing them and of reading them all back.
+ * @author Ian Wilkey (iwilkey)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class TPersistenceBenchmark {
+
+	private static final String SAVE_DIRECTORY = "world/benchmark-persistence/save/";
+	private static final String LOAD_DIRECTORY = "world/benchmark-persistence/load/";
+
+	@Param({ "100", "1000", "10000" })
+	public int chunks;
+
+	private TWorld        world;
+	private TChunk[]      data;
+	private TBinaryWriter writer;
+
+	@Setup(Level.Trial)
+	public void createWorld() {
+		world  = TBenchmarkWorlds.create("persistence");
+		writer = new TBinaryWriter(4096);
+		data   = new TChunk[chunks];
+		final int side = (int)Math.ceil(Math.sqrt(chunks));
+		for(int i = 0; i < chunks; i++) {
+			final TChunk c = new TChunk(world, i % side, i / side);
+			final long   x = (long)c.getChunkX() * TChunk.CHUNK_SIZE;
+			final long   y = (long)c.getChunkY() * TChunk.CHUNK_SIZE;
+			for(int tx = 0; tx < TChunk.CHUNK_SIZE; tx++)
+				for(int ty = 0; ty < TChunk.CHUNK_SIZE; ty++)
+					c.getOrGenerateTile(x + tx, y + ty);
+			data[i] = c;
+		}
+		TPersistent.delete(LOAD_DIRECTORY);
+		save(LOAD_DIRECTORY);
+	}
+
+	@Setup(Level.Iteration)
+	public void clearSave() {
+		TPersistent.delete(SAVE_DIRECTORY);
+	}
+
+	@Benchmark
+	public void saveChunks() {
+		save(SAVE_DIRECTORY);
+	}
+
+	@Benchmark
+	public void loadChunks(Blackhole hole) {
+		final TRegionStore store = new TRegionStore(LOAD_DIRECTORY);
+		for(final TChunk c : data)
+			hole.consume(TChunk.read(world, new TBinaryReader(store.read(c.getChunkX(), c.getChunkY()))));
+		store.dispose();
+	}
+
+	@TearDown(Level.Trial)
+	public void disposeWorld() {
+		TPersistent.delete(SAVE_DIRECTORY);
+		TPersistent.delete(LOAD_DIRECTORY);
+		world.dispose();
+	}
+
+	private void save(String directory) {
+		final TRegionStore store = new TRegionStore(directory);
+		for(final TChunk c : data) {
+			writer.reset();
+			c.write(writer);
+			store.write(c.getChunkX(), c.getChunkY(), writer.toByteArray());
+		}
+		store.dispose();
+	}
+
+}
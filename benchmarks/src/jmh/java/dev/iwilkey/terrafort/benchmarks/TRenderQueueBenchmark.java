@@ -0,0 +1,110 @@
+package dev.iwilkey.terrafort.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.badlogic.gdx.graphics.Color;
+
+import dev.iwilkey.terrafort.gfx.TRenderQueue;
+import dev.iwilkey.terrafort.gfx.TRenderableSprite;
+
+/**
+ * Records and sorts one frame of N sprites in a {@link TRenderQueue}, which replaced TGraphics.sortAndCombineRenderRequests. Sprites are
+ * spread over a handful of depths and both blend modes, like a busy frame.
+ * @author Ian Wilkey (iwilkey)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TRenderQueueBenchmark {
+
+	@Param({ "1000", "10000", "100000" })
+	public int sprites;
+
+	private TRenderQueue  queue;
+	private TBenchSprite[] frame;
+
+	@Setup(Level.Trial)
+	public void createFrame() {
+		final Random random = new Random(TBenchmarkWorlds.SEED);
+		queue = new TRenderQueue(sprites);
+		frame = new TBenchSprite[sprites];
+		for(int i = 0; i < sprites; i++)
+			frame[i] = new TBenchSprite(random.nextInt(8) * 16, random.nextFloat() * 4096f - 2048f, random.nextInt(16) == 0);
+	}
+
+	@Benchmark
+	public int recordAndSort() {
+		queue.clear();
+		for(final TBenchSprite s : frame)
+			queue.add(s);
+		queue.sort();
+		return queue.size();
+	}
+
+	/**
+	 * A sprite that only carries what the queue reads.
+	 * @author Ian Wilkey (iwilkey)
+	 */
+	private static final class TBenchSprite implements TRenderableSprite {
+
+		private final int     depth;
+		private final float   y;
+		private final boolean additive;
+
+		TBenchSprite(int depth, float y, boolean additive) {
+			this.depth    = depth;
+			this.y        = y;
+			this.additive = additive;
+		}
+
+		@Override
+		public String getSpriteSheet()              { return null;        }
+		@Override
+		public float getX()                         { return 0;           }
+		@Override
+		public float getY()                         { return y;           }
+		@Override
+		public float getGraphicalX()                { return 0;           }
+		@Override
+		public float getGraphicalY()                { return y;           }
+		@Override
+		public float getWidth()                     { return 16;          }
+		@Override
+		public float getHeight()                    { return 16;          }
+		@Override
+		public float getRotationInRadians()         { return 0;           }
+		@Override
+		public int   getDataSelectionOffsetX()      { return 0;           }
+		@Override
+		public int   getDataSelectionOffsetY()      { return 0;           }
+		@Override
+		public int   getDataSelectionSquareWidth()  { return 1;           }
+		@Override
+		public int   getDataSelectionSquareHeight() { return 1;           }
+		@Override
+		public Color getRenderTint()                { return Color.WHITE; }
+		@Override
+		public int   getDepth()                     { return depth;       }
+		@Override
+		public boolean shouldUseAdditiveBlending()  { return additive;    }
+
+	}
+
+}
@@ -0,0 +1,61 @@
+package dev.iwilkey.terrafort.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import dev.iwilkey.terrafort.math.TNoise;
+import dev.iwilkey.terrafort.world.TChunk;
+import dev.iwilkey.terrafort.world.terrain.TTerrainGenerator;
+
+/**
+ * Terrain noise, per sample, per tile and per chunk. Tile coordinates walk so consecutive calls don't hit the same lattice cell.
+ * @author Ian Wilkey (iwilkey)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TTerrainBenchmark {
+
+	private long tile = 0;
+
+	@Benchmark
+	public float noiseSample() {
+		tile++;
+		return TNoise.get(TBenchmarkWorlds.SEED, tile * 0.01, tile * 0.007);
+	}
+
+	@Benchmark
+	public float layerPerTile() {
+		tile++;
+		return TTerrainGenerator.layer(TBenchmarkWorlds.SEED, tile, tile >> 3, 0.01f, 16);
+	}
+
+	@Benchmark
+	public int heightPerTile() {
+		tile++;
+		return TTerrainGenerator.getHeightAt(TBenchmarkWorlds.SEED, tile, tile >> 3);
+	}
+
+	@Benchmark
+	@OutputTimeUnit(TimeUnit.MICROSECONDS)
+	public void heightPerChunk(Blackhole hole) {
+		final long x = (tile++) * TChunk.CHUNK_SIZE;
+		for(int j = 0; j < TChunk.CHUNK_SIZE; j++)
+			for(int i = 0; i < TChunk.CHUNK_SIZE; i++)
+				hole.consume(TTerrainGenerator.getHeightAt(TBenchmarkWorlds.SEED, x + i, j));
+	}
+
+}
@@ -5,6 +5,8 @@ import com.badlogic.gdx.Gdx;
 
 import dev.iwilkey.terrafort.clk.TClock;
 import dev.iwilkey.terrafort.clk.TEvent;
+import dev.iwilkey.terrafort.clk.TPhase;
+import dev.iwilkey.terrafort.clk.TProfiler;
 import dev.iwilkey.terrafort.gfx.TGraphics;
 import dev.iwilkey.terrafort.gui.TUserInterface;
 import dev.iwilkey.terrafort.persistent.TPersistent;
@@ -102,22 +104,23 @@ public final class TEngine implements ApplicationListener {
     	gfx.resize(width, height);
     }
     
-    float t = 0.0f;
-    
     @Override
     public void render() {
+    	TProfiler.beginFrame();
+    	TProfiler.begin(TPhase.CLOCK);
     	clk.tick();
+    	TProfiler.end(TPhase.CLOCK);
     	float dt = (float)TClock.dt();
-    	t += dt;
-    	if(t > 1.0f) {
-    		System.out.println("Fps: " + (1 / dt));
-    		t = 0.0f;
-    	}
+    	TProfiler.begin(TPhase.STATE);
     	if(state != null)
     		state.render(dt);
+    	TProfiler.end(TPhase.STATE);
     	input.tick();
+    	TProfiler.begin(TPhase.GRAPHICS);
     	gfx.render(ui, dt);
+    	TProfiler.end(TPhase.GRAPHICS);
     	clk.tock();
+    	TProfiler.endFrame();
     }
 
     @Override
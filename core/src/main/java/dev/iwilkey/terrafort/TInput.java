@@ -10,7 +10,9 @@ import com.badlogic.gdx.controllers.Controllers;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.OrthographicCamera;
 
+import dev.iwilkey.terrafort.clk.TProfiler;
 import dev.iwilkey.terrafort.gfx.TGraphics;
+import dev.iwilkey.terrafort.gfx.TProfilerOverlay;
 import dev.iwilkey.terrafort.gfx.TRenderableSprite;
 import dev.iwilkey.terrafort.gui.TUserInterface;
 import dev.iwilkey.terrafort.math.TMath;
@@ -327,6 +329,12 @@ public final class TInput implements InputProcessor {
 			case Keys.ENTER:
 				interact = (!TGraphics.inBlurState());
 				break;
+			case Keys.F3:
+				TProfilerOverlay.toggle();
+				break;
+			case Keys.F4:
+				TProfiler.export();
+				break;
 		}
 		return false;
 	}
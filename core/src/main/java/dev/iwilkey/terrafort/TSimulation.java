@@ -0,0 +1,135 @@
+package dev.iwilkey.terrafort;
+
+import com.badlogic.gdx.ApplicationListener;
+import com.badlogic.gdx.Gdx;
+
+import dev.iwilkey.terrafort.clk.TPhase;
+import dev.iwilkey.terrafort.clk.TProfiler;
+import dev.iwilkey.terrafort.persistent.TPersistent;
+import dev.iwilkey.terrafort.world.TWorld;
+
+/**
+ * Simulates a headless {@link TWorld} without a GL context, graphics, audio or user interface. Every tick advances the world by the same
+ * fixed amount of simulated time, no matter how long it took, so a run is only bound by how fast the world can be ticked. Meant to be
+ * launched on the libGDX headless backend for servers, soak tests and measurements.
+ *
+ * <p>
+ * The focus point, where the camera would be, walks east at a fixed speed so chunks keep being generated, streamed and released like they
+ * would be for a moving player. Ticks per second are reported once every second of wall time, and once more when the run ends.
+ * </p>
+ * @author Ian Wilkey (iwilkey)
+ */
+public final class TSimulation implements ApplicationListener {
+
+	/**
+	 * The name of the world simulated in the persistent directory. It is recreated every run.
+	 */
+	public static final String WORLD_NAME = "headless";
+
+	private final long  seed;
+	private final int   tickRate;
+	private final long  maxTicks;
+	private final float focusSpeed;
+
+	private TWorld      world;
+	private float       focusX;
+	private float       focusY;
+	private long        ticks;
+	private long        startTime;
+	private long        reportTime;
+	private long        ticksAtReport;
+
+	/**
+	 * Creates a new simulation of a world with given seed. Each tick advances the world by 1 / tickRate seconds. The simulation exits once
+	 * "maxTicks" ticks were taken, or never if it is 0. The focus walks "focusSpeed" tiles per second of simulated time.
+	 */
+	public TSimulation(long seed, int tickRate, long maxTicks, float focusSpeed) {
+		if(tickRate <= 0)
+			throw new IllegalArgumentException("[Terrafort Game Engine] The tick rate of a simulation must be positive, not " + tickRate + "!");
+		if(maxTicks < 0)
+			throw new IllegalArgumentException("[Terrafort Game Engine] The tick limit of a simulation can't be negative!");
+		this.seed       = seed;
+		this.tickRate   = tickRate;
+		this.maxTicks   = maxTicks;
+		this.focusSpeed = focusSpeed;
+	}
+
+	/**
+	 * The world being simulated. Null before the simulation is created.
+	 */
+	public TWorld getWorld() {
+		return world;
+	}
+
+	/**
+	 * The amount of ticks taken so far.
+	 */
+	public long getTicks() {
+		return ticks;
+	}
+
+	@Override
+	public void create() {
+		new TPersistent();
+		world         = new TWorld(WORLD_NAME, seed, true);
+		focusX        = 0.0f;
+		focusY        = 0.0f;
+		ticks         = 0;
+		startTime     = System.nanoTime();
+		reportTime    = startTime;
+		ticksAtReport = 0;
+		System.out.println("[Terrafort Simulation] Simulating world " + WORLD_NAME + " (seed " + seed + ") at " + tickRate + " ticks per second of simulated time.");
+	}
+
+	@Override
+	public void render() {
+		final float dt = 1f / tickRate;
+		focusX        += focusSpeed * TWorld.TILE_SIZE * dt;
+		TProfiler.beginFrame();
+		TProfiler.begin(TPhase.STATE);
+		world.tick(dt, focusX, focusY);
+		TProfiler.end(TPhase.STATE);
+		TProfiler.endFrame();
+		ticks++;
+		final long now = System.nanoTime();
+		if(now - reportTime >= 1_000_000_000L) {
+			report("", ticks - ticksAtReport, now - reportTime);
+			reportTime    = now;
+			ticksAtReport = ticks;
+		}
+		if(maxTicks != 0 && ticks >= maxTicks)
+			Gdx.app.exit();
+	}
+
+	/**
+	 * Prints the ticks per second over given span of wall time.
+	 */
+	private void report(String prefix, long ticksTaken, long nanos) {
+		final double seconds = nanos / 1e9;
+		System.out.println(String.format("[Terrafort Simulation] %s%.1f ticks/s (%d ticks, %.1f s simulated), %d chunks in memory, %d simulated.",
+				                         prefix,
+				                         ticksTaken / seconds,
+				                         ticks,
+				                         ticks / (double)tickRate,
+				                         world.getChunkData().size(),
+				                         world.getSimulatedChunkCount()));
+	}
+
+	@Override
+	public void resize(int width, int height) {}
+
+	@Override
+	public void pause() {}
+
+	@Override
+	public void resume() {}
+
+	@Override
+	public void dispose() {
+		if(world == null)
+			return;
+		report("Average: ", ticks, System.nanoTime() - startTime);
+		world.dispose();
+	}
+
+}
@@ -4,25 +4,44 @@ import com.badlogic.gdx.utils.Array;
 
 /**
  * TClock is Terrafort Engine Module responsible for tracking and calculating the time it takes
- * to process each frame (delta time) and the total processing time per frame. It also manages registered 
- * {@link TSchedulableEvent}s.
+ * to process each frame (delta time) and the total processing time per frame. It also manages scheduled 
+ * {@link TEvent}s.
+ * 
+ * <p>
+ * Scheduled events are kept in a binary min-heap keyed on the time they're due, so a tick only touches the events that fire; the rest
+ * of the schedule costs nothing. Schedule nodes are pooled, so scheduling an event allocates nothing once the pool is warm.
+ * </p>
  * @author Ian Wilkey (iwilkey)
  */
 public final class TClock {
 	
 	/**
-	 * The master schedule of the Terrafort engine.
+	 * A handle that never refers to a scheduled event.
 	 */
-	private static final Array<TSchedulableEvent> EVENT_SCHEDULE = new Array<>();
+	public static final long                    NO_EVENT = -1L;
 	
 	/**
-	 * Events that are finished and scheduled to be removed from memory.
+	 * Every schedule node ever created, indexed by id, and the ones that are free to be reused.
 	 */
-	private static final Array<TSchedulableEvent> EVENT_GARBAGE  = new Array<>();
+	private static final Array<TScheduledEvent> NODES    = new Array<>();
+	private static final Array<TScheduledEvent> FREE     = new Array<>();
 	
+	/**
+	 * Events that fired this tick and will fire again. They are queued again after the tick, so an event fires at most once per tick.
+	 */
+	private static final Array<TScheduledEvent> REQUEUE  = new Array<>();
+	
+	/**
+	 * The master schedule of the Terrafort engine; a binary min-heap ordered by the time events are due.
+	 */
+	private static TScheduledEvent[]            queue    = new TScheduledEvent[64];
+	private static int                          queued   = 0;
+	
+	private static double time;
 	private static double dt;
 	private static double pt;
-	
+	private static long   sequence;
+	private static long   fired;
 	
 	/**
      * Initializes a new instance of the TClock class.
@@ -61,7 +80,15 @@ public final class TClock {
 	}
 	
 	/**
-	 * Schedule an event to fire "n" number of times with given timeout period between each shot.
+	 * Retrieves the time, in seconds, the clock has ticked through since it was created. Scheduled events are due relative to it.
+	 */
+	public static double time() {
+		return time;
+	}
+	
+	/**
+	 * Schedule an event to fire "n" number of times with given timeout period between each shot. Returns a handle to the scheduled event;
+	 * see cancel(handle).
 	 * 
 	 * <p>
 	 * Note that if you choose "n" to be less than 1, the event will be considered "indefinite," and can
@@ -70,14 +97,58 @@ public final class TClock {
 	 * 
 	 * <p>
 	 * Even for definite events (where n >= 1), the given {@link TEvent} returning true will render it done,
-	 * and it will be disposed next frame.
+	 * and it will never fire again.
 	 * </p>
 	 */
-	public static void schedule(TEvent event, int n, float timeout) {
-		if(n > 1) 
-			EVENT_SCHEDULE.add(new TSchedulableIndefiniteEvent(event, timeout));
-		else 
-			EVENT_SCHEDULE.add(new TSchedulableDefiniteEvent(event, n, timeout));
+	public static long schedule(TEvent event, int n, float timeout) {
+		if(event == null)
+			throw new IllegalArgumentException("[Terrafort Game Engine] Can't schedule a null event!");
+		final TScheduledEvent node = obtain();
+		node.event                 = event;
+		node.remaining             = (n < 1) ? TScheduledEvent.INDEFINITE : n;
+		node.timeout               = timeout;
+		node.fireAt                = time + timeout;
+		push(node);
+		return ((long)node.generation << 32) | node.id;
+	}
+	
+	/**
+	 * Cancels the scheduled event referred to by given handle, such that it never fires again. Returns false if the event isn't scheduled
+	 * anymore. Can be called from within an event, including the one being cancelled.
+	 */
+	public static boolean cancel(long handle) {
+		final TScheduledEvent node = resolve(handle);
+		if(node == null)
+			return false;
+		if(node.index == TScheduledEvent.FIRING) {
+			// it's released once it's done firing...
+			node.cancelled = true;
+			return true;
+		}
+		remove(node.index);
+		release(node);
+		return true;
+	}
+	
+	/**
+	 * Whether or not the event referred to by given handle will fire again.
+	 */
+	public static boolean isScheduled(long handle) {
+		return resolve(handle) != null;
+	}
+	
+	/**
+	 * The amount of events waiting to fire.
+	 */
+	public static int getPendingEvents() {
+		return queued + REQUEUE.size;
+	}
+	
+	/**
+	 * The amount of times any event fired since the engine started.
+	 */
+	public static long getFiredEvents() {
+		return fired;
 	}
 
 	///////////////////////////////////////////////////////
@@ -96,20 +167,31 @@ public final class TClock {
         now = System.nanoTime();
         // convert to nano to seconds...
         dt = (now - last) / 1000000000.0;
-        // manage event events...
-        for(final TSchedulableEvent event : EVENT_SCHEDULE) {
-        	// update internal clock...
-        	event.tick((float)dt);
-        	// check to see if it's garbage...
-        	if(event.done()) {
-        		EVENT_GARBAGE.add(event);
-        		continue;
-        	}
+        time += dt;
+        // only the events that are due are touched...
+        while(queued != 0 && queue[0].fireAt <= time) {
+        	final TScheduledEvent node = queue[0];
+        	remove(0);
+        	node.index         = TScheduledEvent.FIRING;
+        	final boolean done = node.event.fire();
+        	fired++;
+        	if(node.remaining != TScheduledEvent.INDEFINITE)
+        		node.remaining--;
+        	if(done || node.remaining == 0 || node.cancelled)
+        		release(node);
+        	else REQUEUE.add(node);
         }
-        // run event garbage collection, if applicable.
-        if(EVENT_GARBAGE.size != 0) {
-        	EVENT_SCHEDULE.removeAll(EVENT_GARBAGE, false);
-        	EVENT_GARBAGE.clear();
+        if(REQUEUE.size != 0) {
+        	for(final TScheduledEvent node : REQUEUE) {
+        		// may have been cancelled by an event that fired after it...
+        		if(node.cancelled) {
+        			release(node);
+        			continue;
+        		}
+        		node.fireAt = time + node.timeout;
+        		push(node);
+        	}
+        	REQUEUE.clear();
         }
         last = now;
     }
@@ -122,5 +204,101 @@ public final class TClock {
     public void tock() {
         pt = (System.nanoTime() - now) / 1000000000.0; // convert to seconds
     }
+    
+    /**
+     * Returns the scheduled node referred to by given handle, or null if it isn't scheduled anymore.
+     */
+    private static TScheduledEvent resolve(long handle) {
+    	final int id         = (int)handle;
+    	final int generation = (int)(handle >>> 32);
+    	if(handle == NO_EVENT || id < 0 || id >= NODES.size)
+    		return null;
+    	final TScheduledEvent node = NODES.get(id);
+    	if(node.generation != generation || node.index == TScheduledEvent.NOT_QUEUED || node.cancelled)
+    		return null;
+    	return node;
+    }
+    
+    /**
+     * Returns a free schedule node from the pool, or a new one if there is none.
+     */
+    private static TScheduledEvent obtain() {
+    	if(FREE.size != 0)
+    		return FREE.pop();
+    	final TScheduledEvent node = new TScheduledEvent(NODES.size);
+    	NODES.add(node);
+    	return node;
+    }
+    
+    /**
+     * Returns a schedule node to the pool. Handles to it are invalidated.
+     */
+    private static void release(TScheduledEvent node) {
+    	node.generation = (node.generation + 1) & Integer.MAX_VALUE;
+    	node.event      = null;
+    	node.cancelled  = false;
+    	node.index      = TScheduledEvent.NOT_QUEUED;
+    	FREE.add(node);
+    }
+    
+    /**
+     * Adds a node to the queue.
+     */
+    private static void push(TScheduledEvent node) {
+    	if(queued == queue.length) {
+    		final TScheduledEvent[] grown = new TScheduledEvent[queue.length * 2];
+    		System.arraycopy(queue, 0, grown, 0, queued);
+    		queue = grown;
+    	}
+    	node.sequence = sequence++;
+    	place(node, queued++);
+    	siftUp(node.index);
+    }
+    
+    /**
+     * Removes the node at given index of the queue.
+     */
+    private static void remove(int index) {
+    	final TScheduledEvent last = queue[--queued];
+    	queue[queued]              = null;
+    	if(index == queued)
+    		return;
+    	place(last, index);
+    	siftDown(index);
+    	siftUp(last.index);
+    }
+    
+    private static void siftUp(int index) {
+    	final TScheduledEvent node = queue[index];
+    	while(index > 0) {
+    		final int parent = (index - 1) >>> 1;
+    		if(!node.before(queue[parent]))
+    			break;
+    		place(queue[parent], index);
+    		index = parent;
+    	}
+    	place(node, index);
+    }
+    
+    private static void siftDown(int index) {
+    	final TScheduledEvent node = queue[index];
+    	while(true) {
+    		int child = (index << 1) + 1;
+    		if(child >= queued)
+    			break;
+    		if(child + 1 < queued && queue[child + 1].before(queue[child]))
+    			child++;
+    		if(!queue[child].before(node))
+    			break;
+    		place(queue[child], index);
+    		index = child;
+    	}
+    	place(node, index);
+    }
+    
+    private static void place(TScheduledEvent node, int index) {
+    	queue[index] = node;
+    	node.index   = index;
+    }
 	
 }
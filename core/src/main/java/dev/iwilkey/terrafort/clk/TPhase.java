@@ -0,0 +1,66 @@
+package dev.iwilkey.terrafort.clk;
+
+/**
+ * A phase of an engine frame timed by the {@link TProfiler}. Phases form a tree rooted at FRAME; a phase is always timed within its parent.
+ * @author Ian Wilkey (iwilkey)
+ */
+public enum TPhase {
+
+	FRAME           (null,     "Frame",             0x808080ff),
+	CLOCK           (FRAME,    "Clock events",      0xffd166ff),
+	STATE           (FRAME,    "State",             0x5c5c5cff),
+	CHUNK_STREAMING (STATE,    "Chunk streaming",   0x06d6a0ff),
+	PHYSICS         (STATE,    "Physics step",      0xef476fff),
+	MOBS            (STATE,    "Mob management",    0xf78c6bff),
+	CHUNKS          (STATE,    "Chunk update",      0x118ab2ff),
+	PARTICLES       (STATE,    "Particles",         0xc77dffff),
+	WORLD_DRAW      (STATE,    "World draw",        0x83c5beff),
+	GRAPHICS        (FRAME,    "Graphics",          0x404040ff),
+	RENDER_SORT     (GRAPHICS, "Render queue sort", 0xfcbf49ff),
+	SPRITE_PASS     (GRAPHICS, "Sprite pass",       0x4cc9f0ff),
+	SHAPE_PASS      (GRAPHICS, "Shape pass",        0x90be6dff),
+	POST_FX         (GRAPHICS, "Post-fx",           0xb5179eff),
+	UI              (GRAPHICS, "UI",                0xf4f1deff),
+	TEXT            (UI,       "Text",              0xe9c46aff);
+
+	private final TPhase parent;
+	private final String label;
+	private final int    color;
+	private final int    depth;
+
+	private TPhase(TPhase parent, String label, int color) {
+		this.parent = parent;
+		this.label  = label;
+		this.color  = color;
+		this.depth  = (parent == null) ? 0 : parent.depth + 1;
+	}
+
+	/**
+	 * The phase this phase is timed within. Null for FRAME.
+	 */
+	public TPhase getParent() {
+		return parent;
+	}
+
+	/**
+	 * The human readable name of this phase.
+	 */
+	public String getLabel() {
+		return label;
+	}
+
+	/**
+	 * The color of this phase in the overlay graph. RGBA int format.
+	 */
+	public int getColor() {
+		return color;
+	}
+
+	/**
+	 * How many ancestors this phase has.
+	 */
+	public int getDepth() {
+		return depth;
+	}
+
+}
@@ -0,0 +1,179 @@
+package dev.iwilkey.terrafort.clk;
+
+import java.lang.invoke.VarHandle;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+
+import dev.iwilkey.terrafort.persistent.TPersistent;
+
+/**
+ * TProfiler is a Terrafort Engine Module that times every {@link TPhase} of every frame. The time spent in each phase is accumulated over the
+ * frame and, when the frame ends, written as one row to a ring buffer that holds the last {@link TProfiler}.FRAMES frames. There is a single
+ * writer, the thread that runs the frame; any thread can take a consistent copy of the buffer without locking it; see snapshot(out, frames).
+ *
+ * <p>
+ * Timing is always on. A phase costs two calls to System.nanoTime() per entry and allocates nothing.
+ * </p>
+ * @author Ian Wilkey (iwilkey)
+ */
+public final class TProfiler {
+
+	/**
+	 * The amount of frames held by the ring buffer. Must be a power of two.
+	 */
+	public static final int FRAMES = 1024;
+
+	/**
+	 * The amount of phases recorded per frame.
+	 */
+	public static final int PHASES = TPhase.values().length;
+
+	/**
+	 * The amount of statistics per phase written by statistics(window, out): p50, p95, p99 and max, in that order.
+	 */
+	public static final int STATS  = 4;
+
+	private static final TPhase[]   ALL     = TPhase.values();
+	private static final long[]     RING    = new long[FRAMES * PHASES];
+	private static final AtomicLong WRITTEN = new AtomicLong();
+	private static final long[]     CURRENT = new long[PHASES];
+	private static final long[]     STARTED = new long[PHASES];
+	private static final long[]     COPY    = new long[FRAMES * PHASES];
+	private static final long[]     COLUMN  = new long[FRAMES];
+
+	private TProfiler() {}
+
+	///////////////////////////////////////////////////////
+	// BEGIN API
+	///////////////////////////////////////////////////////
+
+	/**
+	 * Starts a new frame. Must be called on the thread that runs the frame.
+	 */
+	public static void beginFrame() {
+		Arrays.fill(CURRENT, 0L);
+		begin(TPhase.FRAME);
+	}
+
+	/**
+	 * Ends the frame and publishes its timings to the ring buffer. Must be called on the thread that runs the frame.
+	 */
+	public static void endFrame() {
+		end(TPhase.FRAME);
+		final long frame = WRITTEN.get();
+		System.arraycopy(CURRENT, 0, RING, (int)(frame & (FRAMES - 1)) * PHASES, PHASES);
+		// the row is visible to readers before the frame counts as written...
+		WRITTEN.lazySet(frame + 1);
+	}
+
+	/**
+	 * Starts timing given phase. A phase can be entered more than once in a frame; its time adds up.
+	 */
+	public static void begin(TPhase phase) {
+		STARTED[phase.ordinal()] = System.nanoTime();
+	}
+
+	/**
+	 * Stops timing given phase.
+	 */
+	public static void end(TPhase phase) {
+		CURRENT[phase.ordinal()] += System.nanoTime() - STARTED[phase.ordinal()];
+	}
+
+	/**
+	 * The amount of frames recorded since the engine started.
+	 */
+	public static long getFramesRecorded() {
+		return WRITTEN.get();
+	}
+
+	/**
+	 * Copies, at most, the "frames" most recent frames to "out", oldest first; one row of {@link TProfiler}.PHASES nanosecond timings per
+	 * frame, indexed by TPhase.ordinal(). Returns the amount of frames copied. Safe to call from any thread.
+	 */
+	public static int snapshot(long[] out, int frames) {
+		frames = Math.min(frames, FRAMES);
+		if(out.length < frames * PHASES)
+			throw new IllegalArgumentException("[Terrafort Game Engine] A profiler snapshot of " + frames + " frames needs room for " + (frames * PHASES) + " timings!");
+		final long end   = WRITTEN.get();
+		long       start = Math.max(0, end - frames);
+		for(long f = start; f < end; f++)
+			System.arraycopy(RING, (int)(f & (FRAMES - 1)) * PHASES, out, (int)(f - start) * PHASES, PHASES);
+		// the writer may have lapped the oldest rows while they were copied; drop the ones that could be torn...
+		VarHandle.acquireFence();
+		final long after = WRITTEN.get();
+		final long valid = Math.max(start, after - FRAMES + 1);
+		if(valid > start) {
+			final int drop = (int)Math.min(end - start, valid - start);
+			System.arraycopy(out, drop * PHASES, out, 0, (int)(end - start - drop) * PHASES);
+			start += drop;
+		}
+		return (int)(end - start);
+	}
+
+	/**
+	 * Writes the p50, p95, p99 and max nanosecond timings of every phase over the last "window" frames to "out", {@link TProfiler}.STATS
+	 * values per phase indexed by TPhase.ordinal(). Returns the amount of frames considered. Must be called on one thread only.
+	 */
+	public static int statistics(int window, long[] out) {
+		final int n = snapshot(COPY, window);
+		for(int p = 0; p < PHASES; p++) {
+			for(int f = 0; f < n; f++)
+				COLUMN[f] = COPY[f * PHASES + p];
+			Arrays.sort(COLUMN, 0, n);
+			out[p * STATS]     = percentile(n, 0.50f);
+			out[p * STATS + 1] = percentile(n, 0.95f);
+			out[p * STATS + 2] = percentile(n, 0.99f);
+			out[p * STATS + 3] = (n == 0) ? 0 : COLUMN[n - 1];
+		}
+		return n;
+	}
+
+	/**
+	 * Exports every frame in the ring buffer to a CSV file in the "profiles" directory of {@link TPersistent}.ROOT, one row per frame, oldest
+	 * first, and one column of milliseconds per phase. The buffer is copied right away; the file is written in the background.
+	 */
+	public static void export() {
+		final long[] frames = new long[FRAMES * PHASES];
+		final int    count  = snapshot(frames, FRAMES);
+		final Thread writer = new Thread(() -> {
+			final StringBuilder csv = new StringBuilder(count * PHASES * 8);
+			csv.append("frame");
+			for(final TPhase phase : ALL)
+				csv.append(',').append(phase.getLabel());
+			csv.append('\n');
+			for(int f = 0; f < count; f++) {
+				csv.append(f);
+				for(int p = 0; p < PHASES; p++)
+					csv.append(',').append(String.format(Locale.ROOT, "%.4f", frames[f * PHASES + p] / 1e6));
+				csv.append('\n');
+			}
+			final String     name = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd_HH-mm-ss")) + ".csv";
+			final FileHandle file = Gdx.files.local(TPersistent.ROOT + "profiles/" + name);
+			file.writeString(csv.toString(), false);
+			System.out.println("[Terrafort Game Engine] Exported " + count + " profiled frames to " + file.path());
+		}, "TerrafortProfilerExport");
+		writer.setDaemon(true);
+		writer.start();
+	}
+
+	///////////////////////////////////////////////////////
+	// END API
+	///////////////////////////////////////////////////////
+
+	/**
+	 * The nearest-rank percentile of the first "n" sorted timings in the column.
+	 */
+	private static long percentile(int n, float p) {
+		if(n == 0)
+			return 0;
+		return COLUMN[Math.max(0, (int)Math.ceil(p * n) - 1)];
+	}
+
+}
@@ -0,0 +1,45 @@
+package dev.iwilkey.terrafort.clk;
+
+/**
+ * A node of the {@link TClock} schedule. Nodes are pooled and reused; a node is identified by its id and the generation it's in, which
+ * together make up the handle returned by TClock.schedule(event, n, timeout).
+ * @author Ian Wilkey (iwilkey)
+ */
+final class TScheduledEvent {
+
+	/**
+	 * The amount of remaining shots of an event that fires until it returns true.
+	 */
+	static final int INDEFINITE = -1;
+
+	/**
+	 * Values of "index" for nodes that aren't in the queue.
+	 */
+	static final int NOT_QUEUED = -1;
+	static final int FIRING     = -2;
+
+	final int id;
+
+	int       generation = 0;
+	TEvent    event      = null;
+	int       remaining  = 0;
+	float     timeout    = 0.0f;
+	double    fireAt     = 0.0;
+	long      sequence   = 0L;
+	int       index      = NOT_QUEUED;
+	boolean   cancelled  = false;
+
+	TScheduledEvent(int id) {
+		this.id = id;
+	}
+
+	/**
+	 * Whether or not this node fires before given node. Nodes due at the same time fire in the order they were queued.
+	 */
+	boolean before(TScheduledEvent other) {
+		if(fireAt != other.fireAt)
+			return fireAt < other.fireAt;
+		return sequence < other.sequence;
+	}
+
+}
@@ -0,0 +1,74 @@
+package dev.iwilkey.terrafort.gfx;
+
+import com.badlogic.gdx.graphics.Color;
+
+/**
+ * A mutable {@link TRenderableSprite} of a single {@link TFrame}. Instances are pooled by {@link TGraphics} and reused every frame, so drawing a
+ * frame doesn't allocate.
+ * @author Ian Wilkey (iwilkey)
+ */
+final class TFrameSprite implements TRenderableSprite {
+
+	private String sheet;
+	private TFrame frame;
+	private float  x;
+	private float  y;
+	private float  width;
+	private float  height;
+	private int    depth;
+	private Color  tint;
+
+	/**
+	 * Sets every attribute of this sprite. Returns itself.
+	 */
+	TFrameSprite set(String sheet, TFrame frame, float x, float y, int depth, float width, float height, Color tint) {
+		this.sheet  = sheet;
+		this.frame  = frame;
+		this.x      = x;
+		this.y      = y;
+		this.depth  = depth;
+		this.width  = width;
+		this.height = height;
+		this.tint   = tint;
+		return this;
+	}
+
+	/**
+	 * Drops the references held by this sprite so they can be collected while it waits in the pool.
+	 */
+	void reset() {
+		sheet = null;
+		frame = null;
+		tint  = null;
+	}
+
+	@Override
+	public String getSpriteSheet()              { return sheet;                          }
+	@Override
+	public float getX()                         { return x;                              }
+	@Override
+	public float getY()                         { return y;                              }
+	@Override
+	public float getGraphicalX()                { return x;                              }
+	@Override
+	public float getGraphicalY()                { return y;                              }
+	@Override
+	public float getWidth()                     { return width;                          }
+	@Override
+	public float getHeight()                    { return height;                         }
+	@Override
+	public float getRotationInRadians()         { return 0;                              }
+	@Override
+	public int   getDepth()                     { return depth;                          }
+	@Override
+	public int   getDataSelectionOffsetX()      { return frame.getDataOffsetX();         }
+	@Override
+	public int   getDataSelectionOffsetY()      { return frame.getDataOffsetY();         }
+	@Override
+	public int   getDataSelectionSquareWidth()  { return frame.getDataSelectionWidth();  }
+	@Override
+	public int   getDataSelectionSquareHeight() { return frame.getDataSelectionHeight(); }
+	@Override
+	public Color getRenderTint()                { return tint;                           }
+
+}
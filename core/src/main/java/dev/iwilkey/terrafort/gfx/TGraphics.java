@@ -30,6 +30,8 @@ import com.crashinvaders.vfx.effects.RadialDistortionEffect;
 
 import dev.iwilkey.terrafort.TInput;
 import dev.iwilkey.terrafort.clk.TClock;
+import dev.iwilkey.terrafort.clk.TPhase;
+import dev.iwilkey.terrafort.clk.TProfiler;
 import dev.iwilkey.terrafort.gui.TUserInterface;
 import dev.iwilkey.terrafort.math.TInterpolator;
 import dev.iwilkey.terrafort.math.TMath;
@@ -41,7 +43,14 @@ import dev.iwilkey.terrafort.persistent.TPersistent;
  * @author Ian Wilkey (iwilkey)
  */
 public final class TGraphics implements Disposable {
-
+	
+	/**
+	 * The renderer a command in the render queue requires.
+	 */
+	private enum TRendererType {
+		SPRITE,
+		SHAPE
+	}
 	
 	/**
 	 * NUMERICAL CONSTANTS
@@ -68,9 +77,9 @@ public final class TGraphics implements Disposable {
 	 * DATA STRUCTURES FOR MANAGING RENDER REQUESTS AND OPENGL STATE
 	 */
 	
-	private static final Array<TRenderableSprite>      SPRITE_REQUESTS        = new Array<>();
-	private static final Array<TRenderableShape>       GEOMETRIC_REQUESTS     = new Array<>();
-	private static final Array<TRenderable>            RENDER_REQUESTS        = new Array<>();
+	private static final TSpriteAtlas                  SPRITE_ATLAS           = new TSpriteAtlas();
+	private static final TRenderQueue                  RENDER_QUEUE           = new TRenderQueue(MAX_RENDERABLES);
+	private static final Array<TFrameSprite>           FRAME_SPRITE_POOL      = new Array<>();
 	private static final Array<SpriteBatch>            SPRITE_BATCH_POOL      = new Array<>();
 	private static final SpriteBatch                   UI_BATCH               = new SpriteBatch();
 	private static final ShapeRenderer                 GEOMETRIC_RENDERER     = new ShapeRenderer();
@@ -126,6 +135,21 @@ public final class TGraphics implements Disposable {
 	private static       boolean                       takingShot             = false;
 	private static       float                         screenshotTimer        = SCREENSHOT_TIME;
 	
+	/**
+	 * The amount of pooled frame sprites handed out this frame.
+	 */
+	private static       int                           frameSpritesInUse      = 0;
+	
+	/**
+	 * RENDER METRICS OF THE CURRENT AND LAST FRAME
+	 */
+	
+	private static       int                           batchFlushes           = 0;
+	private static       int                           shapePasses            = 0;
+	private static       int                           lastBatchFlushes       = 0;
+	private static       int                           lastShapePasses        = 0;
+	private static       int                           lastRenderedSprites    = 0;
+	
 	/**
 	 * DEFAULT CONFIGURATION TO BE CREATED AT RUNTIME.
 	 */
@@ -158,17 +182,65 @@ public final class TGraphics implements Disposable {
 		// check if the sheet is already registered, ignore if so.
 		if(SPRITE_SHEETS.containsKey(internalPath))
 			return;
-		SPRITE_SHEETS.put(internalPath, new TSpriteSheet(internalPath));
+		SPRITE_SHEETS.put(internalPath, new TSpriteSheet(SPRITE_ATLAS, internalPath));
 	}
 	
 	/**
-	 * Returns a {@link TSpriteSheet} texture. Must be registered!
+	 * Returns a registered {@link TSpriteSheet}. Must be registered!
 	 */
-	public static Texture getSheetGLTex(String internalPath) {
-		if(!SPRITE_SHEETS.containsKey(internalPath))
+	public static TSpriteSheet getSheet(String internalPath) {
+		final TSpriteSheet sheet = SPRITE_SHEETS.get(internalPath);
+		if(sheet == null)
 			throw new IllegalArgumentException("[Terrafort Game Engine] Trying to reference a sprite sheet that hasn't been registered for bliting: " 
 					+ internalPath + ". Use TGraphics.mAllocSpriteSheet(path) to register a sheet.");
-		return SPRITE_SHEETS.get(internalPath).get();
+		return sheet;
+	}
+	
+	/**
+	 * Returns a {@link TSpriteSheet} texture. Must be registered! Every sheet shares the texture of the sprite atlas, so selections must be offset
+	 * with the sheet's region; see getSheet(path).
+	 */
+	public static Texture getSheetGLTex(String internalPath) {
+		return getSheet(internalPath).get();
+	}
+	
+	/**
+	 * Snaps a world x coordinate to the screen pixel grid at the current zoom, such that sprites don't shimmer between pixels.
+	 */
+	public static float snapToPixelX(float x) {
+		final float effectivePixelsPerUnit      = 1f / CAMERA_ZOOM.getTarget();
+		final float halfScreenWidthInWorldUnits = (Gdx.graphics.getWidth() / effectivePixelsPerUnit) / 2f;
+		return TMath.roundTo(x + halfScreenWidthInWorldUnits, effectivePixelsPerUnit) - halfScreenWidthInWorldUnits;
+	}
+	
+	/**
+	 * Snaps a world y coordinate to the screen pixel grid at the current zoom. See snapToPixelX(x).
+	 */
+	public static float snapToPixelY(float y) {
+		final float effectivePixelsPerUnit       = 1f / CAMERA_ZOOM.getTarget();
+		final float halfScreenHeightInWorldUnits = (Gdx.graphics.getHeight() / effectivePixelsPerUnit) / 2f;
+		return TMath.roundTo(y + halfScreenHeightInWorldUnits, effectivePixelsPerUnit) - halfScreenHeightInWorldUnits;
+	}
+	
+	/**
+	 * The amount of times the sprite batches were flushed to the GPU last frame.
+	 */
+	public static int getBatchFlushes() {
+		return lastBatchFlushes;
+	}
+	
+	/**
+	 * The amount of draw calls issued by the render queue last frame; sprite batch flushes and shape renderer passes.
+	 */
+	public static int getDrawCalls() {
+		return lastBatchFlushes + lastShapePasses;
+	}
+	
+	/**
+	 * The amount of sprites drawn by the render queue last frame.
+	 */
+	public static int getRenderedSprites() {
+		return lastRenderedSprites;
 	}
 		
 	/**
@@ -178,50 +250,28 @@ public final class TGraphics implements Disposable {
 		// Do not add it to the render request queue if it shouldn't be rendered.
 		if(renderable.shouldCull(WORLD_PROJ_MAT))
 			return;
-		SPRITE_REQUESTS.add(renderable);
+		RENDER_QUEUE.add(renderable);
 	}
 	
 	/**
 	 * Add a {@link TRenderableShape} to the render queue.
 	 */
 	public static void draw(TRenderableShape renderable) {
-		GEOMETRIC_REQUESTS.add(renderable);
+		RENDER_QUEUE.add(renderable);
 	}
 	
 	/**
 	 * Draw a {@link TFrame} at given location with given dimensions. Basically, quickly creates a renderable sprite without having to declare a type.
+	 * The sprite comes from a pool that is recycled every frame, so nothing is allocated once the pool is warm.
 	 */
 	public static void draw(String sheet, TFrame frame, float x, float y, int z, float width, float height, Color tint) {
-		draw(new TRenderableSprite() {
-			@Override
-			public String getSpriteSheet()              { return sheet;                          }
-			@Override
-			public float getX()                         { return x;                         	 }
-			@Override
-			public float getY()                         { return y; 							 }
-			@Override
-			public float getWidth()                     { return width; 						 }
-			@Override
-			public float getHeight()                    { return height; 						 }
-			@Override
-			public float getRotationInRadians()         { return 0; 							 }
-			@Override
-			public int   getDepth()                     { return z; 							 }
-			@Override
-			public int   getDataSelectionOffsetX()      { return frame.getDataOffsetX();         }
-			@Override
-			public int   getDataSelectionOffsetY()      { return frame.getDataOffsetY();         }
-			@Override
-			public int   getDataSelectionSquareWidth()  { return frame.getDataSelectionWidth();  }
-			@Override
-			public int   getDataSelectionSquareHeight() { return frame.getDataSelectionHeight(); }
-			@Override
-			public Color getRenderTint() 				{ return tint;                           }
-			@Override
-			public float getGraphicalX()                { return x; }
-			@Override
-			public float getGraphicalY()                { return y; }
-		});
+		if(frameSpritesInUse == FRAME_SPRITE_POOL.size)
+			FRAME_SPRITE_POOL.add(new TFrameSprite());
+		final TFrameSprite sprite = FRAME_SPRITE_POOL.get(frameSpritesInUse).set(sheet, frame, x, y, z, width, height, tint);
+		if(sprite.shouldCull(WORLD_PROJ_MAT))
+			return;
+		RENDER_QUEUE.add(sprite);
+		frameSpritesInUse++;
 	}
 	
 	/**
@@ -357,31 +407,48 @@ public final class TGraphics implements Disposable {
 	///////////////////////////////////////////////////////
 	
 	public void render(TUserInterface ui, float dt) {
-		sortAndCombineRenderRequests();
+		TProfiler.begin(TPhase.RENDER_SORT);
+		RENDER_QUEUE.sort();
+		TProfiler.end(TPhase.RENDER_SORT);
 		calculateTileBatchPool();
 		calculatePerspective();
 		calculateBlocker(dt);
-		calculateFx(dt);
 		clearScreen();
+		TProfiler.begin(TPhase.POST_FX);
+		calculateFx(dt);
 		if(shouldUsePost()) {
 			POST_PROC_BUFFER.cleanUpBuffers(new Color(0.15f, 0.15f, 0.2f, 1f));
 			POST_PROC_BUFFER.beginInputCapture();
 		}
-		if(RENDER_REQUESTS.size != 0) {
-			int batch = 0;
-	        int tileIDInBatch = 0;
-			TRenderable.TRendererType renderer = null;
-			for(final TRenderable renderable : RENDER_REQUESTS) {
+		TProfiler.end(TPhase.POST_FX);
+		batchFlushes = 0;
+		shapePasses  = 0;
+		if(RENDER_QUEUE.size() != 0) {
+			int                batch         = 0;
+	        int                tileIDInBatch = 0;
+			TRendererType      renderer      = null;
+			OrthographicCamera projection    = WORLD_PROJ_MAT;
+			boolean            additive      = false;
+			// every batch starts the frame with the world projection and alpha blending, so those only change when a sprite asks for it...
+			for(final SpriteBatch b : SPRITE_BATCH_POOL) {
+				b.setProjectionMatrix(WORLD_PROJ_MAT.combined);
+				b.setBlendFunction(GL20.GL_SRC_ALPHA, GL20.GL_ONE_MINUS_SRC_ALPHA);
+			}
+			for(int i = 0; i < RENDER_QUEUE.size(); i++) {
+				final TRendererType type = RENDER_QUEUE.isSprite(i) ? TRendererType.SPRITE : TRendererType.SHAPE;
 				// handle switching the rendering context...
-				if(renderable.type != renderer) {
+				if(type != renderer) {
 					// we have to switch the rendering context...
-					switch(renderable.type) {
+					switch(type) {
 						case SPRITE:
 							// switch from shape renderer to sprite renderer...
 							if(renderer != null) {
 								GEOMETRIC_RENDERER.end();
+								shapePasses++;
 								Gdx.gl.glDisable(GL20.GL_BLEND);
+								TProfiler.end(TPhase.SHAPE_PASS);
 							}
+							TProfiler.begin(TPhase.SPRITE_PASS);
 							SPRITE_BATCH_POOL.get(batch).begin();
 							Gdx.gl.glEnable(GL20.GL_BLEND);
 							Gdx.gl.glBlendFunc(GL20.GL_SRC_ALPHA, GL20.GL_ONE_MINUS_SRC_ALPHA);
@@ -389,9 +456,11 @@ public final class TGraphics implements Disposable {
 						case SHAPE:
 							// switch from sprite renderer to shape renderer...
 							if(renderer != null) {
-								SPRITE_BATCH_POOL.get(batch).end();
+								endSpriteBatch(SPRITE_BATCH_POOL.get(batch));
 								Gdx.gl.glDisable(GL20.GL_BLEND);
+								TProfiler.end(TPhase.SPRITE_PASS);
 							}
+							TProfiler.begin(TPhase.SHAPE_PASS);
 							GEOMETRIC_RENDERER.begin(ShapeRenderer.ShapeType.Filled);
 							GEOMETRIC_RENDERER.setAutoShapeType(true);
 					        GEOMETRIC_RENDERER.setProjectionMatrix(WORLD_PROJ_MAT.combined);
@@ -401,34 +470,48 @@ public final class TGraphics implements Disposable {
 					}
 				}
 				// here, the rendering context should be correct for the renderables type...
-				switch(renderable.type) {
+				switch(type) {
 					case SPRITE:
+						final TRenderableSprite sprite = RENDER_QUEUE.getSprite(i);
 						if(tileIDInBatch >= MAX_RENDERABLES) {
-			        		SPRITE_BATCH_POOL.get(batch).end();
+							endSpriteBatch(SPRITE_BATCH_POOL.get(batch));
 			        		batch++;
 			        		tileIDInBatch = 0;
-			        		SPRITE_BATCH_POOL.get(batch).setProjectionMatrix(WORLD_PROJ_MAT.combined);
+			        		projection    = WORLD_PROJ_MAT;
+			        		additive      = false;
 			        		SPRITE_BATCH_POOL.get(batch).begin();
 			        	}
-						boolean worldMat = renderable.sprite.useWorldProjectionMatrix();
-						SPRITE_BATCH_POOL.get(batch).setProjectionMatrix((worldMat) 
-								? WORLD_PROJ_MAT.combined : SCREEN_PROJ_MAT.combined);
-						renderable.sprite.render((worldMat) 
-								? WORLD_PROJ_MAT : SCREEN_PROJ_MAT, SPRITE_BATCH_POOL.get(batch));
+						// changing the projection or blending flushes the batch, so only do it when it actually changes...
+						final OrthographicCamera wanted = (sprite.useWorldProjectionMatrix()) ? WORLD_PROJ_MAT : SCREEN_PROJ_MAT;
+						if(wanted != projection) {
+							SPRITE_BATCH_POOL.get(batch).setProjectionMatrix(wanted.combined);
+							projection = wanted;
+						}
+						if(RENDER_QUEUE.isAdditive(i) != additive) {
+							additive = !additive;
+							SPRITE_BATCH_POOL.get(batch).setBlendFunction(GL20.GL_SRC_ALPHA, (additive) ? GL20.GL_ONE : GL20.GL_ONE_MINUS_SRC_ALPHA);
+						}
+						sprite.render(projection, SPRITE_BATCH_POOL.get(batch));
 			        	tileIDInBatch++;
 						break;
 					case SHAPE:
+						final TRenderableShape shape = RENDER_QUEUE.getShape(i);
 						GEOMETRIC_RENDERER.set(ShapeRenderer.ShapeType.Filled);
-						renderable.shape.drawFilled(WORLD_PROJ_MAT, GEOMETRIC_RENDERER);
+						shape.drawFilled(WORLD_PROJ_MAT, GEOMETRIC_RENDERER);
 						GEOMETRIC_RENDERER.set(ShapeRenderer.ShapeType.Line);
-						renderable.shape.drawLined(WORLD_PROJ_MAT, GEOMETRIC_RENDERER);
+						shape.drawLined(WORLD_PROJ_MAT, GEOMETRIC_RENDERER);
 						break;
 				}
-				renderer = renderable.type;
+				renderer = type;
+			}
+			if(renderer == TRendererType.SPRITE) {
+				endSpriteBatch(SPRITE_BATCH_POOL.get(batch));
+				TProfiler.end(TPhase.SPRITE_PASS);
+			} else {
+				GEOMETRIC_RENDERER.end();
+				shapePasses++;
+				TProfiler.end(TPhase.SHAPE_PASS);
 			}
-			if(renderer == TRenderable.TRendererType.SPRITE)
-				SPRITE_BATCH_POOL.get(batch).end();
-			else GEOMETRIC_RENDERER.end();
 			Gdx.gl.glDisable(GL20.GL_BLEND);
 			if(physicsDebugRender != null)
 				PHYSICS_RENDERER.render(physicsDebugRender, WORLD_PROJ_MAT.combined);
@@ -442,10 +525,14 @@ public final class TGraphics implements Disposable {
 			}
 		} else {
 			if(shouldUsePost()) {
+				TProfiler.begin(TPhase.POST_FX);
 				POST_PROC_BUFFER.endInputCapture();
 				POST_PROC_BUFFER.applyEffects();
 				POST_PROC_BUFFER.renderToScreen();
+				TProfiler.end(TPhase.POST_FX);
 			}
+			TProfiler.begin(TPhase.UI);
+			TProfilerOverlay.submitText(dt);
 			if(TInput.focused && Gdx.input.isCursorCatched()) {
 				ui.render(dt);
 				UI_BATCH.begin();
@@ -462,6 +549,7 @@ public final class TGraphics implements Disposable {
 				TUserInterface.drawText("[ CLICK TO FOCUS! ]", Gdx.graphics.getWidth() / 2, Gdx.graphics.getHeight() / 2, 32, ((focusRendered) ? 0xffffffff : 0xbbbbbbff), false, true);
 				ui.renderImmediateModeText(dt);
 			}
+			TProfiler.end(TPhase.UI);
 			screenshotTimer = SCREENSHOT_TIME;
 		}
 		// render blocker after everything...
@@ -469,12 +557,23 @@ public final class TGraphics implements Disposable {
 		GEOMETRIC_RENDERER.begin(ShapeType.Filled);
 		Gdx.gl.glEnable(GL20.GL_BLEND);
 		Gdx.gl.glBlendFunc(GL20.GL_SRC_ALPHA, GL20.GL_ONE_MINUS_SRC_ALPHA);
+		// the overlay is left out of screenshots...
+		if(screenshotTimer >= SCREENSHOT_TIME)
+			TProfilerOverlay.drawGraph(GEOMETRIC_RENDERER);
 		gfxBlocker.drawFilled(SCREEN_PROJ_MAT, GEOMETRIC_RENDERER);
 		GEOMETRIC_RENDERER.end();
 		Gdx.gl.glDisable(GL20.GL_BLEND);
 		flush();
 	}
 	
+	/**
+	 * Ends a sprite batch of the render queue and counts the times it was flushed to the GPU.
+	 */
+	private static void endSpriteBatch(SpriteBatch batch) {
+		batch.end();
+		batchFlushes += batch.renderCalls;
+	}
+	
 	/**
 	 * Returns whether or not to render to a seperate buffer.
 	 */
@@ -578,7 +677,7 @@ public final class TGraphics implements Disposable {
 	 * Calculates the dynamic allocation (or deallocation) of sprite batches according to the number of tile render requests.
 	 */
 	private void calculateTileBatchPool() {
-		final int requestedSprites = SPRITE_REQUESTS.size;
+		final int requestedSprites = RENDER_QUEUE.spriteCount();
 		final int neededBatches    = (int)Math.ceil((float)requestedSprites / MAX_RENDERABLES);
 		// if no batches are needed we know we can dispose of every available batch...
 		if(neededBatches == 0) {
@@ -607,18 +706,6 @@ public final class TGraphics implements Disposable {
 		// TEngine.mTileBatches = neededBatches;
 	}
 	
-	/**
-	 * Sorts the sprite requests by y, combines both shape and sprites, then sorts all by depth.
-	 */
-	private void sortAndCombineRenderRequests() {
-		SPRITE_REQUESTS.sort((r1, r2) -> Float.compare(r2.getGraphicalY(), r1.getGraphicalY()));
-		for(final TRenderableSprite sprite : SPRITE_REQUESTS)
-	        RENDER_REQUESTS.add(new TRenderable(sprite));
-	    for(final TRenderableShape shape : GEOMETRIC_REQUESTS)
-	    	RENDER_REQUESTS.add(new TRenderable(shape));
-	    RENDER_REQUESTS.sort(((r1, r2) -> Integer.compare(r2.getDepth(), r1.getDepth())));
-	}
-	
 	/**
 	 * Clears the screen, only OpenGL color buffer should be cleared.
 	 */
@@ -631,9 +718,13 @@ public final class TGraphics implements Disposable {
 	 * Clears sprite render requests for the next frame.
 	 */
 	private static void flush() {
-		SPRITE_REQUESTS.clear();
-		GEOMETRIC_REQUESTS.clear();
-		RENDER_REQUESTS.clear();
+		lastBatchFlushes    = batchFlushes;
+		lastShapePasses     = shapePasses;
+		lastRenderedSprites = RENDER_QUEUE.spriteCount();
+		RENDER_QUEUE.clear();
+		for(int i = 0; i < frameSpritesInUse; i++)
+			FRAME_SPRITE_POOL.get(i).reset();
+		frameSpritesInUse = 0;
 	}
 	
 	/**
@@ -658,9 +749,8 @@ public final class TGraphics implements Disposable {
 	}
 	
 	private static void disposeSpriteSheets() {
-		for(final TSpriteSheet s : SPRITE_SHEETS.values())
-			s.dispose();
 		SPRITE_SHEETS.clear();
+		SPRITE_ATLAS.dispose();
 	}
 
 }
@@ -0,0 +1,199 @@
+package dev.iwilkey.terrafort.gfx;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
+import com.badlogic.gdx.utils.Align;
+
+import dev.iwilkey.terrafort.clk.TPhase;
+import dev.iwilkey.terrafort.clk.TProfiler;
+import dev.iwilkey.terrafort.gui.TUserInterface;
+import dev.iwilkey.terrafort.gui.text.TImmediateModeText;
+
+/**
+ * A screen-space overlay of the {@link TProfiler}. It shows the p50, p95, p99 and max time of every phase over the last
+ * {@link TProfilerOverlay}.STATS_WINDOW frames, and a graph of the last {@link TProfilerOverlay}.GRAPH_FRAMES frames where every bar stacks
+ * the time each phase spent outside of its children. The line across the graph is the budget of a 60 Hz frame.
+ * @author Ian Wilkey (iwilkey)
+ */
+public final class TProfilerOverlay {
+
+	public static final int   STATS_WINDOW  = 600;
+	public static final int   GRAPH_FRAMES  = 256;
+	public static final int   BAR_WIDTH     = 2;
+	public static final int   GRAPH_HEIGHT  = 128;
+	public static final float GRAPH_MS      = 1000f / 30;
+	public static final float BUDGET_MS     = 1000f / 60;
+	public static final float REFRESH_TIME  = 0.5f;
+	public static final int   MARGIN        = 8;
+	public static final int   POINT         = 12;
+	public static final int   LINE_HEIGHT   = 16;
+	public static final int   INDENT        = 12;
+	public static final int   COLUMN_WIDTH  = 64;
+	public static final int   LABEL_WIDTH   = 160;
+
+	/**
+	 * A left-aligned cell of the statistics table. Reused every frame.
+	 */
+	private static final class TCell implements TImmediateModeText {
+
+		private String data  = "";
+		private int    x     = 0;
+		private int    y     = 0;
+		private int    color = 0xffffffff;
+
+		@Override
+		public String getData() {
+			return data;
+		}
+
+		@Override
+		public boolean worldSpace() {
+			return false;
+		}
+
+		@Override
+		public boolean dropShadow() {
+			return true;
+		}
+
+		@Override
+		public int getX() {
+			// text is positioned by its center...
+			return x + Math.round(getDimensions().x / 2f);
+		}
+
+		@Override
+		public int getY() {
+			return y;
+		}
+
+		@Override
+		public int getColor() {
+			return color;
+		}
+
+		@Override
+		public int getPoint() {
+			return POINT;
+		}
+
+		@Override
+		public int getWrapping() {
+			return 0;
+		}
+
+		@Override
+		public int getAlignment() {
+			return Align.left;
+		}
+
+	}
+
+	private static final TPhase[] PHASES    = TPhase.values();
+	private static final int      COLUMNS   = 1 + TProfiler.STATS;
+	private static final TCell[]  CELLS     = new TCell[(PHASES.length + 1) * COLUMNS];
+	private static final long[]   STATS     = new long[TProfiler.PHASES * TProfiler.STATS];
+	private static final long[]   FRAMES    = new long[GRAPH_FRAMES * TProfiler.PHASES];
+	private static final long[]   SELF      = new long[TProfiler.PHASES];
+	private static final Color[]  COLORS    = new Color[TProfiler.PHASES];
+	private static final Color    BUDGET    = new Color(0xff0000ff);
+	private static final Color    BACKDROP  = new Color(0x000000aa);
+
+	private static       boolean  visible   = false;
+	private static       float    refresh   = REFRESH_TIME;
+
+	static {
+		for(int i = 0; i < CELLS.length; i++)
+			CELLS[i] = new TCell();
+		for(final TPhase phase : PHASES)
+			COLORS[phase.ordinal()] = new Color(phase.getColor());
+		final String[] header = { "Phase (F4 exports CSV)", "p50 ms", "p95 ms", "p99 ms", "max ms" };
+		for(int c = 0; c < COLUMNS; c++)
+			CELLS[c].data = header[c];
+	}
+
+	private TProfilerOverlay() {}
+
+	/**
+	 * Shows or hides the overlay.
+	 */
+	public static void toggle() {
+		visible = !visible;
+		refresh = REFRESH_TIME;
+	}
+
+	/**
+	 * Whether or not the overlay is shown.
+	 */
+	public static boolean isVisible() {
+		return visible;
+	}
+
+	/**
+	 * Submits the statistics table as immediate mode text. The statistics are refreshed every {@link TProfilerOverlay}.REFRESH_TIME seconds.
+	 */
+	static void submitText(float dt) {
+		if(!visible)
+			return;
+		refresh += dt;
+		if(refresh >= REFRESH_TIME) {
+			refresh = 0.0f;
+			TProfiler.statistics(STATS_WINDOW, STATS);
+			for(final TPhase phase : PHASES) {
+				final int row = (phase.ordinal() + 1) * COLUMNS;
+				CELLS[row].data = phase.getLabel();
+				for(int s = 0; s < TProfiler.STATS; s++)
+					CELLS[row + 1 + s].data = String.format("%.2f", STATS[phase.ordinal() * TProfiler.STATS + s] / 1e6);
+			}
+		}
+		final int top = Gdx.graphics.getHeight() - MARGIN - LINE_HEIGHT / 2;
+		for(int r = 0; r <= PHASES.length; r++) {
+			final int indent = (r == 0) ? 0 : PHASES[r - 1].getDepth() * INDENT;
+			final int color  = (r == 0) ? 0xffffffff : PHASES[r - 1].getColor();
+			for(int c = 0; c < COLUMNS; c++) {
+				final TCell cell = CELLS[r * COLUMNS + c];
+				cell.x           = MARGIN + ((c == 0) ? indent : LABEL_WIDTH + (c - 1) * COLUMN_WIDTH);
+				cell.y           = top - r * LINE_HEIGHT;
+				cell.color       = color;
+				TUserInterface.drawText(cell);
+			}
+		}
+	}
+
+	/**
+	 * Draws the frame graph below the statistics table. The renderer must already be in screen-space and filled.
+	 */
+	static void drawGraph(ShapeRenderer renderer) {
+		if(!visible)
+			return;
+		final int   frames = TProfiler.snapshot(FRAMES, GRAPH_FRAMES);
+		final float scale  = GRAPH_HEIGHT / GRAPH_MS;
+		final float left   = MARGIN;
+		final float bottom = Gdx.graphics.getHeight() - MARGIN - (PHASES.length + 1) * LINE_HEIGHT - MARGIN - GRAPH_HEIGHT;
+		renderer.setColor(BACKDROP);
+		renderer.rect(left, bottom, GRAPH_FRAMES * BAR_WIDTH, GRAPH_HEIGHT);
+		for(int f = 0; f < frames; f++) {
+			// the time of a phase outside of its children, so the stack adds up to the frame...
+			final int row = f * TProfiler.PHASES;
+			for(final TPhase phase : PHASES)
+				SELF[phase.ordinal()] = FRAMES[row + phase.ordinal()];
+			for(final TPhase phase : PHASES)
+				if(phase.getParent() != null)
+					SELF[phase.getParent().ordinal()] -= FRAMES[row + phase.ordinal()];
+			final float x = left + (GRAPH_FRAMES - frames + f) * BAR_WIDTH;
+			float       y = bottom;
+			for(final TPhase phase : PHASES) {
+				final float h = Math.min(Math.max(0, SELF[phase.ordinal()]) / 1e6f * scale, bottom + GRAPH_HEIGHT - y);
+				if(h <= 0)
+					continue;
+				renderer.setColor(COLORS[phase.ordinal()]);
+				renderer.rect(x, y, BAR_WIDTH, h);
+				y += h;
+			}
+		}
+		renderer.setColor(BUDGET);
+		renderer.rect(left, bottom + BUDGET_MS * scale, GRAPH_FRAMES * BAR_WIDTH, 1);
+	}
+
+}
@@ -0,0 +1,193 @@
+package dev.iwilkey.terrafort.gfx;
+
+/**
+ * The command buffer of one frame of {@link TGraphics}. Sprites and shapes are recorded with a packed 64-bit sort key and put in draw order by
+ * an allocation-free LSD radix sort. Every array is reused between frames and only grows.
+ *
+ * <p>
+ * The key, from most to least significant bits: inverted depth (8 bits; 255 is drawn first), command type (1 bit; sprites before shapes of the
+ * same depth), blend mode (1 bit; additive sprites after the alpha blended sprites of the same depth, so blending changes at most twice per
+ * depth), inverted graphical y of sprites (32 bits; higher y is drawn first) and the submission index (22 bits). Radix sort is stable and
+ * commands are recorded in submission order, so the index bits never need a pass; ties keep the order they were submitted in.
+ * </p>
+ * @author Ian Wilkey (iwilkey)
+ */
+public final class TRenderQueue {
+
+	/**
+	 * The maximum amount of commands that can be recorded in one frame.
+	 */
+	public static final int   MAX_COMMANDS  = 1 << 22;
+
+	private static final int  INDEX_BITS    = 22;
+	private static final int  Y_SHIFT       = INDEX_BITS;
+	private static final int  BLEND_SHIFT   = Y_SHIFT + 32;
+	private static final int  TYPE_SHIFT    = BLEND_SHIFT + 1;
+	private static final int  DEPTH_SHIFT   = TYPE_SHIFT + 1;
+	private static final long INDEX_MASK    = (1L << INDEX_BITS) - 1;
+	private static final int  RADIX_BITS    = 11;
+	private static final int  RADIX         = 1 << RADIX_BITS;
+	private static final int  RADIX_MASK    = RADIX - 1;
+
+	private final int[]         histogram;
+
+	private long[]              keys;
+	private long[]              scratch;
+	private Object[]            commands;
+	private int                 size;
+	private int                 sprites;
+
+	/**
+	 * Creates a new render queue with room for given amount of commands before it has to grow.
+	 */
+	public TRenderQueue(int initialCapacity) {
+		histogram = new int[RADIX];
+		keys      = new long[Math.max(16, initialCapacity)];
+		scratch   = new long[keys.length];
+		commands  = new Object[keys.length];
+		size      = 0;
+		sprites   = 0;
+	}
+
+	/**
+	 * Records a sprite.
+	 */
+	public void add(TRenderableSprite sprite) {
+		record(sprite, key(sprite.getDepth(), 0, sprite.shouldUseAdditiveBlending() ? 1 : 0, sprite.getGraphicalY()));
+		sprites++;
+	}
+
+	/**
+	 * Records a shape. Shapes of the same depth are drawn in the order they were recorded.
+	 */
+	public void add(TRenderableShape shape) {
+		record(shape, key(shape.getDepth(), 1, 0, 0));
+	}
+
+	/**
+	 * Puts every recorded command in draw order. See the class description for the order.
+	 */
+	public void sort() {
+		if(size < 2)
+			return;
+		// the low bits only hold the submission index, which is already in order...
+		for(int shift = INDEX_BITS; shift < Long.SIZE; shift += RADIX_BITS) {
+			if(!pass(keys, scratch, shift))
+				continue;
+			final long[] t = keys;
+			keys           = scratch;
+			scratch        = t;
+		}
+	}
+
+	/**
+	 * The amount of recorded commands.
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * The amount of recorded sprites.
+	 */
+	public int spriteCount() {
+		return sprites;
+	}
+
+	/**
+	 * Whether or not the command at given position is a sprite. Otherwise, it is a shape.
+	 */
+	public boolean isSprite(int i) {
+		return ((keys[i] >>> TYPE_SHIFT) & 1L) == 0;
+	}
+
+	/**
+	 * Whether or not the sprite at given position is drawn with additive blending.
+	 */
+	public boolean isAdditive(int i) {
+		return ((keys[i] >>> BLEND_SHIFT) & 1L) != 0;
+	}
+
+	/**
+	 * The sprite at given position. Must be a sprite; see isSprite(i).
+	 */
+	public TRenderableSprite getSprite(int i) {
+		return (TRenderableSprite)commands[(int)(keys[i] & INDEX_MASK)];
+	}
+
+	/**
+	 * The shape at given position. Must be a shape; see isSprite(i).
+	 */
+	public TRenderableShape getShape(int i) {
+		return (TRenderableShape)commands[(int)(keys[i] & INDEX_MASK)];
+	}
+
+	/**
+	 * Forgets every recorded command. Capacity is kept for the next frame.
+	 */
+	public void clear() {
+		for(int i = 0; i < size; i++)
+			commands[i] = null;
+		size    = 0;
+		sprites = 0;
+	}
+
+	private void record(Object command, long key) {
+		if(size == MAX_COMMANDS)
+			throw new IllegalStateException("[Terrafort Game Engine] The render queue is full! No more than " + MAX_COMMANDS + " commands can be drawn in one frame.");
+		if(size == keys.length)
+			grow();
+		keys[size]     = key | size;
+		commands[size] = command;
+		size++;
+	}
+
+	/**
+	 * One counting sort pass over the radix digit at given shift, from "in" to "out". Returns false, and leaves "out" untouched, if every key
+	 * shares the same digit and the pass can be skipped.
+	 */
+	private boolean pass(long[] in, long[] out, int shift) {
+		final int[] count = histogram;
+		for(int i = 0; i < RADIX; i++)
+			count[i] = 0;
+		for(int i = 0; i < size; i++)
+			count[(int)((in[i] >>> shift) & RADIX_MASK)]++;
+		if(count[(int)((in[0] >>> shift) & RADIX_MASK)] == size)
+			return false;
+		int sum = 0;
+		for(int i = 0; i < RADIX; i++) {
+			final int c = count[i];
+			count[i]    = sum;
+			sum        += c;
+		}
+		for(int i = 0; i < size; i++) {
+			final long k = in[i];
+			out[count[(int)((k >>> shift) & RADIX_MASK)]++] = k;
+		}
+		return true;
+	}
+
+	private void grow() {
+		final int      capacity = Math.min(MAX_COMMANDS, keys.length * 2);
+		final long[]   k        = new long[capacity];
+		final Object[] c        = new Object[capacity];
+		System.arraycopy(keys, 0, k, 0, size);
+		System.arraycopy(commands, 0, c, 0, size);
+		keys     = k;
+		commands = c;
+		scratch  = new long[capacity];
+	}
+
+	/**
+	 * Packs the draw order of a command, without its submission index.
+	 */
+	private static long key(int depth, int type, int blend, float graphicalY) {
+		final int  d     = 0xff - Math.max(0, Math.min(0xff, depth));
+		// map the float to an int whose unsigned order matches the float order, then invert it so higher y comes first...
+		final int  bits  = Float.floatToIntBits(graphicalY);
+		final int  order = bits ^ ((bits >> 31) | 0x80000000);
+		final long y     = (type == 0) ? (~order & 0xffffffffL) : 0L;
+		return ((long)d << DEPTH_SHIFT) | ((long)type << TYPE_SHIFT) | ((long)blend << BLEND_SHIFT) | (y << Y_SHIFT);
+	}
+
+}
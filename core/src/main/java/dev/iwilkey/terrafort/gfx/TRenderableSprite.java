@@ -1,7 +1,6 @@
 package dev.iwilkey.terrafort.gfx;
 
 import com.badlogic.gdx.graphics.Color;
-import com.badlogic.gdx.graphics.GL20;
 import com.badlogic.gdx.graphics.OrthographicCamera;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 
@@ -57,8 +56,8 @@ public interface TRenderableSprite {
     }
     
     /**
-     * Determines whether or not a sprite should be rendered with additive blending. More specifically, this will
-     * set the OpenGL blending mode to (GL_SRC_ALPHA, GL_ONE) during the sprite render time.
+     * Determines whether or not a sprite should be rendered with additive blending. More specifically, {@link TGraphics} will
+     * draw it with the OpenGL blending mode (GL_SRC_ALPHA, GL_ONE), after the alpha blended sprites of the same depth.
      */
     default boolean shouldUseAdditiveBlending() {
     	return false;
@@ -95,20 +94,19 @@ public interface TRenderableSprite {
 	}
 	
 	/**
-     * Renders the object using the provided camera and batch.
+     * Renders the object using the provided camera and batch. The tint is carried as the vertex color of the sprite; blending and projection
+     * are already set up by {@link TGraphics}.
      * @param camera The {@link OrthographicCamera} used to view and render the scene.
      * @param batch The {@link SpriteBatch} used for rendering.
      */
 	default public void render(final OrthographicCamera camera, final SpriteBatch batch) {
-		if(!batch.getColor().equals(getRenderTint()))
-			batch.setColor(getRenderTint());
+		final TSpriteSheet sheet = TGraphics.getSheet(getSpriteSheet());
         float originX         = getWidth() / 2;
         float originY         = getHeight() / 2;
         float rotationDegrees = (float)Math.toDegrees(getRotationInRadians());
-        if(shouldUseAdditiveBlending())
-        	batch.setBlendFunction(GL20.GL_SRC_ALPHA, GL20.GL_ONE);
+        batch.setPackedColor(getRenderTint().toFloatBits());
         batch.draw(
-            TGraphics.getSheetGLTex(getSpriteSheet()), 
+            sheet.get(), 
             getX() - originX, 
             getY() - originY, 
             originX, 
@@ -118,17 +116,13 @@ public interface TRenderableSprite {
             1, 
             1, 
             rotationDegrees,
-            getDataSelectionOffsetX() * TGraphics.DATA_WIDTH, 
-            getDataSelectionOffsetY() * TGraphics.DATA_HEIGHT,
+            sheet.getRegionX(getDataSelectionOffsetX()), 
+            sheet.getRegionY(getDataSelectionOffsetY()),
             getDataSelectionSquareWidth() * TGraphics.DATA_WIDTH, 
             getDataSelectionSquareHeight() * TGraphics.DATA_HEIGHT, 
             false, 
             false
         );
-        if(shouldUseAdditiveBlending())
-        	batch.setBlendFunction(GL20.GL_SRC_ALPHA, GL20.GL_ONE_MINUS_SRC_ALPHA);
-        if (!batch.getColor().equals(Color.WHITE))
-            batch.setColor(Color.WHITE);
 	}
 	
 }
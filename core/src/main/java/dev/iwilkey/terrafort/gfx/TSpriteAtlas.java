@@ -0,0 +1,79 @@
+package dev.iwilkey.terrafort.gfx;
+
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.Texture.TextureFilter;
+import com.badlogic.gdx.utils.Disposable;
+
+/**
+ * One GL texture that every {@link TSpriteSheet} is packed into, so sprites from different sheets can share a batch without a texture switch.
+ * Sheets are placed left to right on shelves, top to bottom, in the order they are registered.
+ * @author Ian Wilkey (iwilkey)
+ */
+public final class TSpriteAtlas implements Disposable {
+	
+	/**
+	 * The size, in pixels, of one side of the atlas.
+	 */
+	public static final int SIZE = 1024;
+	
+	private final Texture texture;
+	
+	private int           shelfX      = 0;
+	private int           shelfY      = 0;
+	private int           shelfHeight = 0;
+	
+	/**
+	 * Creates a new, empty atlas.
+	 */
+	public TSpriteAtlas() {
+		final Pixmap blank = new Pixmap(SIZE, SIZE, Pixmap.Format.RGBA8888);
+		texture            = new Texture(blank);
+		texture.setFilter(TextureFilter.Nearest, TextureFilter.Nearest);
+		blank.dispose();
+	}
+	
+	/**
+	 * Uploads given pixels into free space of the atlas. Returns the position they were placed at, packed as (x << 16) | y.
+	 */
+	public int pack(Pixmap pixels) {
+		final int w = pixels.getWidth();
+		final int h = pixels.getHeight();
+		if(shelfX + w > SIZE) {
+			shelfX      = 0;
+			shelfY     += shelfHeight;
+			shelfHeight = 0;
+		}
+		if(w > SIZE || shelfY + h > SIZE)
+			throw new IllegalArgumentException("[Terrafort Game Engine] The sprite atlas is out of space! Can't fit a " + w + "x" + h + " sheet in the " 
+					+ SIZE + "x" + SIZE + " atlas.");
+		final int x = shelfX;
+		final int y = shelfY;
+		if(pixels.getFormat() == Pixmap.Format.RGBA8888)
+			texture.draw(pixels, x, y);
+		else {
+			// the atlas is RGBA8888, so other formats are converted before upload...
+			final Pixmap converted = new Pixmap(w, h, Pixmap.Format.RGBA8888);
+			converted.setBlending(Pixmap.Blending.None);
+			converted.drawPixmap(pixels, 0, 0);
+			texture.draw(converted, x, y);
+			converted.dispose();
+		}
+		shelfX     += w;
+		shelfHeight = Math.max(shelfHeight, h);
+		return (x << 16) | y;
+	}
+	
+	/**
+	 * Returns the atlas texture.
+	 */
+	public Texture get() {
+		return texture;
+	}
+	
+	@Override
+	public void dispose() {
+		texture.dispose();
+	}
+	
+}
@@ -1,36 +1,51 @@
 package dev.iwilkey.terrafort.gfx;
 
 import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Pixmap;
 import com.badlogic.gdx.graphics.Texture;
-import com.badlogic.gdx.graphics.Texture.TextureFilter;
-import com.badlogic.gdx.utils.Disposable;
 
 /**
- * A reference to a segment of memory that contains an organized arrangement of Sprites.
+ * A reference to a segment of memory that contains an organized arrangement of Sprites. The pixels of the sheet live in a region of the shared 
+ * {@link TSpriteAtlas}; data selections must be offset by the region with getRegionX(dataX) and getRegionY(dataY).
  * @author Ian Wilkey (iwilkey)
  */
-public final class TSpriteSheet implements Disposable {
+public final class TSpriteSheet {
 	
 	private final Texture data;
+	private final int     x;
+	private final int     y;
 	
 	/**
-	 * Creates a new sheet from given internal path.
+	 * Creates a new sheet from given internal path and packs it into given atlas.
 	 */
-	public TSpriteSheet(String internalPath) {
-		data = new Texture(Gdx.files.internal(internalPath));
-		data.setFilter(TextureFilter.Nearest, TextureFilter.Nearest);
+	public TSpriteSheet(TSpriteAtlas atlas, String internalPath) {
+		final Pixmap pixels   = new Pixmap(Gdx.files.internal(internalPath));
+		final int    position = atlas.pack(pixels);
+		pixels.dispose();
+		data = atlas.get();
+		x    = position >>> 16;
+		y    = position & 0xffff;
 	}
 	
 	/**
-	 * Returns the loaded texture.
+	 * Returns the loaded texture. This is the texture of the whole atlas, shared by every sheet.
 	 */
 	public Texture get() {
 		return data;
 	}
 	
-	@Override
-	public void dispose() {
-		data.dispose();
+	/**
+	 * Returns the x pixel, in the atlas, of given data column of this sheet.
+	 */
+	public int getRegionX(int dataX) {
+		return x + dataX * TGraphics.DATA_WIDTH;
+	}
+	
+	/**
+	 * Returns the y pixel, in the atlas, of given data row of this sheet.
+	 */
+	public int getRegionY(int dataY) {
+		return y + dataY * TGraphics.DATA_HEIGHT;
 	}
 	
 }
@@ -7,6 +7,7 @@ import com.badlogic.gdx.scenes.scene2d.utils.Drawable;
 import com.badlogic.gdx.scenes.scene2d.utils.TextureRegionDrawable;
 
 import dev.iwilkey.terrafort.gfx.TGraphics;
+import dev.iwilkey.terrafort.gfx.TSpriteSheet;
 
 /**
  * Utility class for creating {@link Drawable}s from various data structures.
@@ -18,10 +19,10 @@ public final class TDrawable {
 	 * Returns a {@link Drawable} from specified sheet location. Sprite sheet must be registered with the {@link TGraphics} module.
 	 */
 	public static final Drawable fromSpriteSheet(String spriteSheet, int dataX, int dataY, int dataWidth, int dataHeight) {
-		final Texture tex = TGraphics.getSheetGLTex(spriteSheet);
-		final TextureRegion reg = new TextureRegion(tex, 
-													dataX * TGraphics.DATA_WIDTH, 
-													dataY * TGraphics.DATA_HEIGHT, 
+		final TSpriteSheet  sheet = TGraphics.getSheet(spriteSheet);
+		final TextureRegion reg   = new TextureRegion(sheet.get(), 
+													sheet.getRegionX(dataX), 
+													sheet.getRegionY(dataY), 
 													dataWidth * TGraphics.DATA_WIDTH, 
 													dataHeight * TGraphics.DATA_HEIGHT);
 		return new TextureRegionDrawable(reg);
@@ -19,6 +19,8 @@ import com.badlogic.gdx.utils.viewport.ScreenViewport;
 
 import com.kotcrab.vis.ui.VisUI;
 
+import dev.iwilkey.terrafort.clk.TPhase;
+import dev.iwilkey.terrafort.clk.TProfiler;
 import dev.iwilkey.terrafort.gfx.TGraphics;
 import dev.iwilkey.terrafort.gui.container.TContainer;
 import dev.iwilkey.terrafort.gui.container.TPopupContainer;
@@ -198,6 +200,14 @@ public final class TUserInterface implements Disposable {
 		});
 	}
 	
+	/**
+	 * Draw a {@link TImmediateModeText} this frame. Unlike drawText(text, x, y, point, color, worldSpace, dropShadow), nothing is allocated, 
+	 * so the same request can be drawn every frame.
+	 */
+	public static void drawText(TImmediateModeText text) {
+		IMMEDIATE_TEXT_REQUESTS.add(text);
+	}
+	
 	/**
 	 * Submits a text particle to be managed and rendered by the UI system.
 	 */
@@ -269,6 +279,7 @@ public final class TUserInterface implements Disposable {
 	 * Manages and renders immediate mode text requests, including particles.
 	 */
 	public void renderImmediateModeText(float dt) {
+		TProfiler.begin(TPhase.TEXT);
 		// Manage text particles...
 			for(final TImmediateModeTextParticle textParticle : ACTIVE_TEXT_PARTICLES) {
 				textParticle.tick(dt);
@@ -341,6 +352,7 @@ public final class TUserInterface implements Disposable {
 			gameFont.setColor(Color.WHITE);
 			FONT_BATCH.end();
 			IMMEDIATE_TEXT_REQUESTS.clear();
+			TProfiler.end(TPhase.TEXT);
 	}
 	
 	/**
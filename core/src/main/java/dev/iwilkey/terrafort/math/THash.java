@@ -0,0 +1,58 @@
+package dev.iwilkey.terrafort.math;
+
+/**
+ * A counter-based random number generator. Every value is a pure function of a seed, a tile coordinate and a counter, so anything derived
+ * from it can be recreated from the world seed alone, on any thread, in any order. Use a different counter for every independent roll made
+ * on the same tile.
+ * @author Ian Wilkey (iwilkey)
+ */
+public final class THash {
+
+	private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+	private static final long PRIME_X      = 0x5205402B9270C86FL;
+	private static final long PRIME_Y      = 0x598CD327003817B5L;
+
+	private THash() {}
+
+	/**
+	 * Returns 64 well mixed bits for given seed, tile coordinates and counter.
+	 */
+	public static long hash(long seed, long tileX, long tileY, int counter) {
+		long h = seed + GOLDEN_GAMMA * (counter + 1);
+		h     ^= tileX * PRIME_X;
+		h      = mix(h);
+		h     ^= tileY * PRIME_Y;
+		return mix(h);
+	}
+
+	/**
+	 * Returns a float in the interval [0, 1) for given seed, tile coordinates and counter.
+	 */
+	public static float unit(long seed, long tileX, long tileY, int counter) {
+		return (hash(seed, tileX, tileY, counter) >>> 40) * 0x1.0p-24f;
+	}
+
+	/**
+	 * Returns a float in the interval [min, max) for given seed, tile coordinates and counter.
+	 */
+	public static float range(long seed, long tileX, long tileY, int counter, float min, float max) {
+		return min + unit(seed, tileX, tileY, counter) * (max - min);
+	}
+
+	/**
+	 * Returns an int in the interval [0, bound) for given seed, tile coordinates and counter.
+	 */
+	public static int below(long seed, long tileX, long tileY, int counter, int bound) {
+		return (int)(((hash(seed, tileX, tileY, counter) >>> 32) * bound) >>> 32);
+	}
+
+	/**
+	 * The SplitMix64 finalizer.
+	 */
+	private static long mix(long z) {
+		z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+		z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+		return z ^ (z >>> 31);
+	}
+
+}
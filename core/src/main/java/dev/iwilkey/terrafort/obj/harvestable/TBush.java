@@ -20,9 +20,7 @@ public final class TBush extends THarvestable {
 	public transient static final float COLLIDER_WIDTH    = TWorld.TILE_SIZE / 1.5f;
 	public transient static final float COLLIDER_HEIGHT   = TWorld.TILE_SIZE / 5f;
 	public transient static final float COLLIDER_OFF_Y    = TWorld.HALF_TILE_SIZE;
-	
-	private static final long serialVersionUID = -4142147005611047921L;
-	
+		
 	/**
 	 * Creates a new bush at given tile coordinate.
 	 */
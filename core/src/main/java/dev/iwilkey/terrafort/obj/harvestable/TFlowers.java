@@ -2,7 +2,6 @@ package dev.iwilkey.terrafort.obj.harvestable;
 
 import java.util.concurrent.ThreadLocalRandom;
 
-import dev.iwilkey.terrafort.math.TMath;
 import dev.iwilkey.terrafort.obj.runtime.TObjectRuntime;
 import dev.iwilkey.terrafort.obj.type.THarvestable;
 import dev.iwilkey.terrafort.obj.type.TObject;
@@ -16,12 +15,22 @@ public final class TFlowers extends THarvestable {
 	public transient static final float COLLIDER_WIDTH    = TWorld.HALF_TILE_SIZE;
 	public transient static final float COLLIDER_HEIGHT   = TWorld.HALF_TILE_SIZE;
 	
-	private static final long serialVersionUID = -4046288203518036084L;
-	
 	/**
-	 * Creates new flowers at given tile coordinate. 
+	 * The amount of different looks flowers can have; six sprites, each with one of two debris colors.
+	 */
+	public transient static final int   VARIANTS          = 12;
+		
+	/**
+	 * Creates new flowers at given tile coordinate, with a random look. 
 	 */
 	public TFlowers(int tileX, int tileY) {
+		this(tileX, tileY, ThreadLocalRandom.current().nextInt(VARIANTS));
+	}
+	
+	/**
+	 * Creates new flowers at given tile coordinate, with given look in the interval [0, VARIANTS).
+	 */
+	public TFlowers(int tileX, int tileY, int variant) {
 		super(tileX, tileY);
 		name                         = "flowers";
 		spriteSheet                  = "sheets/natural.png";
@@ -35,7 +44,7 @@ public final class TFlowers extends THarvestable {
 		colliderOffY                 = 0;
 		rotationRadians              = 0;
 		dataX                        = 11;
-		dataY                        = (int)TMath.equalPick(0, 1, 2, 3, 4, 5);
+		dataY                        = variant % 6;
 		dataWidth                    = 1;
 		dataHeight                   = 1;
 		naturalTint                  = 0xffffffff;
@@ -46,7 +55,7 @@ public final class TFlowers extends THarvestable {
 		isSensor                     = true;
 		maxHealthPoints              = MAX_HEALTH;
 		currentHealthPoints          = MAX_HEALTH;
-		debrisColor                  = (Math.random() > 0.5f) ? 0xffc0cbff : 0xffff00ff;
+		debrisColor                  = (variant < 6) ? 0xffc0cbff : 0xffff00ff;
 	}
 
 	@Override
@@ -21,8 +21,6 @@ public final class TTree extends THarvestable {
 	public transient static final float COLLIDER_HEIGHT   = TWorld.TILE_SIZE / 3.5f;
 	public transient static final float COLLIDER_OFF_Y    = TWorld.TILE_SIZE * 1.75f;
 	
-	private static final long serialVersionUID = -4142147005611047921L;
-
 	/**
 	 * Creates a new tree at given tile coordinate.
 	 */
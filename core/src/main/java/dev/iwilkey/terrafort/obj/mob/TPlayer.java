@@ -23,6 +23,8 @@ import dev.iwilkey.terrafort.obj.type.TEntity;
 import dev.iwilkey.terrafort.obj.type.THarvestable;
 import dev.iwilkey.terrafort.obj.type.TMob;
 import dev.iwilkey.terrafort.obj.type.TObject;
+import dev.iwilkey.terrafort.persistent.TBinaryReader;
+import dev.iwilkey.terrafort.persistent.TBinaryWriter;
 import dev.iwilkey.terrafort.world.TWorld;
 
 /**
@@ -37,7 +39,7 @@ public final class TPlayer extends TMob {
 	
 	public transient static final float ZOOM_TIME = 0.5f;
 	public transient static final int   ZOOM_MIN  = -2;
-	public transient static final int   ZOOM_MAX  = 1;
+	public transient static final int   ZOOM_MAX  = 3;
 	
 	/**
 	 * TRANSIENT MOB SPECIFIC BEHAVIORS...
@@ -62,7 +64,33 @@ public final class TPlayer extends TMob {
 	public transient TGameStateInterface     gameState     = null;
 	public transient TSettingsInterface      settings      = null;
 	
-	private static final long serialVersionUID = -5927861991543806097L;
+	/**
+	 * TRANSIENT SCHEDULED EVENTS; created once and scheduled every time the camera zooms.
+	 */
+	
+	private transient final TEvent zoomInEvent  = new TEvent() {
+		@Override
+		public boolean fire() {
+			zoomLevel--;
+			zoomLevel = (byte)TMath.clamp(zoomLevel, ZOOM_MIN, ZOOM_MAX);
+			TGraphics.requestDarkState(false, ZOOM_TIME);
+			return false;
+		}
+	};
+	private transient final TEvent zoomOutEvent = new TEvent() {
+		@Override
+		public boolean fire() {
+			zoomLevel++;
+			zoomLevel = (byte)TMath.clamp(zoomLevel, ZOOM_MIN, ZOOM_MAX);
+			TGraphics.requestDarkState(false, ZOOM_TIME);
+			return false;
+		}
+	};
+	
+	/**
+	 * The version of this class' section in the binary format. Bump it when fields are added, and read them conditionally.
+	 */
+	private static final int CODEC_VERSION = 1;
 	
 	/**
 	 * The current zoom of the game camera that follows this mob.
@@ -122,30 +150,14 @@ public final class TPlayer extends TMob {
 		if(TInput.zoomIn) {
 			if(zoomLevel - 1 >= ZOOM_MIN) {
 				TGraphics.requestDarkState(true, ZOOM_TIME);
-				TClock.schedule(new TEvent() {
-					@Override
-					public boolean fire() {
-						zoomLevel--;
-						zoomLevel = (byte)TMath.clamp(zoomLevel, ZOOM_MIN, ZOOM_MAX);
-						TGraphics.requestDarkState(false, ZOOM_TIME);
-						return false;
-					}
-				}, 1, (ZOOM_TIME / 2f));
+				TClock.schedule(zoomInEvent, 1, (ZOOM_TIME / 2f));
 			}
 			TInput.zoomIn = false;
 		}
 		if(TInput.zoomOut) {
 			if(zoomLevel + 1 <= ZOOM_MAX) {
 				TGraphics.requestDarkState(true, ZOOM_TIME);
-				TClock.schedule(new TEvent() {
-					@Override
-					public boolean fire() {
-						zoomLevel++;
-						zoomLevel = (byte)TMath.clamp(zoomLevel, ZOOM_MIN, ZOOM_MAX);
-						TGraphics.requestDarkState(false, ZOOM_TIME);
-						return false;
-					}
-				}, 1, (ZOOM_TIME / 2f));
+				TClock.schedule(zoomOutEvent, 1, (ZOOM_TIME / 2f));
 			}
 			TInput.zoomOut = false;
 		}
@@ -272,4 +284,22 @@ public final class TPlayer extends TMob {
 		return true;
 	}
 
+	@Override
+	public void write(final TBinaryWriter out) {
+		super.write(out);
+		out.beginSection(CODEC_VERSION);
+		out.putByte(zoomLevel);
+		out.putLong(funds);
+		out.endSection();
+	}
+	
+	@Override
+	public void read(final TBinaryReader in) {
+		super.read(in);
+		in.beginSection();
+		zoomLevel = in.getByte();
+		funds     = in.getLong();
+		in.endSection();
+	}
+
 }
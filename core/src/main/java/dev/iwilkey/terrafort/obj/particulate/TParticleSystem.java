@@ -0,0 +1,380 @@
+package dev.iwilkey.terrafort.obj.particulate;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.utils.Array;
+
+import dev.iwilkey.terrafort.gfx.TGraphics;
+import dev.iwilkey.terrafort.gfx.TRenderableSprite;
+import dev.iwilkey.terrafort.gfx.TSpriteSheet;
+import dev.iwilkey.terrafort.obj.type.THarvestable;
+import dev.iwilkey.terrafort.obj.type.TObject;
+import dev.iwilkey.terrafort.world.TSpatialIndex;
+import dev.iwilkey.terrafort.world.TWorld;
+
+/**
+ * Debris, dust; insignificant particles added for visual effect. Particles aren't {@link TObject}s and have no physical body. Their state is
+ * held in flat primitive arrays, one slot per live particle, simulated in one pass every tick and drawn as two layers, shadows and
+ * particles, straight into the batch. Particles stop cold when they run into a harvestable, tested against its collider box.
+ *
+ * <p>
+ * Particles are purely visual and never saved.
+ * </p>
+ * @author Ian Wilkey (iwilkey)
+ */
+public final class TParticleSystem {
+
+	/**
+	 * The maximum amount of live particles. Particles emitted past it are dropped.
+	 */
+	public static final int    MAX_PARTICLES    = 1 << 16;
+
+	/**
+	 * The sprite sheet, and the 1x1 data selection on it, every particle is drawn with.
+	 */
+	public static final String SPRITE_SHEET     = "sheets/items-icons.png";
+	public static final int    DATA_X           = 0;
+	public static final int    DATA_Y           = 1;
+
+	/**
+	 * The depth of the particle and shadow layers.
+	 */
+	public static final int    PARTICLE_DEPTH   = 129;
+	public static final int    SHADOW_DEPTH     = 130;
+
+	/**
+	 * How much of its velocity and bounce a particle keeps every tick.
+	 */
+	public static final float  DAMPING          = 0.95f;
+
+	private static final int   INITIAL_CAPACITY = 256;
+	private static final int   NO_TILE          = Integer.MIN_VALUE;
+
+	private final TWorld              world;
+	private final TParticleLayer      particleLayer;
+	private final TParticleLayer      shadowLayer;
+	private final Array<TObject>      nearby;
+
+	private float[]                   posX;
+	private float[]                   posY;
+	private float[]                   velX;
+	private float[]                   velY;
+	private float[]                   amp;
+	private float[]                   freq;
+	private float[]                   lift;
+	private float[]                   age;
+	private float[]                   life;
+	private float[]                   width;
+	private float[]                   height;
+	private int[]                     color;
+	private int[]                     tileX;
+	private int[]                     tileY;
+	private THarvestable[]            obstacle;
+	private int                       count;
+
+	private float                     minX;
+	private float                     minY;
+	private float                     maxX;
+	private float                     maxY;
+
+	/**
+	 * Creates an empty particle system for given world.
+	 */
+	public TParticleSystem(TWorld world) {
+		this.world    = world;
+		particleLayer = new TParticleLayer(false);
+		shadowLayer   = new TParticleLayer(true);
+		nearby        = new Array<>();
+		allocate(INITIAL_CAPACITY);
+		clear();
+	}
+
+	/**
+	 * The amount of live particles.
+	 */
+	public int getCount() {
+		return count;
+	}
+
+	/**
+	 * Emits "amount" particles of given color (RGBA8888) at given world coordinates, each with a random size, lifespan, direction, speed
+	 * and bounce.
+	 */
+	public void emit(float worldX, float worldY, int rgba, int amount) {
+		final ThreadLocalRandom random = ThreadLocalRandom.current();
+		amount                         = Math.min(amount, MAX_PARTICLES - count);
+		if(amount <= 0)
+			return;
+		if(count + amount > posX.length)
+			allocate(Math.min(MAX_PARTICLES, Math.max(posX.length * 2, count + amount)));
+		for(int n = 0; n < amount; n++) {
+			final int   i   = count++;
+			final float ang = (float)random.nextDouble(0, 2 * Math.PI);
+			final float scl = (float)random.nextDouble(100, 200);
+			posX[i]         = worldX;
+			posY[i]         = worldY;
+			velX[i]         = (float)Math.cos(ang) * scl;
+			velY[i]         = (float)Math.sin(ang) * scl;
+			amp[i]          = (float)random.nextDouble(32, 64);
+			freq[i]         = (float)random.nextDouble(2, 4);
+			lift[i]         = 0.0f;
+			age[i]          = 0.0f;
+			life[i]         = (float)random.nextDouble(2, 8);
+			width[i]        = random.nextInt(2, 4);
+			height[i]       = random.nextInt(2, 4);
+			color[i]        = rgba;
+			tileX[i]        = NO_TILE;
+			tileY[i]        = NO_TILE;
+			obstacle[i]     = null;
+		}
+		minX = Math.min(minX, worldX);
+		maxX = Math.max(maxX, worldX);
+		minY = Math.min(minY, worldY);
+		maxY = Math.max(maxY, worldY);
+	}
+
+	/**
+	 * Advances every live particle by "dt" seconds. Particles that lived their full life are removed.
+	 */
+	public void tick(float dt) {
+		minX = Float.POSITIVE_INFINITY;
+		minY = Float.POSITIVE_INFINITY;
+		maxX = Float.NEGATIVE_INFINITY;
+		maxY = Float.NEGATIVE_INFINITY;
+		for(int i = 0; i < count; i++) {
+			age[i] += dt;
+			if(age[i] >= life[i]) {
+				// swap the last particle into this slot and visit it next...
+				remove(i--);
+				continue;
+			}
+			// a particle that stopped has no velocity nor bounce left, so it will never move again...
+			if(amp[i] != 0 || velX[i] != 0 || velY[i] != 0) {
+				lift[i]  = Math.abs((float)Math.sin(age[i] * freq[i] * Math.PI)) * amp[i];
+				posX[i] += velX[i] * dt;
+				posY[i] += velY[i] * dt;
+				amp[i]  *= DAMPING;
+				velX[i] *= DAMPING;
+				velY[i] *= DAMPING;
+				collide(i);
+			}
+			minX = Math.min(minX, posX[i]);
+			maxX = Math.max(maxX, posX[i]);
+			minY = Math.min(minY, posY[i]);
+			maxY = Math.max(maxY, posY[i] + lift[i]);
+		}
+	}
+
+	/**
+	 * Queues the shadow and particle layers to be rendered. Does nothing if there are no live particles.
+	 */
+	public void render() {
+		if(count == 0)
+			return;
+		TGraphics.draw(shadowLayer);
+		TGraphics.draw(particleLayer);
+	}
+
+	/**
+	 * Removes every live particle.
+	 */
+	public void clear() {
+		Arrays.fill(obstacle, 0, count, null);
+		count = 0;
+		minX  = Float.POSITIVE_INFINITY;
+		minY  = Float.POSITIVE_INFINITY;
+		maxX  = Float.NEGATIVE_INFINITY;
+		maxY  = Float.NEGATIVE_INFINITY;
+	}
+
+	/**
+	 * Stops a particle cold if it's inside of the collider of a solid harvestable on its tile. The harvestable is looked up again only
+	 * when the particle crosses into another tile.
+	 */
+	private void collide(int i) {
+		final float x  = posX[i];
+		final float y  = posY[i] + lift[i];
+		final int   tx = TSpatialIndex.worldToTile(x);
+		final int   ty = TSpatialIndex.worldToTile(y);
+		if(tx != tileX[i] || ty != tileY[i]) {
+			tileX[i]    = tx;
+			tileY[i]    = ty;
+			obstacle[i] = null;
+			world.collectObjectsAt(tx, ty, nearby);
+			for(final TObject o : nearby) {
+				if(o instanceof THarvestable && !o.isSensor) {
+					obstacle[i] = (THarvestable)o;
+					break;
+				}
+			}
+			nearby.clear();
+		}
+		final THarvestable o = obstacle[i];
+		// a harvestable that died since is gone from the world...
+		if(o == null || o.currentHealthPoints <= 0)
+			return;
+		if(Math.abs(x - o.worldX) <= o.colliderWidth && Math.abs(y - o.worldY) <= o.colliderHeight) {
+			velX[i] = 0;
+			velY[i] = 0;
+			amp[i]  = 0;
+			lift[i] = 0;
+		}
+	}
+
+	/**
+	 * Removes the particle in slot "i" by moving the last particle into it.
+	 */
+	private void remove(int i) {
+		final int last = --count;
+		posX[i]        = posX[last];
+		posY[i]        = posY[last];
+		velX[i]        = velX[last];
+		velY[i]        = velY[last];
+		amp[i]         = amp[last];
+		freq[i]        = freq[last];
+		lift[i]        = lift[last];
+		age[i]         = age[last];
+		life[i]        = life[last];
+		width[i]       = width[last];
+		height[i]      = height[last];
+		color[i]       = color[last];
+		tileX[i]       = tileX[last];
+		tileY[i]       = tileY[last];
+		obstacle[i]    = obstacle[last];
+		obstacle[last] = null;
+	}
+
+	/**
+	 * Grows every array to given capacity, keeping the live particles.
+	 */
+	private void allocate(int capacity) {
+		posX     = posX == null ? new float[capacity] : Arrays.copyOf(posX, capacity);
+		posY     = posY == null ? new float[capacity] : Arrays.copyOf(posY, capacity);
+		velX     = velX == null ? new float[capacity] : Arrays.copyOf(velX, capacity);
+		velY     = velY == null ? new float[capacity] : Arrays.copyOf(velY, capacity);
+		amp      = amp == null ? new float[capacity] : Arrays.copyOf(amp, capacity);
+		freq     = freq == null ? new float[capacity] : Arrays.copyOf(freq, capacity);
+		lift     = lift == null ? new float[capacity] : Arrays.copyOf(lift, capacity);
+		age      = age == null ? new float[capacity] : Arrays.copyOf(age, capacity);
+		life     = life == null ? new float[capacity] : Arrays.copyOf(life, capacity);
+		width    = width == null ? new float[capacity] : Arrays.copyOf(width, capacity);
+		height   = height == null ? new float[capacity] : Arrays.copyOf(height, capacity);
+		color    = color == null ? new int[capacity] : Arrays.copyOf(color, capacity);
+		tileX    = tileX == null ? new int[capacity] : Arrays.copyOf(tileX, capacity);
+		tileY    = tileY == null ? new int[capacity] : Arrays.copyOf(tileY, capacity);
+		obstacle = obstacle == null ? new THarvestable[capacity] : Arrays.copyOf(obstacle, capacity);
+	}
+
+	/**
+	 * Draws every live particle, or every shadow, in one pass. It is sorted into the render queue as a single sprite that covers the
+	 * bounds of all live particles.
+	 */
+	private final class TParticleLayer implements TRenderableSprite {
+
+		private final boolean shadows;
+
+		private TParticleLayer(boolean shadows) {
+			this.shadows = shadows;
+		}
+
+		@Override
+		public String getSpriteSheet() {
+			return SPRITE_SHEET;
+		}
+
+		@Override
+		public float getX() {
+			return (minX + maxX) / 2;
+		}
+
+		@Override
+		public float getY() {
+			return (minY + maxY) / 2;
+		}
+
+		@Override
+		public float getGraphicalX() {
+			return getX();
+		}
+
+		@Override
+		public float getGraphicalY() {
+			return getY();
+		}
+
+		@Override
+		public float getWidth() {
+			return maxX - minX;
+		}
+
+		@Override
+		public float getHeight() {
+			return maxY - minY;
+		}
+
+		@Override
+		public float getRotationInRadians() {
+			return 0;
+		}
+
+		@Override
+		public int getDataSelectionOffsetX() {
+			return DATA_X;
+		}
+
+		@Override
+		public int getDataSelectionOffsetY() {
+			return DATA_Y;
+		}
+
+		@Override
+		public int getDataSelectionSquareWidth() {
+			return 1;
+		}
+
+		@Override
+		public int getDataSelectionSquareHeight() {
+			return 1;
+		}
+
+		@Override
+		public Color getRenderTint() {
+			return Color.WHITE;
+		}
+
+		@Override
+		public int getDepth() {
+			return shadows ? SHADOW_DEPTH : PARTICLE_DEPTH;
+		}
+
+		@Override
+		public void render(final OrthographicCamera camera, final SpriteBatch batch) {
+			final TSpriteSheet sheet     = TGraphics.getSheet(SPRITE_SHEET);
+			final int          srcX      = sheet.getRegionX(DATA_X);
+			final int          srcY      = sheet.getRegionY(DATA_Y);
+			final float        camLeft   = camera.position.x - (camera.viewportWidth / 2 * camera.zoom);
+			final float        camRight  = camera.position.x + (camera.viewportWidth / 2 * camera.zoom);
+			final float        camBottom = camera.position.y - (camera.viewportHeight / 2 * camera.zoom);
+			final float        camTop    = camera.position.y + (camera.viewportHeight / 2 * camera.zoom);
+			for(int i = 0; i < count; i++) {
+				final float w = width[i];
+				final float h = height[i];
+				final float x = posX[i] - w / 2;
+				final float y = (shadows ? posY[i] : posY[i] + lift[i]) - h / 2;
+				if(x + w < camLeft || x > camRight || y + h < camBottom || y > camTop)
+					continue;
+				// fades out as it ages...
+				final int a = Math.round(Math.max(0.001f, 1.0f - age[i] / life[i]) * 0xff);
+				final int c = shadows ? 0 : color[i];
+				batch.setPackedColor(Color.toFloatBits((c >>> 24) & 0xff, (c >>> 16) & 0xff, (c >>> 8) & 0xff, a));
+				batch.draw(sheet.get(), x, y, w, h, srcX, srcY, TGraphics.DATA_WIDTH, TGraphics.DATA_HEIGHT, false, false);
+			}
+		}
+
+	}
+
+}
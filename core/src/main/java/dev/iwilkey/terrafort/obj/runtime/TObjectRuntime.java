@@ -1,7 +1,6 @@
 package dev.iwilkey.terrafort.obj.runtime;
 
 import com.badlogic.gdx.graphics.Color;
-import com.badlogic.gdx.graphics.GL20;
 import com.badlogic.gdx.graphics.OrthographicCamera;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.math.Vector2;
@@ -10,14 +9,14 @@ import com.badlogic.gdx.physics.box2d.BodyDef;
 import com.badlogic.gdx.physics.box2d.Fixture;
 import com.badlogic.gdx.physics.box2d.FixtureDef;
 import com.badlogic.gdx.physics.box2d.PolygonShape;
-import com.badlogic.gdx.physics.box2d.RayCastCallback;
 
 import dev.iwilkey.terrafort.gfx.TFrame;
 import dev.iwilkey.terrafort.gfx.TGraphics;
 import dev.iwilkey.terrafort.gfx.TRenderableSprite;
+import dev.iwilkey.terrafort.gfx.TSpriteSheet;
 import dev.iwilkey.terrafort.obj.type.TMob;
 import dev.iwilkey.terrafort.obj.type.TObject;
-import dev.iwilkey.terrafort.obj.type.TParticulate;
+import dev.iwilkey.terrafort.world.TChunkRuntime;
 import dev.iwilkey.terrafort.world.TWorld;
 
 /**
@@ -26,37 +25,94 @@ import dev.iwilkey.terrafort.world.TWorld;
  */
 public final class TObjectRuntime implements TRenderableSprite {
 	
+	private TObject abstractState = null;
+	private TWorld  world         = null;
+	private Body    jniBody       = null;
+	private Fixture jniFixture    = null;
+	private boolean sharesBody    = false;
+	private Color   renderTint    = null;
+	
 	/**
-	 * Memory reserved for the last sensed {@link TObject} from the ray(...) method.
+	 * The chunk runtime that stopped ticking this object because it was idle. Null while the object is awake.
 	 */
-	private static TObject lastRayResult = null;
+	private TChunkRuntime sleepingIn = null;
 	
 	/**
-	 * Instruction for the ray(...) raycasting procedure.
+	 * The chunk runtime whose awake objects hold this object. Null while no chunk runtime ticks it.
 	 */
-	private static final RayCastCallback RAY_CALLBACK = new RayCastCallback() {
-	    @Override
-	    public float reportRayFixture(Fixture fixture, Vector2 point, Vector2 normal, float fraction) {
-	    	if(((TObjectRuntime)fixture.getBody().getUserData()).getAbstract() instanceof TParticulate)
-	    		return -1;
-	    	lastRayResult = ((TObjectRuntime)fixture.getBody().getUserData()).getAbstract();
-	        return 0;
-	    }
-	};
-
-	private TObject abstractState = null;
-	private TWorld  world         = null;
-	private Body    jniBody       = null;
-	private Color   renderTint    = null;
+	private TChunkRuntime tickingIn  = null;
+	
+	/**
+	 * The state of the body before the last physics step. Rendering blends it with the current state; see TWorld.getPhysicsAlpha().
+	 */
+	private boolean interpolated  = false;
+	private float   previousX     = 0.0f;
+	private float   previousY     = 0.0f;
+	private float   previousAngle = 0.0f;
 	
 	/**
 	 * Creates a physical object, ready to simulate specific behavior while active in the game world.
 	 */
 	public TObjectRuntime(TWorld world, TObject abstractState) {
+		this(world, abstractState, null);
+	}
+	
+	/**
+	 * Creates a physical object whose collider is a fixture of given static body, shared with other objects. The abstract state must be able to
+	 * share a body; see canShareBody(object). If "shared" is null, the object gets a body of its own.
+	 */
+	public TObjectRuntime(TWorld world, TObject abstractState, Body shared) {
+		if(shared != null && !canShareBody(abstractState))
+			throw new IllegalArgumentException("[Terrafort Game Engine] Only static, solid objects that don't define their own physics can share a body!");
 		this.world         = world;
 		this.abstractState = abstractState;
 		renderTint         = new Color().set(abstractState.tint);
-		construct(world);
+		abstractState.bind(this);
+		if(shared != null)
+			attach(shared);
+		else construct(world);
+		// only bodies moved by the physics engine need to be interpolated...
+		interpolated       = abstractState.isDynamic && !abstractState.definesOwnPhysics;
+		capturePreviousState();
+	}
+	
+	/**
+	 * Whether or not given object can be a fixture of a static body shared with other objects. It must never move and must be solid.
+	 */
+	public static boolean canShareBody(TObject object) {
+		return !object.isDynamic && !object.isSensor && !object.definesOwnPhysics;
+	}
+	
+	/**
+	 * Remembers the current state of the body as the state before the next physics step. Called by the {@link TWorld} right before it steps.
+	 */
+	public void capturePreviousState() {
+		if(!interpolated)
+			return;
+		final Vector2 p = jniBody.getPosition();
+		previousX       = p.x;
+		previousY       = p.y;
+		previousAngle   = jniBody.getAngle();
+	}
+	
+	/**
+	 * The world x this object is rendered at. Bodies moved by the physics engine are interpolated between their last two physics states.
+	 */
+	private float renderX() {
+		if(!interpolated)
+			return abstractState.worldX;
+		final float x = previousX + (jniBody.getPosition().x - previousX) * world.getPhysicsAlpha();
+		return (abstractState instanceof TMob && !world.isHeadless()) ? TGraphics.snapToPixelX(x) : x;
+	}
+	
+	/**
+	 * The world y this object is rendered at. See renderX().
+	 */
+	private float renderY() {
+		if(!interpolated)
+			return abstractState.worldY;
+		final float y = previousY + (jniBody.getPosition().y - previousY) * world.getPhysicsAlpha();
+		return (abstractState instanceof TMob && !world.isHeadless()) ? TGraphics.snapToPixelY(y) : y;
 	}
 	
 	/**
@@ -73,11 +129,12 @@ public final class TObjectRuntime implements TRenderableSprite {
 		jniBody                        = world.getPhysicalWorld().createBody(bodyDef);
 		jniBody.setUserData(this);
 		shape.setAsBox(abstractState.colliderWidth, abstractState.colliderHeight);
-		jniBody.createFixture(fixtureDef);
+		jniFixture                     = jniBody.createFixture(fixtureDef);
+		jniFixture.setUserData(this);
 		shape.dispose();
 		jniBody.setTransform(abstractState.worldX, abstractState.worldY, abstractState.rotationRadians);
-		jniBody.getFixtureList().get(0).setSensor(abstractState.isSensor);
-		jniBody.getFixtureList().get(0).setDensity(abstractState.mass);
+		jniFixture.setSensor(abstractState.isSensor);
+		jniFixture.setDensity(abstractState.mass);
 		jniBody.resetMassData();
 		/*
 		if(!isSensor) {
@@ -92,19 +149,79 @@ public final class TObjectRuntime implements TRenderableSprite {
 	}
 	
 	/**
-	 * Performs a simple raycast procedure with given ray. Returns a {@link TObject} if successful, null if none.
-	 * Avoids returning itself as a ray result.
+	 * Adds the collider of the object to given static body as a fixture. The fixture, not the body, maps back to this runtime.
 	 */
-	public TObject ray(Vector2 origin, Vector2 to) {
-		lastRayResult = null;
-		getWorld().getPhysicalWorld().rayCast(RAY_CALLBACK, origin, to);
-		// avoids returning self...
-		if(lastRayResult != null) {
-			if(lastRayResult == getAbstract())
-				return null;
-			return lastRayResult;
-		}
-		return null;
+	private void attach(Body shared) {
+		final PolygonShape shape  = new PolygonShape();
+		final Vector2      center = new Vector2(abstractState.worldX - shared.getPosition().x, abstractState.worldY - shared.getPosition().y);
+		shape.setAsBox(abstractState.colliderWidth, abstractState.colliderHeight, center, abstractState.rotationRadians);
+		jniBody    = shared;
+		jniFixture = shared.createFixture(shape, 0.0f);
+		jniFixture.setUserData(this);
+		shape.dispose();
+		sharesBody = true;
+	}
+	
+	/**
+	 * Removes the collider of the object from the physics engine. An object that shares a body only loses its fixture.
+	 */
+	public void destroy() {
+		if(sharesBody)
+			jniBody.destroyFixture(jniFixture);
+		else world.getPhysicalWorld().destroyBody(jniBody);
+		jniFixture = null;
+	}
+	
+	/**
+	 * Takes the body of this object in or out of the physics engine. A body taken out is stopped, isn't stepped and doesn't collide, so it
+	 * stands still no matter the velocity it is given; see {@link dev.iwilkey.terrafort.world.TMobManager}. Does nothing to an object that shares a body.
+	 */
+	public void setSimulated(boolean simulated) {
+		if(sharesBody || jniBody.isActive() == simulated)
+			return;
+		jniBody.setLinearVelocity(0, 0);
+		jniBody.setAngularVelocity(0);
+		jniBody.setActive(simulated);
+		capturePreviousState();
+	}
+	
+	/**
+	 * Marks this object as asleep in given chunk runtime, which no longer ticks it until wake() is called.
+	 */
+	public void sleep(TChunkRuntime owner) {
+		sleepingIn = owner;
+	}
+	
+	/**
+	 * Hands this object back to the chunk runtime it fell asleep in, which ticks it again from its next update on.
+	 */
+	public void wake() {
+		if(sleepingIn == null)
+			return;
+		final TChunkRuntime owner = sleepingIn;
+		sleepingIn                = null;
+		owner.wake(this);
+	}
+	
+	/**
+	 * Whether or not this object is asleep.
+	 */
+	public boolean isAsleep() {
+		return sleepingIn != null;
+	}
+	
+	/**
+	 * Records the chunk runtime whose awake objects hold this object, or null if none does. Only {@link TChunkRuntime} should call this.
+	 */
+	public void setTickingIn(TChunkRuntime owner) {
+		tickingIn = owner;
+	}
+	
+	/**
+	 * Whether or not this object is held by the awake objects of given chunk runtime.
+	 */
+	public boolean isTickingIn(TChunkRuntime owner) {
+		return tickingIn == owner;
 	}
 	
 	/**
@@ -130,20 +247,34 @@ public final class TObjectRuntime implements TRenderableSprite {
 	}
 	
 	/**
-	 * Returns the physical body of the object.
+	 * Returns the physical body of the object. If the object shares a body, it isn't positioned at the object; see sharesBody().
 	 */
 	public final Body getPhysical() {
 		return jniBody;
 	}
 	
+	/**
+	 * Returns the fixture of the object's collider.
+	 */
+	public final Fixture getPhysicalFixture() {
+		return jniFixture;
+	}
+	
+	/**
+	 * Whether or not the object's collider is a fixture of a static body shared with other objects.
+	 */
+	public final boolean sharesBody() {
+		return sharesBody;
+	}
+	
 	@Override
 	public float getGraphicalX() {
-		return abstractState.worldX;
+		return renderX();
 	}
 	
 	@Override
 	public float getGraphicalY() {
-		return abstractState.worldY;
+		return renderY();
 	}
 	
 	@Override
@@ -153,12 +284,12 @@ public final class TObjectRuntime implements TRenderableSprite {
 
 	@Override
 	public float getX() {
-		return abstractState.worldX + abstractState.colliderOffX;
+		return renderX() + abstractState.colliderOffX;
 	}
 
 	@Override
 	public float getY() {
-		return abstractState.worldY + abstractState.colliderOffY;
+		return renderY() + abstractState.colliderOffY;
 	}
 
 	@Override
@@ -173,7 +304,9 @@ public final class TObjectRuntime implements TRenderableSprite {
 
 	@Override
 	public float getRotationInRadians() {
-		return abstractState.rotationRadians;
+		if(!interpolated)
+			return abstractState.rotationRadians;
+		return previousAngle + (jniBody.getAngle() - previousAngle) * world.getPhysicsAlpha();
 	}
 
 	@Override
@@ -214,18 +347,15 @@ public final class TObjectRuntime implements TRenderableSprite {
 	
 	@Override
 	public void render(final OrthographicCamera camera, final SpriteBatch batch) {
-		// default rendering prodedure for non t-mobs.
-		if(!batch.getColor().equals(getRenderTint()))
-			batch.setColor(getRenderTint());
+		// default rendering prodedure for non t-mobs. Tint is carried as vertex color; blending is set up by TGraphics.
+		final TSpriteSheet sheet = TGraphics.getSheet(getSpriteSheet());
         float originX         = getWidth() / 2;
         float originY         = getHeight() / 2;
         float rotationDegrees = (float)Math.toDegrees(getRotationInRadians());
-        if(shouldUseAdditiveBlending())
-        	batch.setBlendFunction(GL20.GL_SRC_ALPHA, GL20.GL_ONE);
-        
+        batch.setPackedColor(getRenderTint().toFloatBits());
         // draw orig sprite...
         batch.draw(
-            TGraphics.getSheetGLTex(getSpriteSheet()), 
+            sheet.get(), 
             getX() - originX, 
             getY() - originY, 
             originX,
@@ -235,8 +365,8 @@ public final class TObjectRuntime implements TRenderableSprite {
             1f, 
             1f, 
             rotationDegrees,
-            getDataSelectionOffsetX() * TGraphics.DATA_WIDTH, 
-            getDataSelectionOffsetY() * TGraphics.DATA_HEIGHT,
+            sheet.getRegionX(getDataSelectionOffsetX()), 
+            sheet.getRegionY(getDataSelectionOffsetY()),
             getDataSelectionSquareWidth() * TGraphics.DATA_WIDTH, 
             getDataSelectionSquareHeight() * TGraphics.DATA_HEIGHT, 
             false, 
@@ -249,10 +379,9 @@ public final class TObjectRuntime implements TRenderableSprite {
         	final TFrame  clothingFrame = mob.getCurrentClothingFrame();
         	final Color   clothingColor = mob.getCurrentClothingColor();
         	// draw clothing...
-        	if(!batch.getColor().equals(clothingColor))
-    			batch.setColor(clothingColor);
+        	batch.setPackedColor(clothingColor.toFloatBits());
         	batch.draw(
-                TGraphics.getSheetGLTex(getSpriteSheet()), 
+                sheet.get(), 
                 getX() - originX, 
                 getY() - originY,
                 originX, 
@@ -262,17 +391,13 @@ public final class TObjectRuntime implements TRenderableSprite {
                 1, 
                 1, 
                 0,
-                clothingFrame.getDataOffsetX() * TGraphics.DATA_WIDTH, 
-                clothingFrame.getDataOffsetY() * TGraphics.DATA_HEIGHT,
+                sheet.getRegionX(clothingFrame.getDataOffsetX()), 
+                sheet.getRegionY(clothingFrame.getDataOffsetY()),
                 getDataSelectionSquareWidth() * TGraphics.DATA_WIDTH, 
                 getDataSelectionSquareHeight() * TGraphics.DATA_HEIGHT,
                 false, 
                 false
             );
         }
-        if(shouldUseAdditiveBlending())
-        	batch.setBlendFunction(GL20.GL_SRC_ALPHA, GL20.GL_ONE_MINUS_SRC_ALPHA);
-        if (!batch.getColor().equals(Color.WHITE))
-            batch.setColor(Color.WHITE);
 	}
 }
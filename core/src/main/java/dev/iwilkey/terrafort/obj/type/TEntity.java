@@ -1,6 +1,8 @@
 package dev.iwilkey.terrafort.obj.type;
 
 import dev.iwilkey.terrafort.obj.runtime.TObjectRuntime;
+import dev.iwilkey.terrafort.persistent.TBinaryReader;
+import dev.iwilkey.terrafort.persistent.TBinaryWriter;
 
 /**
  * A more complex {@link TObject} with monitored health, tasks, and death functionality. This class serves as an abstract 
@@ -13,9 +15,9 @@ public abstract class TEntity extends TObject {
 	public transient static final int   HURT_TINT                 = 0xc41e3aff;
 	
 	/**
-	 * The unique serialization ID.
+	 * The version of this class' section in the binary format. Bump it when fields are added, and read them conditionally.
 	 */
-	private static final long serialVersionUID = -8577971047624033916L;
+	private static final int CODEC_VERSION = 1;
 	
 	/**
 	 * The original specified tint of the entity. Returns after any hurt/heal animation.
@@ -58,6 +60,7 @@ public abstract class TEntity extends TObject {
 	 * Deals a given amount of damage to the entity.
 	 */
 	public void hurt(int amount) {
+		markModified();
 		hurtTimer = 0.0f;
 		if(currentHealthPoints - amount <= 0) {
 			currentHealthPoints = 0;
@@ -66,6 +69,14 @@ public abstract class TEntity extends TObject {
 		currentHealthPoints -= amount;
 	}
 	
+	/**
+	 * An entity is idle once it is alive and done indicating a hurt or heal.
+	 */
+	@Override
+	public boolean isIdle() {
+		return super.isIdle() && currentHealthPoints > 0 && hurtTimer >= HURT_HEAL_ANIMATION_TIMER && healTimer >= HURT_HEAL_ANIMATION_TIMER;
+	}
+	
 	/**
 	 * Gives a given amount of health to the entity. Does not count as a heal if the health is already maxed out.
 	 */
@@ -74,6 +85,7 @@ public abstract class TEntity extends TObject {
 		if(currentHealthPoints == maxHealthPoints)
 			return;
 		// heal counts...
+		markModified();
 		healTimer = 0.0f;
 		if(currentHealthPoints + amount > maxHealthPoints) {
 			currentHealthPoints = maxHealthPoints;
@@ -100,4 +112,28 @@ public abstract class TEntity extends TObject {
 		}
 	}
 
+	@Override
+	public void write(final TBinaryWriter out) {
+		super.write(out);
+		out.beginSection(CODEC_VERSION);
+		out.putInt(naturalTint);
+		out.putInt(maxHealthPoints);
+		out.putInt(currentHealthPoints);
+		out.putFloat(hurtTimer);
+		out.putFloat(healTimer);
+		out.endSection();
+	}
+	
+	@Override
+	public void read(final TBinaryReader in) {
+		super.read(in);
+		in.beginSection();
+		naturalTint         = in.getInt();
+		maxHealthPoints     = in.getInt();
+		currentHealthPoints = in.getInt();
+		hurtTimer           = in.getFloat();
+		healTimer           = in.getFloat();
+		in.endSection();
+	}
+
 }
@@ -1,8 +1,9 @@
 package dev.iwilkey.terrafort.obj.type;
 
 import dev.iwilkey.terrafort.TAudio;
-import dev.iwilkey.terrafort.obj.particulate.TParticle;
 import dev.iwilkey.terrafort.obj.runtime.TObjectRuntime;
+import dev.iwilkey.terrafort.persistent.TBinaryReader;
+import dev.iwilkey.terrafort.persistent.TBinaryWriter;
 
 /**
  * A more complex {@link TEntity}. A resource is any object that is found in nature and can be harvested. This class serves as an abstract 
@@ -12,9 +13,9 @@ import dev.iwilkey.terrafort.obj.runtime.TObjectRuntime;
 public abstract class THarvestable extends TEntity {
 
 	/**
-	 * The unique serialization ID.
+	 * The version of this class' section in the binary format. Bump it when fields are added, and read them conditionally.
 	 */
-	private static final long serialVersionUID = -2287216980856761088L;
+	private static final int CODEC_VERSION = 1;
 	
 	/**
 	 * What are the color of the particles that are knocked off from this harvestable object?
@@ -48,15 +49,29 @@ public abstract class THarvestable extends TEntity {
 	 * Shakes the harvestable object; causes particles to fall off of it!
 	 */
 	public final void shake(final TObjectRuntime concrete) {
-		for(int i = 0; i < 1; i++)
-			concrete.getWorld().addObject(new TParticle(worldX, worldY + (colliderHeight * 2), debrisColor));
+		concrete.getWorld().getParticles().emit(worldX, worldY + (colliderHeight * 2), debrisColor, 1);
 		TAudio.playFx(getShakeSoundPath(), true);
 	}
 	
 	@Override
 	public void death(final TObjectRuntime concrete) {
-		for(int i = 0; i < getParticleCountAtDeath(); i++)
-			concrete.getWorld().addObject(new TParticle(worldX, worldY, debrisColor));
+		concrete.getWorld().getParticles().emit(worldX, worldY, debrisColor, getParticleCountAtDeath());
+	}
+
+	@Override
+	public void write(final TBinaryWriter out) {
+		super.write(out);
+		out.beginSection(CODEC_VERSION);
+		out.putInt(debrisColor);
+		out.endSection();
 	}
 	
-}	
+	@Override
+	public void read(final TBinaryReader in) {
+		super.read(in);
+		in.beginSection();
+		debrisColor = in.getInt();
+		in.endSection();
+	}
+
+}
@@ -1,13 +1,17 @@
 package dev.iwilkey.terrafort.obj.type;
 
-import java.io.Serializable;
-
 import com.badlogic.gdx.graphics.Color;
-import com.badlogic.gdx.math.Vector2;
 
 import dev.iwilkey.terrafort.gfx.TFrame;
 import dev.iwilkey.terrafort.math.TMath;
 import dev.iwilkey.terrafort.obj.runtime.TObjectRuntime;
+import dev.iwilkey.terrafort.persistent.TBinaryReader;
+import dev.iwilkey.terrafort.persistent.TBinaryWriter;
+import dev.iwilkey.terrafort.world.TSensor;
+import dev.iwilkey.terrafort.world.TWorld;
+import dev.iwilkey.terrafort.world.path.TPath;
+import dev.iwilkey.terrafort.world.path.TPathQuery;
+import dev.iwilkey.terrafort.world.path.TPathfinder;
 import dev.iwilkey.terrafort.world.terrain.TBiome;
 
 /**
@@ -15,7 +19,7 @@ import dev.iwilkey.terrafort.world.terrain.TBiome;
  * representation of the mob's state, rather than it's physical presence.
  * @author Ian Wilkey (iwilkey)
  */
-public abstract class TMob extends TEntity {
+public abstract class TMob extends TEntity implements TSensor.TListener {
 
 	/**
 	 * The only sheet that is allowed to render a {@link TMob}.
@@ -57,6 +61,23 @@ public abstract class TMob extends TEntity {
 	 */
 	private transient boolean isMovingPhysically;
 	
+	/**
+	 * Whether or not the animation frame is evaluated when the mob is ticked. Mobs out of view don't need one. Managed by the world.
+	 */
+	private transient boolean animated = true;
+	
+	/**
+	 * The answer of the last query submitted with senseLater(...). Doesn't need to be serialized.
+	 */
+	private transient TObject sensed = null;
+	
+	/**
+	 * The path being searched for, the path being followed and the tile of it the mob is heading to. Doesn't need to be serialized.
+	 */
+	private transient TPathQuery pathQuery = null;
+	private transient TPath      path      = null;
+	private transient int        waypoint  = 0;
+	
 	/**
 	 * Static section populates the animation arrays with the correct graphical mappings.
 	 */
@@ -81,16 +102,16 @@ public abstract class TMob extends TEntity {
 	 * The current state the {@link TMob} is in, which dictates what animation is playing.
 	 * @author Ian Wilkey (iwilkey)
 	 */
-	public enum TState implements Serializable {
+	public enum TState {
 		MOVING,
 		IDLE,
 		ACTION
 	}
 
 	/**
-	 * The unique serialization ID.
+	 * The version of this class' section in the binary format. Bump it when fields are added, and read them conditionally.
 	 */
-	private static final long serialVersionUID = -7159028835046881979L;
+	private static final int CODEC_VERSION = 1;
 	
 	/**
 	 * What is the current state of the mob?
@@ -150,7 +171,11 @@ public abstract class TMob extends TEntity {
 		movementProcedure(concrete, dt);
 		handleAction(concrete, dt);
 		handleMovementAndState(concrete);
-		handleAnimation(concrete, dt);
+		// an action still has to end when nobody sees it...
+		if(animated)
+			handleAnimation(concrete, dt);
+		else if(currentState == TState.ACTION)
+			progressAnimation(dt, ATTACK_ANIMATION_SEQUENCE.length);
 		isMovingPhysically = !concrete.getPhysical().getLinearVelocity().isZero(0.1f);
 	}
 	
@@ -211,48 +236,99 @@ public abstract class TMob extends TEntity {
 	}
 	
 	/**
-	 * Casts a ray with given length from the {@link TMob}s origin in the facing direction of the {@link TMob}. 
-	 * Returns the first object it collides with, null if none. This acts as a {@link TMob}s way to "sense" the physical
-	 * environment they exist in.
+	 * Returns the closest object, other than itself, within "length" world units of the {@link TMob}s origin in an arc around its facing 
+	 * direction; null if none. This acts as a {@link TMob}s way to "sense" the physical environment they exist in. The world is asked through 
+	 * its {@link TSensor}, so nothing is allocated and the physics engine isn't touched.
 	 * 
 	 * <p>
-	 * This function also requires a "fov" and "spread".
+	 * This function also requires a "foa" and "spread".
 	 * </p>
 	 * 
 	 * <p>
-	 * The "foa" stands for "Field of Attack" where every "spread" line will extend +- "foa" radians from the last one. 
-	 * This implies that, indeed, "spread" is the amount of rays to extend on each side of the center ray.
-	 * </p>
-	 * 
-	 * <p>
-	 * This method is optimized to return the first valid hit, so best case it wil only cast one center ray. Worst case, 
-	 * (spread * 2) + 1 rays will be casted, all in search for a colliding {@link TObject}.
+	 * The "foa" stands for "Field of Attack". The arc opens "spread" steps of "foa" radians to each side of the facing direction.
 	 * </p>
 	 */
 	public final TObject sense(final TObjectRuntime concrete, float length, float foa, int spread) {
-		int     cdir;
-		int     dx;
-		int     dy;
-		Vector2 origin;
-		Vector2 centerVec;
-		Vector2 supportVec;
-		float   supportAngle;
-		cdir      = facingDirection;
-		dx        = TMath.DX[cdir];
-		dy        = -TMath.DY[cdir];
-		origin    = new Vector2(worldX, worldY);
-		centerVec = origin.cpy().add(dx * length, dy * length);
-		for(int i = 0; i <= spread * 2; i++) {
-			supportAngle      = ((i & 1) == 0) ? foa * i : -foa * i;
-			supportVec        = centerVec.cpy().rotateAroundRad(origin, supportAngle);
-			final TObject res = concrete.ray(origin, supportVec);
-			// TGraphics.draw(new TLine(origin.x, origin.y, supportVec.x, supportVec.y));
-			if(res != null)
-				return res;
-		}
-		return null;
+		return concrete.getWorld().getSensor().sense(worldX, worldY, TMath.DX[facingDirection], -TMath.DY[facingDirection], length, foa * spread, this);
+	}
+	
+	/**
+	 * Same as sense(...), but the query is answered together with every other query of the frame once all mobs have ticked. The answer is 
+	 * handed to onSensed(tag, sensed); see getSensed(). Cheaper than sense(...) when many mobs sense every frame.
+	 */
+	public final void senseLater(final TObjectRuntime concrete, float length, float foa, int spread) {
+		concrete.getWorld().getSensor().submit(worldX, worldY, TMath.DX[facingDirection], -TMath.DY[facingDirection], length, foa * spread, this, this, 0);
+	}
+	
+	@Override
+	public void onSensed(int tag, TObject sensed) {
+		this.sensed = sensed;
+	}
+	
+	/**
+	 * The answer of the last query submitted with senseLater(...), null if none. The object may have left the world since.
+	 */
+	public final TObject getSensed() {
+		return sensed;
 	}
 
+	/**
+	 * Asks the world's {@link TPathfinder} for a path around water and obstacles from the mob to given world coordinates. The path is 
+	 * searched for in the background; followPath() starts following it once it's found. Replaces the path being followed, if any.
+	 */
+	public final void navigateTo(final TObjectRuntime concrete, float goalX, float goalY) {
+		stopNavigating();
+		pathQuery = concrete.getWorld().getPathfinder().request(worldX, worldY, goalX, goalY);
+	}
+	
+	/**
+	 * Steers the mob along its path with moveLeft(), moveRight(), moveUp() and moveDown(). Meant to be called from movementProcedure(...). 
+	 * Returns whether or not the mob is still navigating; false once it arrived, or if there is no path.
+	 */
+	public final boolean followPath() {
+		if(pathQuery != null) {
+			if(!pathQuery.isDone())
+				return true;
+			path      = pathQuery.getPath();
+			pathQuery = null;
+			waypoint  = 0;
+		}
+		if(path == null)
+			return false;
+		final float arrived = TWorld.TILE_SIZE / 4f;
+		while(waypoint < path.getLength() && Math.abs(path.getWorldX(waypoint) - worldX) <= arrived && Math.abs(path.getWorldY(waypoint) - worldY) <= arrived)
+			waypoint++;
+		if(waypoint == path.getLength()) {
+			path = null;
+			return false;
+		}
+		final float dx = path.getWorldX(waypoint) - worldX;
+		final float dy = path.getWorldY(waypoint) - worldY;
+		if(dx > arrived)       moveRight();
+		else if(dx < -arrived) moveLeft();
+		if(dy > arrived)       moveUp();
+		else if(dy < -arrived) moveDown();
+		return true;
+	}
+	
+	/**
+	 * Stops following, or waiting for, a path.
+	 */
+	public final void stopNavigating() {
+		if(pathQuery != null)
+			pathQuery.cancel();
+		pathQuery = null;
+		path      = null;
+		waypoint  = 0;
+	}
+	
+	/**
+	 * Whether or not the mob is following, or waiting for, a path.
+	 */
+	public final boolean isNavigating() {
+		return pathQuery != null || path != null;
+	}
+	
 	/**
 	 * Handles the process of interacting.
 	 */
@@ -355,6 +431,13 @@ public abstract class TMob extends TEntity {
 		return currentTerrainLevel == TBiome.WATER_LEVEL;
 	}
 	
+	/**
+	 * Sets whether or not the animation frame is evaluated when the mob is ticked.
+	 */
+	public final void setAnimated(boolean animated) {
+		this.animated = animated;
+	}
+	
 	/**
 	 * Returns if the mob is currently moving.
 	 */
@@ -401,4 +484,49 @@ public abstract class TMob extends TEntity {
 			animationTimer         = 0.0f;
 		}
 	}
+
+	@Override
+	public void write(final TBinaryWriter out) {
+		super.write(out);
+		out.beginSection(CODEC_VERSION);
+		out.putByte(currentState.ordinal());
+		out.putFloat(regularHeight);
+		out.putInt(facingDirection);
+		out.putFloat(potentialMoveSpeed);
+		out.putFloat(waterMovementMultiplier);
+		out.putFloat(potentialMoveSpeedMultiplier);
+		out.putInt(clothingColor);
+		out.putFloat(actionCooldown);
+		out.putFloat(actionTimer);
+		out.putFloat(movementVectorX);
+		out.putFloat(movementVectorY);
+		out.putFloat(animationTimer);
+		out.putFloat(animationTargetFrameRate);
+		out.putInt(animationSequenceIndex);
+		out.putInt(arrayFrame);
+		out.endSection();
+	}
+	
+	@Override
+	public void read(final TBinaryReader in) {
+		super.read(in);
+		in.beginSection();
+		currentState                 = TState.values()[in.getByte()];
+		regularHeight                = in.getFloat();
+		facingDirection              = in.getInt();
+		potentialMoveSpeed           = in.getFloat();
+		waterMovementMultiplier      = in.getFloat();
+		potentialMoveSpeedMultiplier = in.getFloat();
+		clothingColor                = in.getInt();
+		actionCooldown               = in.getFloat();
+		actionTimer                  = in.getFloat();
+		movementVectorX              = in.getFloat();
+		movementVectorY              = in.getFloat();
+		animationTimer               = in.getFloat();
+		animationTargetFrameRate     = in.getFloat();
+		animationSequenceIndex       = in.getInt();
+		arrayFrame                   = in.getInt();
+		in.endSection();
+	}
+
 }
@@ -1,13 +1,11 @@
 package dev.iwilkey.terrafort.obj.type;
 
-import java.io.Serializable;
-
-import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.math.Vector2;
 
 import dev.iwilkey.terrafort.gfx.TGraphics;
-import dev.iwilkey.terrafort.math.TMath;
 import dev.iwilkey.terrafort.obj.runtime.TObjectRuntime;
+import dev.iwilkey.terrafort.persistent.TBinaryReader;
+import dev.iwilkey.terrafort.persistent.TBinaryWriter;
 import dev.iwilkey.terrafort.world.TChunk;
 import dev.iwilkey.terrafort.world.TWorld;
 
@@ -16,7 +14,7 @@ import dev.iwilkey.terrafort.world.TWorld;
  * than it's physical presence.
  * @author Ian Wilkey (iwilkey)
  */
-public abstract class TObject implements Serializable {
+public abstract class TObject {
 	
 	/**
 	 * The current chunk jurisdiction the object exists in. Managed internally; doesn't need to be serialized.
@@ -39,9 +37,25 @@ public abstract class TObject implements Serializable {
 	public transient int currentTileY;
 	
 	/**
-	 * The unique serialization ID.
+	 * Whether or not the persistent state of the object changed since its chunk was last saved. Managed internally; doesn't need to be serialized.
+	 */
+	private transient boolean modified;
+	
+	/**
+	 * Whether or not this object is an untouched decoration placed by the chunk generator. Procedural objects are recreated from the world
+	 * seed and never saved. Managed by the chunk that holds it; doesn't need to be serialized.
+	 */
+	private transient boolean procedural;
+	
+	/**
+	 * The runtime that last simulated this object, if any. Managed by {@link TObjectRuntime}; doesn't need to be serialized.
+	 */
+	private transient TObjectRuntime runtime;
+	
+	/**
+	 * The version of this class' section in the binary format. Bump it when fields are added, and read them conditionally.
 	 */
-	private static final long serialVersionUID = -1704547445757768378L;
+	private static final int CODEC_VERSION = 1;
 	
 	/**
 	 * What is this object called?
@@ -153,6 +167,61 @@ public abstract class TObject implements Serializable {
 	 */
 	public boolean isSensor;
 	
+	/**
+	 * Indicates that the persistent state of this object changed, so the chunk that holds it has to be saved again.
+	 */
+	public final void markModified() {
+		modified = true;
+		wake();
+	}
+	
+	/**
+	 * Whether or not the object has nothing to do until something happens to it. An idle object stops being ticked until it is woken up by a
+	 * hit, a contact, a change of its state or a timer; see wake(). Static objects are idle by default. Objects that must be ticked to do 
+	 * their work while nothing happens to them must override this.
+	 */
+	public boolean isIdle() {
+		return !isDynamic && !definesOwnPhysics;
+	}
+	
+	/**
+	 * Makes the runtime of this object tick again if it was put to sleep because the object was idle. Does nothing otherwise.
+	 */
+	public final void wake() {
+		if(runtime != null)
+			runtime.wake();
+	}
+	
+	/**
+	 * Binds this object to the runtime that simulates it. Only {@link TObjectRuntime} should call this.
+	 */
+	public final void bind(TObjectRuntime runtime) {
+		this.runtime = runtime;
+	}
+	
+	/**
+	 * Whether or not this object is an untouched decoration placed by the chunk generator.
+	 */
+	public final boolean isProcedural() {
+		return procedural;
+	}
+	
+	/**
+	 * Sets whether or not this object is an untouched decoration placed by the chunk generator. Only the chunk that holds it should call this.
+	 */
+	public final void setProcedural(boolean procedural) {
+		this.procedural = procedural;
+	}
+	
+	/**
+	 * Returns whether or not the object was modified since the last call, and resets the flag.
+	 */
+	public final boolean consumeModified() {
+		final boolean m = modified;
+		modified        = false;
+		return m;
+	}
+	
 	/**
 	 * Called every frame it is active in the game world.
 	 */
@@ -165,15 +234,17 @@ public abstract class TObject implements Serializable {
 	 */
 	private void handleTransform(final TObjectRuntime concrete) {
 		if(!definesOwnPhysics) {
-			// Abstract follows simulated physical implementation.
-			worldX          = concrete.getPhysical().getPosition().x;
-			worldY          = concrete.getPhysical().getPosition().y;
+			// Abstract follows simulated physical implementation. A shared body isn't positioned at this object, but it never moves either...
+			if(!concrete.sharesBody()) {
+				worldX          = concrete.getPhysical().getPosition().x;
+				worldY          = concrete.getPhysical().getPosition().y;
+				rotationRadians = (float)concrete.getPhysical().getAngle();
+			}
 			if(this instanceof TMob)
-				refuseGraphicalArtifacts();
-			rotationRadians = (float)concrete.getPhysical().getAngle();
+				refuseGraphicalArtifacts(concrete);
 		} else {
 			if(this instanceof TMob)
-				refuseGraphicalArtifacts();
+				refuseGraphicalArtifacts(concrete);
 			// Forces the physical representation of the object to follow this abstract one.
 			concrete.getPhysical().setTransform(new Vector2(worldX, worldY), rotationRadians);
 		}
@@ -220,28 +291,79 @@ public abstract class TObject implements Serializable {
 	 * Returns the position hash of the chunk that should have jurisdiction of the object.
 	 */
 	private void calculateChunkJurisdiction(final TObjectRuntime concrete) {
-		final int chunkX         = currentTileX / TChunk.CHUNK_SIZE;
-		final int chunkY         = currentTileY / TChunk.CHUNK_SIZE;
-		currentChunkJurisdiction = (((long)chunkX) << 32) | (chunkY & 0xffffffffL);
+		currentChunkJurisdiction = TChunk.positionHash(TChunk.tileToChunk(currentTileX), TChunk.tileToChunk(currentTileY));
 	}
 	
 	/**
 	 * Algorithm to snap the true position of the object to the camera such that graphical artifacts are
-	 * avoided.
-	 */
-	private void refuseGraphicalArtifacts() {
-		float z                            = TGraphics.CAMERA_ZOOM.getTarget();
-	    float effectivePixelsPerUnit       = 1f / z;
-	    float screenWidthInWorldUnits      = Gdx.graphics.getWidth() / effectivePixelsPerUnit;
-	    float screenHeightInWorldUnits     = Gdx.graphics.getHeight() / effectivePixelsPerUnit;
-	    float halfScreenWidthInWorldUnits  = screenWidthInWorldUnits / 2f;
-	    float halfScreenHeightInWorldUnits = screenHeightInWorldUnits / 2f;
-	    float x                            = worldX;
-	    float y                            = worldY;
-	    float rx                           = TMath.roundTo(x + halfScreenWidthInWorldUnits, effectivePixelsPerUnit) - halfScreenWidthInWorldUnits;
-	    float ry                           = TMath.roundTo(y + halfScreenHeightInWorldUnits, effectivePixelsPerUnit) - halfScreenHeightInWorldUnits;
-	    worldX                             = rx;
-	    worldY                             = ry;
+	 * avoided. Headless worlds have no camera, so nothing is snapped.
+	 */
+	private void refuseGraphicalArtifacts(final TObjectRuntime concrete) {
+		if(concrete.getWorld().isHeadless())
+			return;
+	    worldX = TGraphics.snapToPixelX(worldX);
+	    worldY = TGraphics.snapToPixelY(worldY);
+	}
+
+	/**
+	 * Writes the persistent state of this object. Subclasses with persistent fields must call super.write(out) first and then write
+	 * their own section.
+	 */
+	public void write(final TBinaryWriter out) {
+		out.beginSection(CODEC_VERSION);
+		out.putString(name);
+		out.putString(spriteSheet);
+		out.putFloat(worldX);
+		out.putFloat(worldY);
+		out.putFloat(colliderOffX);
+		out.putFloat(colliderOffY);
+		out.putFloat(worldWidth);
+		out.putFloat(worldHeight);
+		out.putFloat(colliderWidth);
+		out.putFloat(colliderHeight);
+		out.putFloat(rotationRadians);
+		out.putFloat(mass);
+		out.putInt(dataX);
+		out.putInt(dataY);
+		out.putInt(dataWidth);
+		out.putInt(dataHeight);
+		out.putInt(tint);
+		out.putInt(depth);
+		out.putBoolean(shouldUseAdditiveBlending);
+		out.putBoolean(definesOwnPhysics);
+		out.putBoolean(isDynamic);
+		out.putBoolean(isSensor);
+		out.endSection();
 	}
 	
+	/**
+	 * Reads the persistent state of this object, written by write(out). Subclasses must call super.read(in) first.
+	 */
+	public void read(final TBinaryReader in) {
+		in.beginSection();
+		name                      = in.getString();
+		spriteSheet               = in.getString();
+		worldX                    = in.getFloat();
+		worldY                    = in.getFloat();
+		colliderOffX              = in.getFloat();
+		colliderOffY              = in.getFloat();
+		worldWidth                = in.getFloat();
+		worldHeight               = in.getFloat();
+		colliderWidth             = in.getFloat();
+		colliderHeight            = in.getFloat();
+		rotationRadians           = in.getFloat();
+		mass                      = in.getFloat();
+		dataX                     = in.getInt();
+		dataY                     = in.getInt();
+		dataWidth                 = in.getInt();
+		dataHeight                = in.getInt();
+		tint                      = in.getInt();
+		depth                     = in.getInt();
+		shouldUseAdditiveBlending = in.getBoolean();
+		definesOwnPhysics         = in.getBoolean();
+		isDynamic                 = in.getBoolean();
+		isSensor                  = in.getBoolean();
+		in.endSection();
+	}
+
 }
@@ -1,6 +1,8 @@
 package dev.iwilkey.terrafort.obj.type;
 
 import dev.iwilkey.terrafort.obj.runtime.TObjectRuntime;
+import dev.iwilkey.terrafort.persistent.TBinaryReader;
+import dev.iwilkey.terrafort.persistent.TBinaryWriter;
 
 /**
  * A dynamic physical object that manages it's own life.
@@ -8,9 +10,9 @@ import dev.iwilkey.terrafort.obj.runtime.TObjectRuntime;
 public abstract class TParticulate extends TObject {
 
 	/**
-	 * The unique serialization ID.
+	 * The version of this class' section in the binary format. Bump it when fields are added, and read them conditionally.
 	 */
-	private static final long serialVersionUID = 2813724865705656199L;
+	private static final int CODEC_VERSION = 1;
 	
 	/**
 	 * How long is this particulate allowed to be active?
@@ -95,4 +97,26 @@ public abstract class TParticulate extends TObject {
 		return done;
 	}
 
+	@Override
+	public void write(final TBinaryWriter out) {
+		super.write(out);
+		out.beginSection(CODEC_VERSION);
+		out.putFloat(lifespan);
+		out.putFloat(aliveTime);
+		out.putBoolean(shouldFade);
+		out.putBoolean(done);
+		out.endSection();
+	}
+	
+	@Override
+	public void read(final TBinaryReader in) {
+		super.read(in);
+		in.beginSection();
+		lifespan   = in.getFloat();
+		aliveTime  = in.getFloat();
+		shouldFade = in.getBoolean();
+		done       = in.getBoolean();
+		in.endSection();
+	}
+
 }
@@ -0,0 +1,110 @@
+package dev.iwilkey.terrafort.persistent;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reads Terrafort persistent data written by a {@link TBinaryWriter} out of a {@link ByteBuffer}.
+ * @author Ian Wilkey (iwilkey)
+ */
+public final class TBinaryReader {
+
+	private final ByteBuffer buffer;
+	private int              sectionEnd = -1;
+	
+	/**
+	 * Creates a reader over the whole given array.
+	 */
+	public TBinaryReader(byte[] data) {
+		buffer = ByteBuffer.wrap(data);
+	}
+	
+	/**
+	 * Starts reading a section and returns the version it was written with.
+	 */
+	public int beginSection() {
+		if(sectionEnd != -1)
+			throw new IllegalStateException("[Terrafort Game Engine] A binary section was started before the previous one ended.");
+		final int version = getByte() & 0xff;
+		final int length  = getShort() & 0xffff;
+		sectionEnd        = buffer.position() + length;
+		return version;
+	}
+	
+	/**
+	 * Ends the current section, skipping any fields in it that weren't read, such as ones written by a newer version.
+	 */
+	public void endSection() {
+		if(sectionEnd == -1)
+			throw new IllegalStateException("[Terrafort Game Engine] A binary section was ended but never started.");
+		buffer.position(sectionEnd);
+		sectionEnd = -1;
+	}
+	
+	public byte getByte() {
+		return buffer.get();
+	}
+	
+	public boolean getBoolean() {
+		return buffer.get() != 0;
+	}
+	
+	public short getShort() {
+		return buffer.getShort();
+	}
+	
+	public int getInt() {
+		return buffer.getInt();
+	}
+	
+	public long getLong() {
+		return buffer.getLong();
+	}
+	
+	public float getFloat() {
+		return buffer.getFloat();
+	}
+	
+	public void getBytes(byte[] into) {
+		buffer.get(into);
+	}
+	
+	public void getLongs(long[] into) {
+		for(int i = 0; i < into.length; i++)
+			into[i] = buffer.getLong();
+	}
+	
+	/**
+	 * Reads a string written with {@link TBinaryWriter}.putString(value). May return null.
+	 */
+	public String getString() {
+		final int length = buffer.getShort();
+		if(length < 0)
+			return null;
+		final String value = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length, StandardCharsets.UTF_8);
+		buffer.position(buffer.position() + length);
+		return value;
+	}
+	
+	/**
+	 * The current read position, in bytes.
+	 */
+	public int position() {
+		return buffer.position();
+	}
+	
+	/**
+	 * Moves the read position to given absolute position.
+	 */
+	public void position(int position) {
+		buffer.position(position);
+	}
+	
+	/**
+	 * Whether or not there is anything left to read.
+	 */
+	public boolean hasRemaining() {
+		return buffer.hasRemaining();
+	}
+	
+}
@@ -0,0 +1,153 @@
+package dev.iwilkey.terrafort.persistent;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A growable {@link ByteBuffer} that Terrafort persistent data is written to in an explicit binary format. Data is split into sections; 
+ * every section starts with a version and the length of its contents so that a {@link TBinaryReader} can skip fields it doesn't know about.
+ * @author Ian Wilkey (iwilkey)
+ */
+public final class TBinaryWriter {
+
+	/**
+	 * The amount of bytes a section header takes; a version byte and an unsigned short length.
+	 */
+	public static final int SECTION_HEADER_BYTES = Byte.BYTES + Short.BYTES;
+	
+	private ByteBuffer buffer;
+	private int        sectionStart = -1;
+	
+	/**
+	 * Creates a new writer with given initial capacity, in bytes.
+	 */
+	public TBinaryWriter(int initialCapacity) {
+		buffer = ByteBuffer.allocate(Math.max(16, initialCapacity));
+	}
+	
+	/**
+	 * Starts a new section with given version. Sections can't be nested.
+	 */
+	public void beginSection(int version) {
+		if(sectionStart != -1)
+			throw new IllegalStateException("[Terrafort Game Engine] A binary section was started before the previous one ended.");
+		putByte(version);
+		sectionStart = buffer.position();
+		putShort(0);
+	}
+	
+	/**
+	 * Ends the current section, writing its length into its header.
+	 */
+	public void endSection() {
+		if(sectionStart == -1)
+			throw new IllegalStateException("[Terrafort Game Engine] A binary section was ended but never started.");
+		final int length = buffer.position() - sectionStart - Short.BYTES;
+		if(length > 0xffff)
+			throw new IllegalStateException("[Terrafort Game Engine] A binary section can't be larger than 65535 bytes!");
+		buffer.putShort(sectionStart, (short)length);
+		sectionStart = -1;
+	}
+	
+	public void putByte(int value) {
+		ensure(Byte.BYTES);
+		buffer.put((byte)value);
+	}
+	
+	public void putBoolean(boolean value) {
+		putByte(value ? 1 : 0);
+	}
+	
+	public void putShort(int value) {
+		ensure(Short.BYTES);
+		buffer.putShort((short)value);
+	}
+	
+	public void putInt(int value) {
+		ensure(Integer.BYTES);
+		buffer.putInt(value);
+	}
+	
+	/**
+	 * Overwrites an int at given absolute position. Used to patch lengths after the fact.
+	 */
+	public void putInt(int position, int value) {
+		buffer.putInt(position, value);
+	}
+	
+	public void putLong(long value) {
+		ensure(Long.BYTES);
+		buffer.putLong(value);
+	}
+	
+	public void putFloat(float value) {
+		ensure(Float.BYTES);
+		buffer.putFloat(value);
+	}
+	
+	public void putBytes(byte[] value) {
+		ensure(value.length);
+		buffer.put(value);
+	}
+	
+	public void putLongs(long[] value) {
+		ensure(value.length * Long.BYTES);
+		for(final long l : value)
+			buffer.putLong(l);
+	}
+	
+	/**
+	 * Writes a length prefixed UTF-8 string. Null is written as a length of -1.
+	 */
+	public void putString(String value) {
+		if(value == null) {
+			putShort(-1);
+			return;
+		}
+		final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		if(bytes.length >= Short.MAX_VALUE)
+			throw new IllegalArgumentException("[Terrafort Game Engine] Strings written to a binary stream must be shorter than " + Short.MAX_VALUE + " bytes!");
+		putShort(bytes.length);
+		putBytes(bytes);
+	}
+	
+	/**
+	 * The current write position, in bytes.
+	 */
+	public int position() {
+		return buffer.position();
+	}
+	
+	/**
+	 * Discards everything written so far. The allocated capacity is kept.
+	 */
+	public void reset() {
+		buffer.clear();
+		sectionStart = -1;
+	}
+	
+	/**
+	 * Copies everything written so far into a new array.
+	 */
+	public byte[] toByteArray() {
+		final byte[] out = new byte[buffer.position()];
+		System.arraycopy(buffer.array(), 0, out, 0, out.length);
+		return out;
+	}
+	
+	/**
+	 * Makes sure there is room for given amount of bytes, doubling the capacity as needed.
+	 */
+	private void ensure(int bytes) {
+		if(buffer.remaining() >= bytes)
+			return;
+		int capacity = buffer.capacity() * 2;
+		while(capacity - buffer.position() < bytes)
+			capacity *= 2;
+		final ByteBuffer grown = ByteBuffer.allocate(capacity);
+		buffer.flip();
+		grown.put(buffer);
+		buffer = grown;
+	}
+	
+}
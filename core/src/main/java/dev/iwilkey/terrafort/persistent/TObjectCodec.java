@@ -0,0 +1,81 @@
+package dev.iwilkey.terrafort.persistent;
+
+import java.util.HashMap;
+import java.util.function.Supplier;
+
+import dev.iwilkey.terrafort.obj.harvestable.TBush;
+import dev.iwilkey.terrafort.obj.harvestable.TFlowers;
+import dev.iwilkey.terrafort.obj.harvestable.TTree;
+import dev.iwilkey.terrafort.obj.mob.TPlayer;
+import dev.iwilkey.terrafort.obj.type.TObject;
+
+/**
+ * An engine module that writes and reads {@link TObject}s in an explicit, versioned binary format. Every concrete type is registered
+ * with a stable type id and a factory. A record is the type id, the length of the payload, and the payload written by the object's 
+ * write(out) method, so records of unknown types can be skipped.
+ * 
+ * <p>
+ * Type ids must never be reused or changed once they have shipped, or old worlds will read the wrong type.
+ * </p>
+ * @author Ian Wilkey (iwilkey)
+ */
+public final class TObjectCodec {
+	
+	private static final HashMap<Class<? extends TObject>, Integer> TYPE_IDS  = new HashMap<>();
+	private static final HashMap<Integer, Supplier<TObject>>        FACTORIES = new HashMap<>();
+	
+	static {
+		register(1, TPlayer.class,  () -> new TPlayer());
+		register(2, TTree.class,    () -> new TTree(0, 0));
+		register(3, TBush.class,    () -> new TBush(0, 0));
+		register(4, TFlowers.class, () -> new TFlowers(0, 0));
+		// 5 was TParticle; particles are no longer objects nor saved, so its old records are skipped.
+	}
+	
+	/**
+	 * Registers a concrete {@link TObject} type with given type id. The factory only needs to create a blank instance; every persistent
+	 * field is overwritten by read(in).
+	 */
+	public static void register(int typeId, Class<? extends TObject> type, Supplier<TObject> factory) {
+		if(typeId <= 0 || typeId > Short.MAX_VALUE)
+			throw new IllegalArgumentException("[Terrafort Game Engine] TObject type ids must be in the interval [1, " + Short.MAX_VALUE + "].");
+		if(FACTORIES.containsKey(typeId))
+			throw new IllegalArgumentException("[Terrafort Game Engine] The TObject type id " + typeId + " is already registered!");
+		TYPE_IDS.put(type, typeId);
+		FACTORIES.put(typeId, factory);
+	}
+	
+	/**
+	 * Writes one object record.
+	 */
+	public static void write(TBinaryWriter out, TObject object) {
+		final Integer typeId = TYPE_IDS.get(object.getClass());
+		if(typeId == null)
+			throw new IllegalArgumentException("[Terrafort Game Engine] " + object.getClass().getSimpleName() + " isn't registered with the TObjectCodec!");
+		out.putShort(typeId);
+		final int lengthAt = out.position();
+		out.putInt(0);
+		object.write(out);
+		out.putInt(lengthAt, out.position() - lengthAt - Integer.BYTES);
+	}
+	
+	/**
+	 * Reads one object record. Returns null, after skipping the record, if its type isn't known.
+	 */
+	public static TObject read(TBinaryReader in) {
+		final int               typeId  = in.getShort();
+		final int               length  = in.getInt();
+		final int               end     = in.position() + length;
+		final Supplier<TObject> factory = FACTORIES.get(typeId);
+		if(factory == null) {
+			System.out.println("[TerrafortPersistent] Skipping object of unknown type id " + typeId);
+			in.position(end);
+			return null;
+		}
+		final TObject object = factory.get();
+		object.read(in);
+		in.position(end);
+		return object;
+	}
+	
+}
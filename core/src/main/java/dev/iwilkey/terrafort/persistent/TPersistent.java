@@ -7,6 +7,8 @@ import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.Serializable;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.files.FileHandle;
@@ -57,6 +59,18 @@ public final class TPersistent {
 		return handle.exists();
 	}
 	
+	/**
+	 * Deletes a file or directory, and everything in it, from the Terrafort persistent file structure. Does nothing if it doesn't exist.
+	 */
+	public static void delete(String path) {
+		final FileHandle handle = Gdx.files.local(ROOT + path);
+		if(!handle.exists())
+			return;
+		if(handle.isDirectory())
+			handle.deleteDirectory();
+		else handle.delete();
+	}
+	
 	/**
 	 * Save a {@link TSerializable} object to the persistent data directory with path given.
 	 */
@@ -88,4 +102,27 @@ public final class TPersistent {
 		return null;
 	}
 	
+	/**
+	 * Writes raw bytes to the persistent data directory with path given.
+	 */
+	public static void saveBytes(byte[] data, String path) {
+		try(final FileOutputStream fos = new FileOutputStream(ROOT + path)) {
+			fos.write(data);
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
+	}
+	
+	/**
+	 * Reads raw bytes from persistent memory with path given. Returns null if they couldn't be read.
+	 */
+	public static byte[] loadBytes(String path) {
+		try {
+			return Files.readAllBytes(Paths.get(ROOT + path));
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
+		return null;
+	}
+	
 }
@@ -0,0 +1,149 @@
+package dev.iwilkey.terrafort.persistent;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.BitSet;
+
+import com.badlogic.gdx.utils.Disposable;
+
+/**
+ * A single file on disk that holds the persistent data of a square group of chunks, REGION_SIZE x REGION_SIZE. The file starts with an
+ * offset table that points every chunk to its record. Records are stored in fixed-size sectors, so a chunk can be rewritten in place
+ * without touching the rest of the file.
+ * @author Ian Wilkey (iwilkey)
+ */
+public final class TRegionFile implements Disposable {
+
+	/**
+	 * The amount of chunks along one side of a region.
+	 */
+	public static final int  REGION_SIZE    = 32;
+
+	/**
+	 * The amount of bytes in one sector.
+	 */
+	public static final int  SECTOR_SIZE    = 512;
+
+	private static final int ENTRIES        = REGION_SIZE * REGION_SIZE;
+	private static final int ENTRY_BYTES    = Integer.BYTES * 2;
+	private static final int HEADER_SECTORS = (ENTRIES * ENTRY_BYTES) / SECTOR_SIZE;
+
+	private final RandomAccessFile file;
+	private final int[]            sectorOffsets;
+	private final int[]            byteLengths;
+	private final BitSet           usedSectors;
+
+	/**
+	 * Opens, or creates, the region file at given path of the persistent directory.
+	 */
+	public TRegionFile(String path) throws IOException {
+		file          = new RandomAccessFile(TPersistent.ROOT + path, "rw");
+		sectorOffsets = new int[ENTRIES];
+		byteLengths   = new int[ENTRIES];
+		usedSectors   = new BitSet();
+		usedSectors.set(0, HEADER_SECTORS);
+		if(file.length() < (long)HEADER_SECTORS * SECTOR_SIZE) {
+			file.setLength((long)HEADER_SECTORS * SECTOR_SIZE);
+			return;
+		}
+		file.seek(0);
+		for(int i = 0; i < ENTRIES; i++) {
+			sectorOffsets[i] = file.readInt();
+			byteLengths[i]   = file.readInt();
+			if(sectorOffsets[i] != 0)
+				usedSectors.set(sectorOffsets[i], sectorOffsets[i] + sectorsFor(byteLengths[i]));
+		}
+	}
+
+	/**
+	 * Whether or not the region holds a record for the chunk at given local coordinates.
+	 */
+	public boolean contains(int localX, int localY) {
+		return sectorOffsets[index(localX, localY)] != 0;
+	}
+
+	/**
+	 * Reads the record of the chunk at given local coordinates. Returns null if there is none.
+	 */
+	public byte[] read(int localX, int localY) throws IOException {
+		final int i = index(localX, localY);
+		if(sectorOffsets[i] == 0)
+			return null;
+		final byte[] data = new byte[byteLengths[i]];
+		file.seek((long)sectorOffsets[i] * SECTOR_SIZE);
+		file.readFully(data);
+		return data;
+	}
+
+	/**
+	 * Writes the record of the chunk at given local coordinates. The old record is overwritten in place if the new one fits in its
+	 * sectors; otherwise the first free run of sectors large enough is used.
+	 */
+	public void write(int localX, int localY, byte[] data) throws IOException {
+		final int i      = index(localX, localY);
+		final int needed = sectorsFor(data.length);
+		int       offset = sectorOffsets[i];
+		if(offset != 0) {
+			final int current = sectorsFor(byteLengths[i]);
+			usedSectors.clear(offset, offset + current);
+			if(needed > current)
+				offset = findFreeRun(needed);
+		} else offset = findFreeRun(needed);
+		usedSectors.set(offset, offset + needed);
+		file.seek((long)offset * SECTOR_SIZE);
+		file.write(data);
+		sectorOffsets[i] = offset;
+		byteLengths[i]   = data.length;
+		file.seek((long)i * ENTRY_BYTES);
+		file.writeInt(offset);
+		file.writeInt(data.length);
+	}
+
+	/**
+	 * Removes the record of the chunk at given local coordinates, if there is one. Its sectors are free to be reused.
+	 */
+	public void delete(int localX, int localY) throws IOException {
+		final int i = index(localX, localY);
+		if(sectorOffsets[i] == 0)
+			return;
+		usedSectors.clear(sectorOffsets[i], sectorOffsets[i] + sectorsFor(byteLengths[i]));
+		sectorOffsets[i] = 0;
+		byteLengths[i]   = 0;
+		file.seek((long)i * ENTRY_BYTES);
+		file.writeInt(0);
+		file.writeInt(0);
+	}
+
+	/**
+	 * Returns the first sector of a run of free sectors of given length. May be at the end of the file.
+	 */
+	private int findFreeRun(int length) {
+		int start = usedSectors.nextClearBit(HEADER_SECTORS);
+		while(true) {
+			final int end = usedSectors.nextSetBit(start);
+			if(end == -1 || end - start >= length)
+				return start;
+			start = usedSectors.nextClearBit(end);
+		}
+	}
+
+	private static int sectorsFor(int bytes) {
+		return Math.max(1, (bytes + SECTOR_SIZE - 1) / SECTOR_SIZE);
+	}
+
+	private static int index(int localX, int localY) {
+		if(localX < 0 || localX >= REGION_SIZE || localY < 0 || localY >= REGION_SIZE)
+			throw new IllegalArgumentException("[Terrafort Game Engine] Local region coordinates (" + localX + ", " + localY + ") are out of bounds!");
+		return localY * REGION_SIZE + localX;
+	}
+
+	@Override
+	public void dispose() {
+		try {
+			file.close();
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
+	}
+
+}
@@ -0,0 +1,102 @@
+package dev.iwilkey.terrafort.persistent;
+
+import java.io.IOException;
+import java.util.HashMap;
+
+import com.badlogic.gdx.utils.Disposable;
+
+/**
+ * Reads and writes chunk records across the {@link TRegionFile}s of one world directory. Region files are opened on first use and kept
+ * open until the store is disposed. Regions that don't exist on disk are never created by a read. Every access is synchronized, since
+ * records are read on the {@link dev.iwilkey.terrafort.world.TChunkGenerator} workers while the render thread writes them.
+ * @author Ian Wilkey (iwilkey)
+ */
+public final class TRegionStore implements Disposable {
+
+	private final String                     directory;
+	private final HashMap<Long, TRegionFile> regions;
+
+	/**
+	 * Creates a store for region files in given directory of the persistent directory.
+	 */
+	public TRegionStore(String directory) {
+		this.directory = (directory.charAt(directory.length() - 1) == '/') ? directory : directory + '/';
+		regions        = new HashMap<>();
+	}
+
+	/**
+	 * Reads the record of the chunk at given chunk coordinates. Returns null if it was never written.
+	 */
+	public synchronized byte[] read(int chunkX, int chunkY) {
+		final TRegionFile region = getRegion(chunkX, chunkY, false);
+		if(region == null)
+			return null;
+		try {
+			return region.read(Math.floorMod(chunkX, TRegionFile.REGION_SIZE), Math.floorMod(chunkY, TRegionFile.REGION_SIZE));
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
+		return null;
+	}
+
+	/**
+	 * Writes the record of the chunk at given chunk coordinates.
+	 */
+	public synchronized void write(int chunkX, int chunkY, byte[] data) {
+		final TRegionFile region = getRegion(chunkX, chunkY, true);
+		if(region == null)
+			return;
+		try {
+			region.write(Math.floorMod(chunkX, TRegionFile.REGION_SIZE), Math.floorMod(chunkY, TRegionFile.REGION_SIZE), data);
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
+	}
+
+	/**
+	 * Removes the record of the chunk at given chunk coordinates, if there is one. Never creates a region.
+	 */
+	public synchronized void delete(int chunkX, int chunkY) {
+		final TRegionFile region = getRegion(chunkX, chunkY, false);
+		if(region == null)
+			return;
+		try {
+			region.delete(Math.floorMod(chunkX, TRegionFile.REGION_SIZE), Math.floorMod(chunkY, TRegionFile.REGION_SIZE));
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
+	}
+
+	/**
+	 * Returns the open region that holds the chunk at given chunk coordinates. A missing region is only created if "create" is true;
+	 * otherwise null is returned.
+	 */
+	private TRegionFile getRegion(int chunkX, int chunkY, boolean create) {
+		final int         regionX = Math.floorDiv(chunkX, TRegionFile.REGION_SIZE);
+		final int         regionY = Math.floorDiv(chunkY, TRegionFile.REGION_SIZE);
+		final long        key     = (((long)regionX) << 32) | (regionY & 0xffffffffL);
+		final TRegionFile open    = regions.get(key);
+		if(open != null)
+			return open;
+		final String path = directory + "r." + regionX + "." + regionY + ".dat";
+		if(!create && !TPersistent.pathExists(path))
+			return null;
+		TPersistent.establish(directory, false);
+		try {
+			final TRegionFile region = new TRegionFile(path);
+			regions.put(key, region);
+			return region;
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
+		return null;
+	}
+
+	@Override
+	public synchronized void dispose() {
+		for(final TRegionFile region : regions.values())
+			region.dispose();
+		regions.clear();
+	}
+
+}
@@ -10,7 +10,6 @@ import dev.iwilkey.terrafort.gui.interfaces.TSettingsInterface;
 import dev.iwilkey.terrafort.gui.interfaces.TGameStateInterface;
 import dev.iwilkey.terrafort.gui.interfaces.TKnowledgeBarInterface;
 import dev.iwilkey.terrafort.gui.interfaces.TKnowledgeTreeInterface;
-import dev.iwilkey.terrafort.persistent.TPersistent;
 import dev.iwilkey.terrafort.world.TWorld;
 
 /**
@@ -25,13 +24,9 @@ public final class TSinglePlayerWorld implements TState {
 	public void start() {
 		TGraphics.setCameraSpeedToTarget(4.0f);
 		// Load world from persistent memory given name...
-		if(!TPersistent.pathExists("world/world.dat")) {
+		world = TWorld.load("world");
+		if(world == null)
 			world = new TWorld("world", ThreadLocalRandom.current().nextInt(0, Integer.MAX_VALUE - 1));
-		} else {
-			// loading from persistent memory...
-			world = (TWorld)TPersistent.load("world/world.dat");
-			world.loadFromPersistent();
-		}
 		world.getClient().knowledgeBar = new TKnowledgeBarInterface();
 		TUserInterface.mAllocContainer(world.getClient().knowledgeBar);
 		world.getClient().gameState = new TGameStateInterface(world.getClient());
@@ -1,36 +1,40 @@
 package dev.iwilkey.terrafort.world;
 
 import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.concurrent.ThreadLocalRandom;
+import java.util.LinkedHashSet;
 
+import com.badlogic.gdx.utils.Array;
 import com.badlogic.gdx.utils.Disposable;
 
-import dev.iwilkey.terrafort.math.TMath;
-import dev.iwilkey.terrafort.obj.harvestable.TBush;
-import dev.iwilkey.terrafort.obj.harvestable.TFlowers;
-import dev.iwilkey.terrafort.obj.harvestable.TTree;
 import dev.iwilkey.terrafort.obj.runtime.TObjectRuntime;
 import dev.iwilkey.terrafort.obj.type.TMob;
 import dev.iwilkey.terrafort.obj.type.TObject;
-import dev.iwilkey.terrafort.persistent.TSerializable;
+import dev.iwilkey.terrafort.persistent.TBinaryReader;
+import dev.iwilkey.terrafort.persistent.TBinaryWriter;
+import dev.iwilkey.terrafort.persistent.TObjectCodec;
 import dev.iwilkey.terrafort.world.terrain.TBiome;
 import dev.iwilkey.terrafort.world.terrain.TDefaultBiome;
 import dev.iwilkey.terrafort.world.terrain.TTerrainGenerator;
 
 /**
- * A serializable definition of a chunk of world data. Used to dictate the state of a {@link TChunkRuntime}.
+ * A persistent definition of a chunk of world data. Used to dictate the state of a {@link TChunkRuntime}. Written to, and read from, region 
+ * files in an explicit binary format.
+ * 
+ * <p>
+ * Terrain and decorations are a pure function of the world seed, so only the difference against them is saved: which generated decorations
+ * are gone, and every object that isn't an untouched decoration. A pristine chunk has no record at all and is generated again when needed.
+ * </p>
  * @author Ian Wilkey (iwilkey)
  */
-public final class TChunk implements TSerializable, Disposable {
+public final class TChunk implements Disposable {
 
 	/**
-	 * The unique serialization ID.
+	 * The version of the chunk section in the binary format. Bump it when fields are added, and read them conditionally.
 	 */
-	private static final long serialVersionUID = 2765329902184632708L;
+	private static final int CODEC_VERSION = 2;
 	
 	////////////////////////////////
-	// Non-serializable attributes. 
+	// Non-persistent attributes. 
 	////////////////////////////////
 	
 	/**
@@ -38,63 +42,235 @@ public final class TChunk implements TSerializable, Disposable {
 	 */
 	public transient static final int CHUNK_SIZE = 16;
 	
-	private transient TChunkRuntime concrete = null;
-	private transient TBiome        biome    = null;
+	/**
+	 * The amount of tiles in one chunk.
+	 */
+	public transient static final int CHUNK_AREA = CHUNK_SIZE * CHUNK_SIZE;
+	
+	private transient TWorld             parent             = null;
+	private transient TChunkRuntime      concrete           = null;
+	private transient TBiome             biome              = null;
+	private transient ArrayList<TObject> pendingDecorations = null;
+	private transient TSpatialIndex      index              = null;
+	private transient boolean            dirty              = false;
+	private transient byte[]             tiles              = null;
+	private transient long[]             generatedTiles     = null;
+	private transient boolean            generated          = false;
+	private transient float              deferredTime       = 0.0f;
 	
 	////////////////////////////////
-	// Serializable attributes.
+	// Persistent attributes.
 	////////////////////////////////
 	
-	private final TWorld                 parent;
 	private final int                    chunkX;
 	private final int                    chunkY;
-	private final HashMap<Long, Integer> cachedTerrainData;
-	private final ArrayList<TObject>     cachedObjectData;
+	private final long[]                 removedDecorations;
+	private final LinkedHashSet<TObject> cachedObjectData;
 	
 	/**
 	 * Creates a new chunk a (chunkX, chunkY) [chunk space] inside of the given parent {@link TWorld}.
 	 */
 	public TChunk(TWorld parent, int chunkX, int chunkY) {
+		this(parent, chunkX, chunkY, true);
+	}
+	
+	private TChunk(TWorld parent, int chunkX, int chunkY, boolean resident) {
 		this.parent        = parent;
 		this.chunkX        = chunkX;
 		this.chunkY        = chunkY;
 		biome              = new TDefaultBiome(this);
-		concrete           = new TChunkRuntime(this);
-		cachedTerrainData  = new HashMap<>();
-		cachedObjectData   = new ArrayList<>();
+		concrete           = resident ? new TChunkRuntime(this) : null;
+		pendingDecorations = new ArrayList<>();
+		tiles              = new byte[CHUNK_AREA];
+		generatedTiles     = new long[CHUNK_AREA / Long.SIZE];
+		removedDecorations = new long[CHUNK_AREA / Long.SIZE];
+		cachedObjectData   = new LinkedHashSet<>();
+		index              = new TSpatialIndex();
+		generated          = false;
+		dirty              = false;
 	}
 	
 	/**
-	 * This means that this object is loaded from memory, or from a serialized state. We must recreate the runtime version.
+	 * Writes the persistent state of this chunk: the generated decorations that are gone and every object that isn't procedural. See 
+	 * isPristine().
 	 */
-	@Override
-	public void loadFromPersistent() {
-		System.out.println("[TerrafortPersistent] Loading chunk state " + Long.toHexString(getPositionHash()));
-		// recreate transients...
-		biome    = new TDefaultBiome(this);
+	public void write(final TBinaryWriter out) {
+		int objects = 0;
+		for(final TObject o : cachedObjectData)
+			if(!o.isProcedural())
+				objects++;
+		out.beginSection(CODEC_VERSION);
+		out.putInt(chunkX);
+		out.putInt(chunkY);
+		out.putLongs(removedDecorations);
+		out.putInt(objects);
+		out.endSection();
+		for(final TObject o : cachedObjectData)
+			if(!o.isProcedural())
+				TObjectCodec.write(out, o);
+	}
+	
+	/**
+	 * The persistent state of a chunk as it was decoded from its region record, before it is applied to a {@link TChunk}.
+	 */
+	static final class TRecord {
+		
+		final int                chunkX;
+		final int                chunkY;
+		final long[]             removedDecorations;
+		final ArrayList<TObject> objects;
+		
+		private TRecord(int chunkX, int chunkY) {
+			this.chunkX        = chunkX;
+			this.chunkY        = chunkY;
+			removedDecorations = new long[CHUNK_AREA / Long.SIZE];
+			objects            = new ArrayList<>();
+		}
+		
+	}
+	
+	/**
+	 * Decodes a record written by write(out). Touches no chunk or world state, so it is safe to call from a worker thread.
+	 */
+	static TRecord decode(final TBinaryReader in) {
+		final int     version = in.beginSection();
+		final TRecord record  = new TRecord(in.getInt(), in.getInt());
+		if(version < 2) {
+			// older records hold their terrain, which is the same when generated again, and every decoration as a plain object...
+			in.getBoolean();
+			in.getBytes(new byte[CHUNK_AREA]);
+			in.getLongs(new long[CHUNK_AREA / Long.SIZE]);
+			for(int i = 0; i < record.removedDecorations.length; i++)
+				record.removedDecorations[i] = -1L;
+		} else in.getLongs(record.removedDecorations);
+		final int objects = in.getInt();
+		in.endSection();
+		for(int i = 0; i < objects; i++) {
+			final TObject o = TObjectCodec.read(in);
+			if(o != null)
+				record.objects.add(o);
+		}
+		return record;
+	}
+	
+	/**
+	 * Reads a chunk written by write(out) into given parent {@link TWorld}. The chunk comes back cold and not generated; its terrain and 
+	 * decorations are generated again, and its runtime is only recreated once the {@link TChunkResidency} hydrates it.
+	 */
+	public static TChunk read(final TWorld parent, final TBinaryReader in) {
+		final TRecord record = decode(in);
+		final TChunk  chunk  = new TChunk(parent, record.chunkX, record.chunkY, false);
+		chunk.restore(record);
+		chunk.flushDecorations();
+		return chunk;
+	}
+	
+	/**
+	 * Applies a decoded record to this chunk. Removed decorations are merged with any removed since the chunk was created, and the stored 
+	 * objects wait for their bodies with the pending decorations. Must be called on the render thread, before install(heights, decorations).
+	 */
+	void restore(TRecord record) {
+		for(int i = 0; i < removedDecorations.length; i++)
+			removedDecorations[i] |= record.removedDecorations[i];
+		pendingDecorations.addAll(record.objects);
+	}
+	
+	/**
+	 * Whether or not this chunk is exactly what the world seed generates: no generated decoration is gone and every object is procedural.
+	 * A pristine chunk doesn't need to be saved.
+	 */
+	public boolean isPristine() {
+		for(final long removed : removedDecorations)
+			if(removed != 0)
+				return false;
+		for(final TObject o : cachedObjectData)
+			if(!o.isProcedural())
+				return false;
+		return true;
+	}
+	
+	/**
+	 * Whether or not this chunk is hot, meaning it has a {@link TChunkRuntime} with bodies in the physics engine.
+	 */
+	public boolean isResident() {
+		return concrete != null;
+	}
+	
+	/**
+	 * Makes this chunk hot again by recreating its runtime and the bodies of every object it holds. Use {@link TChunkResidency}.hydrate(chunk) 
+	 * so the residency manager stays consistent.
+	 */
+	void thaw() {
+		if(concrete != null)
+			return;
 		concrete = new TChunkRuntime(this);
-		// create objects that don't already exist in the concrete state...
 		for(final TObject o : cachedObjectData)
-			addObjectRuntime(o);
+			concrete.createObjectRuntimeFromAbstract(o);
 	}
 	
 	/**
-	 * Instructs this chunk that it needs to render it's tile at given tile coordinates. This includes terrain and world objects.
+	 * Makes this chunk cold. Its runtime and the bodies of every object it holds are released, but the abstract object data is kept.
 	 */
-	public void render(float dt, long tileX, long tileY) {
-		if(!contains(tileX, tileY))
+	void freeze() {
+		if(concrete == null)
 			return;
-		// render terrain tile...
-		biome.render(dt, tileX, tileY);
+		flushDecorations();
+		concrete.release();
+		concrete = null;
 	}
 	
 	/**
-	 * Update the state of active objects as well as render them.
+	 * Instructs this chunk that it needs to render its tiles within the given inclusive range of tile coordinates, one sprite at a time, in
+	 * one pass. Only used while the chunk waits for its terrain to be baked by the {@link TTerrainCache}.
+	 */
+	public void renderTiles(float dt, long minTileX, long minTileY, long maxTileX, long maxTileY) {
+		final long originX = (long)chunkX * CHUNK_SIZE;
+		final long originY = (long)chunkY * CHUNK_SIZE;
+		final long iStart  = Math.max(originX, minTileX);
+		final long iEnd    = Math.min(originX + CHUNK_SIZE - 1, maxTileX);
+		final long jStart  = Math.max(originY, minTileY);
+		final long jEnd    = Math.min(originY + CHUNK_SIZE - 1, maxTileY);
+		for(long i = iStart; i <= iEnd; i++)
+			for(long j = jStart; j <= jEnd; j++)
+				biome.render(dt, i, j);
+	}
+	
+	/**
+	 * Returns the biome that describes how the terrain of this chunk is rendered.
+	 */
+	public TBiome getBiome() {
+		return biome;
+	}
+	
+	/**
+	 * Update the state of active objects. Nothing is drawn; see renderObjects(tileX, tileY).
 	 */
 	public void update(float dt) {
+		if(concrete == null)
+			parent.getResidency().hydrate(this);
+		deferredTime = 0.0f;
 		concrete.update(dt);
 	}
 	
+	/**
+	 * Accumulates "dt" seconds of simulated time, and only updates the chunk with all of the time accumulated so far if it is "due". Used to
+	 * tick chunks at a reduced rate.
+	 */
+	void updateDeferred(float dt, boolean due) {
+		deferredTime += dt;
+		if(due)
+			update(deferredTime);
+	}
+	
+	/**
+	 * Draws the active objects of this chunk that are within render distance of given tile. Does nothing while the chunk is cold.
+	 */
+	public void renderObjects(int tileX, int tileY) {
+		if(concrete == null)
+			return;
+		concrete.render(tileX, tileY);
+	}
+	
 	/**
 	 * The x position of this chunk in chunk space.
 	 */
@@ -113,7 +289,7 @@ public final class TChunk implements TSerializable, Disposable {
 	 * Returns the position hash of this chunk.
 	 */
 	public long getPositionHash() {
-		return (((long)chunkX) << 32) | (chunkY & 0xffffffffL);
+		return positionHash(chunkX, chunkY);
 	}
 	
 	/**
@@ -127,51 +303,117 @@ public final class TChunk implements TSerializable, Disposable {
 	 * Returns whether or not this chunk contains the given tile coordinates.
 	 */
 	public boolean contains(long tileX, long tileY) {
-		return (tileX / CHUNK_SIZE == chunkX) && (tileY / CHUNK_SIZE == chunkY);
+		return (tileToChunk(tileX) == chunkX) && (tileToChunk(tileY) == chunkY);
+	}
+	
+	/**
+	 * Whether or not the terrain and decorations of this chunk have been generated by the {@link TChunkGenerator}.
+	 */
+	public boolean isGenerated() {
+		return generated;
+	}
+	
+	/**
+	 * Returns the cached terrain height at given tile coordinates, or -1 if it has not been generated yet. Never generates anything, so 
+	 * it is safe to call from the render path.
+	 */
+	public int getTile(long tileX, long tileY) {
+		if(!contains(tileX, tileY))
+			return -1;
+		return getLocalTile(localIndex(tileToLocal(tileX), tileToLocal(tileY)));
 	}
 	
 	/**
-	 * Generates or returns cached terrain height at given tile coordinates.
+	 * Returns the cached terrain height at given local index (see localIndex(localX, localY)), or -1 if it has not been generated yet.
+	 */
+	public int getLocalTile(int index) {
+		return isTileGenerated(index) ? tiles[index] : -1;
+	}
+	
+	/**
+	 * Whether or not the terrain height at given local index has been generated.
+	 */
+	public boolean isTileGenerated(int index) {
+		return (generatedTiles[index >>> 6] & (1L << index)) != 0;
+	}
+	
+	/**
+	 * Generates or returns cached terrain height at given tile coordinates. If the chunk is still being generated in the background, only
+	 * the height of the requested tile is computed synchronously; decorations are always left to the {@link TChunkGenerator}.
 	 */
 	public int getOrGenerateTile(long tileX, long tileY) {
 		if(!contains(tileX, tileY))
 			return -1;
-		long hash = getTilePositionHash(tileX, tileY);
-		if(!cachedTerrainData.containsKey(hash)) {
-			final int terrainHeight = TTerrainGenerator.getHeightAt(parent.getWorldSeed(), tileX, tileY);
-			switch(terrainHeight) {
-				case TBiome.WATER_LEVEL:
-					break;
-				case TBiome.SAND_LEVEL:
-					break;
-				case TBiome.GRASS_LEVEL:
-					float val = TTerrainGenerator.layer(parent.getWorldSeed(), tileX, tileY, 0.1f, 16);
-					int   seg = TMath.partition(val, 4, 
-							(float)ThreadLocalRandom.current().nextDouble(0.30f, 0.45f), 
-							(float)ThreadLocalRandom.current().nextDouble(0.10f, 0.45f),
-							(float)ThreadLocalRandom.current().nextDouble(0.05f, 0.15f));
-					switch(seg) {
-						case 0:
-							if(Math.random() < 0.75f)
-								addObject(new TTree((int)tileX, (int)tileY));
-							break;
-						case 1:
-							break;
-						case 2:
-							addObject(new TBush((int)tileX, (int)tileY));
-							break;
-						case 3:
-							if(Math.random() < 0.75f)
-								addObject(new TFlowers((int)tileX, (int)tileY));
-							break;
-					}
-					break;
-				case TBiome.ROCK_LEVEL:
-					break;
-			}
-			cachedTerrainData.put(hash, terrainHeight);
-			return terrainHeight;
-		} else return cachedTerrainData.get(hash);
+		final int index = localIndex(tileToLocal(tileX), tileToLocal(tileY));
+		if(isTileGenerated(index))
+			return tiles[index];
+		final int terrainHeight = TTerrainGenerator.getHeightAt(parent.getWorldSeed(), tileX, tileY);
+		setLocalTile(index, terrainHeight);
+		return terrainHeight;
+	}
+	
+	/**
+	 * Installs the terrain heights and decorations produced by the {@link TChunkGenerator}. Decorations that were removed since the chunk was
+	 * first generated are dropped. The others are not given bodies right away; they are committed in bounded batches with 
+	 * commitDecorations(budget). Must be called on the render thread.
+	 */
+	void install(byte[] heights, ArrayList<TObject> decorations) {
+		if(generated)
+			return;
+		System.arraycopy(heights, 0, tiles, 0, CHUNK_AREA);
+		for(int i = 0; i < generatedTiles.length; i++)
+			generatedTiles[i] = -1L;
+		for(final TObject o : decorations) {
+			final int i = localIndexOf(o);
+			if((removedDecorations[i >>> 6] & (1L << i)) != 0)
+				continue;
+			o.setProcedural(true);
+			pendingDecorations.add(o);
+		}
+		generated = true;
+		// the baked terrain of this chunk and the borders of its neighbors are stale now...
+		parent.invalidateTerrainAround(chunkX, chunkY);
+		parent.getPathfinder().invalidate(this);
+	}
+	
+	/**
+	 * Stores a terrain height at given local index and marks it as generated.
+	 */
+	private void setLocalTile(int index, int height) {
+		tiles[index]                  = (byte)height;
+		generatedTiles[index >>> 6] |= (1L << index);
+		parent.getPathfinder().invalidate(this);
+	}
+	
+	/**
+	 * Whether or not this chunk has generated decorations, or objects restored from its record, that don't have a physical body yet.
+	 */
+	boolean hasPendingDecorations() {
+		return !pendingDecorations.isEmpty();
+	}
+	
+	/**
+	 * Gives, at most, "budget" pending decorations and restored objects their physical bodies. Returns how many were committed.
+	 */
+	int commitDecorations(int budget) {
+		int committed = 0;
+		while(committed < budget && !pendingDecorations.isEmpty()) {
+			final TObject o = pendingDecorations.remove(pendingDecorations.size() - 1);
+			cache(o);
+			addObjectRuntime(o);
+			committed++;
+		}
+		return committed;
+	}
+	
+	/**
+	 * Hands every pending decoration to the abstract chunk data without creating any bodies. Used when the chunk goes cold or the world is 
+	 * shutting down.
+	 */
+	void flushDecorations() {
+		for(final TObject o : pendingDecorations)
+			cache(o);
+		pendingDecorations.clear();
 	}
 	
 	/**
@@ -180,7 +422,8 @@ public final class TChunk implements TSerializable, Disposable {
 	public void addObject(TObject object) {
 		if(object instanceof TMob) 
 			throw new IllegalArgumentException("[Terrafort Game Engine] TMob's aren't managed by TChunks. They can only be managed by a TWorld. Please use TWorld.addObject(TMob) instead.");
-		cachedObjectData.add(object);
+		cache(object);
+		dirty = true;
 		addObjectRuntime(object);
 	}
 	
@@ -193,28 +436,91 @@ public final class TChunk implements TSerializable, Disposable {
 	}
 	
 	/**
-	 * Transfers all data of object and existing runtime to this chunk's jurisdiction without destroying and rebuilding the body.
+	 * Transfers all data of object and existing runtime to this chunk's jurisdiction without destroying and rebuilding the body. Returns
+	 * whether or not the runtime was kept; a cold chunk only keeps the abstract object, so the caller must destroy the body. A runtime that
+	 * shares the static body of its old chunk is never kept; this chunk gives the object a fixture of its own body instead.
 	 */
-	public void transferObject(TObject object, TObjectRuntime runtime) {
+	public boolean transferObject(TObject object, TObjectRuntime runtime) {
 		if(object instanceof TMob) 
 			throw new IllegalArgumentException("[Terrafort Game Engine] TMob's aren't managed by TChunks. They can only be managed by a TWorld. Please use TWorld.addObject(TMob) instead.");
-		cachedObjectData.add(object);
+		cache(object);
+		dirty = true;
+		if(concrete == null)
+			return false;
+		if(runtime.sharesBody()) {
+			concrete.createObjectRuntimeFromAbstract(object);
+			return false;
+		}
 		concrete.addObjectRuntime(runtime);
+		return true;
 	}
 	
 	/**
 	 * Called to remove the abstract object, usually from the runtime chunk because it is already taking care of the runtime object.
 	 */
 	public void removeAbstractObject(TObject object) {
+		if(!index.remove(object))
+			return;
 		cachedObjectData.remove(object);
+		detachFromSeed(object);
+		dirty = true;
+		if(blocksPaths(object))
+			parent.getPathfinder().invalidate(this);
+	}
+	
+	/**
+	 * Indicates that the persistent state of an object this chunk holds changed. A changed decoration is no longer what the seed generates, 
+	 * so it is saved as a plain object from now on.
+	 */
+	public void markModified(TObject object) {
+		detachFromSeed(object);
+		dirty = true;
+	}
+	
+	/**
+	 * Records that a procedural object is no longer what the world seed generates on its tile.
+	 */
+	private void detachFromSeed(TObject object) {
+		if(!object.isProcedural())
+			return;
+		final int i = localIndexOf(object);
+		removedDecorations[i >>> 6] |= (1L << i);
+		object.setProcedural(false);
+	}
+	
+	/**
+	 * The local index of the tile an object was placed on.
+	 */
+	private static int localIndexOf(TObject object) {
+		return localIndex(tileToLocal(TSpatialIndex.worldToTile(object.worldX)), tileToLocal(TSpatialIndex.worldToTile(object.worldY)));
+	}
+	
+	/**
+	 * Adds an abstract object to the chunk data and its spatial index.
+	 */
+	private void cache(TObject object) {
+		if(!cachedObjectData.add(object))
+			return;
+		index.add(object);
+		if(blocksPaths(object))
+			parent.getPathfinder().invalidate(this);
 	}
 	
 	/**
-	 * Register an object runtime with abstract object.
+	 * Whether or not an object keeps mobs from walking on its tile. Only static, solid objects do.
+	 */
+	private static boolean blocksPaths(TObject object) {
+		return !object.isDynamic && !object.isSensor;
+	}
+	
+	/**
+	 * Register an object runtime with abstract object. Does nothing if the chunk is cold; the runtime is created once it's hydrated.
 	 */
 	public void addObjectRuntime(TObject object) {
 		if(object instanceof TMob) 
 			throw new IllegalArgumentException("[Terrafort Game Engine] TMob's aren't managed by TChunks. They can only be managed by a TWorld. Please use TWorld.addObject(TMob) instead.");
+		if(concrete == null)
+			return;
 		concrete.createObjectRuntimeFromAbstract(object);
 	}
 	
@@ -222,6 +528,8 @@ public final class TChunk implements TSerializable, Disposable {
 	 * Unregisters an object runtime with abstract object.
 	 */
 	public void removeObjectRuntime(TObject object) {
+		if(concrete == null)
+			return;
 		concrete.removeObjectRuntimeFromAbstract(object);
 	}
 	
@@ -231,7 +539,68 @@ public final class TChunk implements TSerializable, Disposable {
 	 * @return
 	 */
 	public boolean containsAbstract(TObject object) {
-		return cachedObjectData.contains(object);
+		return index.contains(object);
+	}
+	
+	/**
+	 * Adds every object this chunk holds on given tile coordinates to "out". Mobs aren't included; see {@link TWorld}.
+	 */
+	public void collectObjectsAt(long tileX, long tileY, Array<TObject> out) {
+		if(!contains(tileX, tileY))
+			return;
+		index.collect(localIndex(tileToLocal(tileX), tileToLocal(tileY)), out);
+	}
+	
+	/**
+	 * Writes whether or not every tile of this chunk can be walked on to "out", one bit per local index (see localIndex(localX, localY)). A 
+	 * tile can be walked on once it's generated, if it isn't water and no static, solid object stands on it. Decorations that don't have a 
+	 * body yet count too.
+	 */
+	public void collectWalkable(long[] out) {
+		for(int i = 0; i < out.length; i++)
+			out[i] = 0L;
+		for(int i = 0; i < CHUNK_AREA; i++)
+			if(isTileGenerated(i) && tiles[i] != TBiome.WATER_LEVEL)
+				out[i >>> 6] |= (1L << i);
+		for(final TObject o : cachedObjectData)
+			if(blocksPaths(o))
+				block(o, out);
+		for(final TObject o : pendingDecorations)
+			if(blocksPaths(o))
+				block(o, out);
+	}
+	
+	private static void block(TObject object, long[] walkable) {
+		final int i = localIndexOf(object);
+		walkable[i >>> 6] &= ~(1L << i);
+	}
+	
+	/**
+	 * The tile-cell spatial index of the objects this chunk holds.
+	 */
+	public TSpatialIndex getSpatialIndex() {
+		return index;
+	}
+	
+	/**
+	 * Whether or not this chunk changed since it was last written to its region file.
+	 */
+	public boolean isDirty() {
+		return dirty;
+	}
+	
+	/**
+	 * Indicates that this chunk changed and has to be written to its region file again.
+	 */
+	public void markDirty() {
+		dirty = true;
+	}
+	
+	/**
+	 * Indicates that this chunk was just written to its region file.
+	 */
+	void markClean() {
+		dirty = false;
 	}
 	
 	/**
@@ -242,15 +611,45 @@ public final class TChunk implements TSerializable, Disposable {
 	}
 	
 	/**
-	 * The non-serializable physical representation of this chunk data.
+	 * The non-serializable physical representation of this chunk data. Null while the chunk is cold.
 	 */
 	public TChunkRuntime getPhysical() {
 		return concrete;
 	}
 
+	/**
+	 * Returns the chunk coordinate that contains the given tile coordinate. Uses floored division so negative tiles map to the
+	 * correct chunk.
+	 */
+	public static int tileToChunk(long tile) {
+		return (int)Math.floorDiv(tile, (long)CHUNK_SIZE);
+	}
+	
+	/**
+	 * Returns the position hash of a chunk at given chunk coordinates.
+	 */
+	public static long positionHash(int chunkX, int chunkY) {
+		return (((long)chunkX) << 32) | (chunkY & 0xffffffffL);
+	}
+	
+	/**
+	 * Returns the coordinate of a tile local to the chunk that contains it, in the interval [0, CHUNK_SIZE).
+	 */
+	public static int tileToLocal(long tile) {
+		return (int)Math.floorMod(tile, (long)CHUNK_SIZE);
+	}
+	
+	/**
+	 * Returns the index of a tile local to a chunk, where (0, 0) is the chunk's bottom left tile.
+	 */
+	public static int localIndex(int localX, int localY) {
+		return localY * CHUNK_SIZE + localX;
+	}
+	
 	@Override
 	public void dispose() {
-		concrete.dispose();
+		if(concrete != null)
+			concrete.dispose();
 	}
 
 }
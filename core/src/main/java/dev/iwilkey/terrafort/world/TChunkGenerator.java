@@ -0,0 +1,283 @@
+package dev.iwilkey.terrafort.world;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.badlogic.gdx.utils.Disposable;
+
+import dev.iwilkey.terrafort.math.THash;
+import dev.iwilkey.terrafort.math.TMath;
+import dev.iwilkey.terrafort.obj.harvestable.TBush;
+import dev.iwilkey.terrafort.obj.harvestable.TFlowers;
+import dev.iwilkey.terrafort.obj.harvestable.TTree;
+import dev.iwilkey.terrafort.obj.type.TObject;
+import dev.iwilkey.terrafort.persistent.TBinaryReader;
+import dev.iwilkey.terrafort.persistent.TRegionStore;
+import dev.iwilkey.terrafort.world.terrain.TBiome;
+import dev.iwilkey.terrafort.world.terrain.TTerrainGenerator;
+
+/**
+ * A background pipeline that generates the terrain heights and decoration placements of {@link TChunk}s on a pool of worker threads.
+ * The region record of a chunk, if it has one, is read and decoded on the same workers. The render thread only ever consumes finished chunks; the physical bodies of generated decorations are committed on the render thread
+ * in a bounded batch every frame.
+ * @author Ian Wilkey (iwilkey)
+ */
+public final class TChunkGenerator implements Disposable {
+
+	/**
+	 * The amount of worker threads dedicated to generating chunks.
+	 */
+	public static final int   WORKERS                    = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() - 1));
+
+	/**
+	 * The maximum amount of decoration bodies that can be committed to the physics engine in one frame.
+	 */
+	public static final int   MAX_BODY_COMMITS_PER_FRAME = 64;
+
+	/**
+	 * How far ahead, in seconds, the movement vector of the focus is projected when prefetching chunks.
+	 */
+	public static final float PREFETCH_LOOKAHEAD         = 1.5f;
+
+	/**
+	 * How many chunks, in all directions, are requested around the projected focus.
+	 */
+	public static final int   PREFETCH_RADIUS            = (TWorld.RENDER_DISTANCE / TChunk.CHUNK_SIZE) + 1;
+
+	/**
+	 * The frequency and octaves of the noise layer that decides where decorations grow.
+	 */
+	private static final float DECORATION_FREQUENCY      = 0.1f;
+	private static final float DECORATION_OCTAVES        = 16;
+
+	/**
+	 * The finished product of a generation job, waiting to be consumed by the render thread.
+	 */
+	private static final class TGeneratedChunk {
+
+		private final TChunk             chunk;
+		private final TChunk.TRecord     record;
+		private final byte[]             heights;
+		private final ArrayList<TObject> decorations;
+
+		private TGeneratedChunk(TChunk chunk, TChunk.TRecord record, byte[] heights, ArrayList<TObject> decorations) {
+			this.chunk       = chunk;
+			this.record      = record;
+			this.heights     = heights;
+			this.decorations = decorations;
+		}
+
+	}
+
+	private final long                                   seed;
+	private final TRegionStore                           regions;
+	private final ExecutorService                        workers;
+	private final ConcurrentLinkedQueue<TGeneratedChunk> finished;
+	private final HashSet<TChunk>                        requested;
+	private final ArrayDeque<TChunk>                     awaitingBodies;
+
+	private int   lastPrefetchChunkX = Integer.MIN_VALUE;
+	private int   lastPrefetchChunkY = Integer.MIN_VALUE;
+	private float lastFocusX         = Float.NaN;
+	private float lastFocusY         = Float.NaN;
+
+	/**
+	 * Creates a new generation pipeline for a world with the given seed, reading chunk records from the given {@link TRegionStore}.
+	 */
+	public TChunkGenerator(long seed, TRegionStore regions) {
+		this.seed      = seed;
+		this.regions   = regions;
+		finished       = new ConcurrentLinkedQueue<>();
+		requested      = new HashSet<>();
+		awaitingBodies = new ArrayDeque<>();
+		workers        = Executors.newFixedThreadPool(WORKERS, new ThreadFactory() {
+			private final AtomicInteger count = new AtomicInteger();
+			@Override
+			public Thread newThread(Runnable r) {
+				final Thread t = new Thread(r, "TerrafortChunkWorker-" + count.incrementAndGet());
+				t.setDaemon(true);
+				t.setPriority(Thread.NORM_PRIORITY - 1);
+				return t;
+			}
+		});
+	}
+
+	/**
+	 * Requests that the terrain and decorations of the given {@link TChunk} be generated, and its region record read, in the background. 
+	 * Does nothing if the chunk is already generated or has already been requested.
+	 */
+	public void request(final TChunk chunk) {
+		if(chunk.isGenerated() || requested.contains(chunk))
+			return;
+		requested.add(chunk);
+		final int chunkX = chunk.getChunkX();
+		final int chunkY = chunk.getChunkY();
+		workers.execute(() -> finished.add(generate(chunk, load(chunkX, chunkY), chunkX, chunkY)));
+	}
+
+	/**
+	 * Whether or not the given chunk is currently being generated in the background.
+	 */
+	public boolean isPending(TChunk chunk) {
+		return requested.contains(chunk);
+	}
+
+	/**
+	 * Requests the chunks around the focus of the world, projected forward along its movement vector so that terrain is ready
+	 * before it comes into view.
+	 */
+	public void prefetch(final TWorld world, float focusX, float focusY, float dt) {
+		float vx = 0.0f;
+		float vy = 0.0f;
+		if(!Float.isNaN(lastFocusX) && dt > 0) {
+			vx = (focusX - lastFocusX) / dt;
+			vy = (focusY - lastFocusY) / dt;
+		}
+		lastFocusX = focusX;
+		lastFocusY = focusY;
+		final long projectedTileX = Math.round((focusX + vx * PREFETCH_LOOKAHEAD) / TWorld.TILE_SIZE);
+		final long projectedTileY = Math.round((focusY + vy * PREFETCH_LOOKAHEAD) / TWorld.TILE_SIZE);
+		final int  chunkX         = TChunk.tileToChunk(projectedTileX);
+		final int  chunkY         = TChunk.tileToChunk(projectedTileY);
+		// only walk the neighborhood when the projection crosses into a new chunk...
+		if(chunkX == lastPrefetchChunkX && chunkY == lastPrefetchChunkY)
+			return;
+		lastPrefetchChunkX = chunkX;
+		lastPrefetchChunkY = chunkY;
+		for(int i = -PREFETCH_RADIUS; i <= PREFETCH_RADIUS; i++)
+			for(int j = -PREFETCH_RADIUS; j <= PREFETCH_RADIUS; j++)
+				world.getOrGenerateChunkAt(chunkX + i, chunkY + j);
+	}
+
+	/**
+	 * Consumes every finished generation job and commits, at most, {@link TChunkGenerator}.MAX_BODY_COMMITS_PER_FRAME bodies of decorations and 
+	 * restored objects to the physics engine. Must be called on the render thread.
+	 */
+	public void commit() {
+		TGeneratedChunk gen;
+		while((gen = finished.poll()) != null) {
+			if(!requested.remove(gen.chunk))
+				continue;
+			if(gen.record != null)
+				gen.chunk.restore(gen.record);
+			gen.chunk.install(gen.heights, gen.decorations);
+			if(gen.chunk.hasPendingDecorations())
+				awaitingBodies.add(gen.chunk);
+		}
+		int budget = MAX_BODY_COMMITS_PER_FRAME;
+		while(budget > 0 && !awaitingBodies.isEmpty()) {
+			final TChunk chunk = awaitingBodies.peek();
+			budget -= chunk.commitDecorations(budget);
+			if(!chunk.hasPendingDecorations())
+				awaitingBodies.poll();
+		}
+	}
+
+	/**
+	 * Reads and decodes the region record of the chunk at given chunk coordinates. Returns null if it was never written. Called on a 
+	 * worker thread.
+	 */
+	private TChunk.TRecord load(int chunkX, int chunkY) {
+		final byte[] data = regions.read(chunkX, chunkY);
+		return (data == null) ? null : TChunk.decode(new TBinaryReader(data));
+	}
+
+	/**
+	 * Generates the terrain heights and decoration placements of a chunk. Called on a worker thread; must not touch any
+	 * mutable state of the chunk or the world.
+	 */
+	private TGeneratedChunk generate(TChunk chunk, TChunk.TRecord record, int chunkX, int chunkY) {
+		final byte[]             heights     = new byte[TChunk.CHUNK_AREA];
+		final ArrayList<TObject> decorations = new ArrayList<>();
+		final long               originX     = (long)chunkX * TChunk.CHUNK_SIZE;
+		final long               originY     = (long)chunkY * TChunk.CHUNK_SIZE;
+		// all tiles of the chunk at once; heights are stored in local index order...
+		TTerrainGenerator.getHeights(seed, originX, originY, TChunk.CHUNK_SIZE, TChunk.CHUNK_SIZE, heights);
+		boolean grass = false;
+		for(int i = 0; i < TChunk.CHUNK_AREA && !grass; i++)
+			grass = heights[i] == TBiome.GRASS_LEVEL;
+		if(!grass)
+			return new TGeneratedChunk(chunk, record, heights, decorations);
+		final float[] density = new float[TChunk.CHUNK_AREA];
+		TTerrainGenerator.layer(seed, originX, originY, TChunk.CHUNK_SIZE, TChunk.CHUNK_SIZE, DECORATION_FREQUENCY, DECORATION_OCTAVES, density);
+		for(int ly = 0; ly < TChunk.CHUNK_SIZE; ly++) {
+			for(int lx = 0; lx < TChunk.CHUNK_SIZE; lx++) {
+				final int     i          = TChunk.localIndex(lx, ly);
+				final TObject decoration = decorate(originX + lx, originY + ly, heights[i], density[i]);
+				if(decoration != null)
+					decorations.add(decoration);
+			}
+		}
+		return new TGeneratedChunk(chunk, record, heights, decorations);
+	}
+
+	/**
+	 * Decides which decoration, if any, should be placed on a tile of given height and decoration density. Returns null if none. A pure
+	 * function of the seed and the tile, so the decorations of a chunk can always be placed again exactly as they were; see {@link THash}.
+	 */
+	private TObject decorate(long tileX, long tileY, int height, float val) {
+		if(height != TBiome.GRASS_LEVEL)
+			return null;
+		final int   seg = TMath.partition(val, 4,
+				THash.range(seed, tileX, tileY, 0, 0.30f, 0.45f),
+				THash.range(seed, tileX, tileY, 1, 0.10f, 0.45f),
+				THash.range(seed, tileX, tileY, 2, 0.05f, 0.15f));
+		switch(seg) {
+			case 0:
+				if(THash.unit(seed, tileX, tileY, 3) < 0.75f)
+					return new TTree((int)tileX, (int)tileY);
+				break;
+			case 2:
+				return new TBush((int)tileX, (int)tileY);
+			case 3:
+				if(THash.unit(seed, tileX, tileY, 3) < 0.75f)
+					return new TFlowers((int)tileX, (int)tileY, THash.below(seed, tileX, tileY, 4, TFlowers.VARIANTS));
+				break;
+		}
+		return null;
+	}
+
+	/**
+	 * Stops the worker pool. Any decorations and restored objects that are still waiting for bodies are handed to their chunks' abstract 
+	 * data, and the records of chunks whose job never ran are read now, so nothing is lost when the world is saved.
+	 */
+	@Override
+	public void dispose() {
+		workers.shutdownNow();
+		try {
+			workers.awaitTermination(1, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		TGeneratedChunk gen;
+		while((gen = finished.poll()) != null) {
+			if(requested.remove(gen.chunk)) {
+				if(gen.record != null)
+					gen.chunk.restore(gen.record);
+				gen.chunk.install(gen.heights, gen.decorations);
+			}
+			if(gen.chunk.hasPendingDecorations())
+				awaitingBodies.add(gen.chunk);
+		}
+		// a chunk that is saved without its record merged in would overwrite it...
+		for(final TChunk chunk : requested) {
+			final TChunk.TRecord record = load(chunk.getChunkX(), chunk.getChunkY());
+			if(record == null)
+				continue;
+			chunk.restore(record);
+			awaitingBodies.add(chunk);
+		}
+		for(final TChunk chunk : awaitingBodies)
+			chunk.flushDecorations();
+		awaitingBodies.clear();
+		requested.clear();
+	}
+
+}
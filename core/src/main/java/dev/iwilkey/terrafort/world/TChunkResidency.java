@@ -0,0 +1,200 @@
+package dev.iwilkey.terrafort.world;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+
+import com.badlogic.gdx.utils.Array;
+
+/**
+ * Manages how much of a {@link TWorld} lives in memory. Chunks near the focus of the world are kept "hot", with a {@link TChunkRuntime} and
+ * physical bodies in the physics engine. Chunks that fall outside of the hot radius are made "cold"; their runtime and bodies are released
+ * but their abstract {@link TChunk} data is kept. Cold chunks past the spill radius, or in excess of the cold budget (least recently resident
+ * first), are spilled to their region file (only if they changed) and forgotten until they are needed again.
+ * @author Ian Wilkey (iwilkey)
+ */
+public final class TChunkResidency {
+
+	/**
+	 * The default amount of chunks, in all directions, around the focus that are kept hot.
+	 */
+	public static final int DEFAULT_HOT_RADIUS            = TChunkGenerator.PREFETCH_RADIUS + 1;
+
+	/**
+	 * The default amount of chunks, in all directions, around the focus that may stay in memory while cold.
+	 */
+	public static final int DEFAULT_SPILL_RADIUS          = DEFAULT_HOT_RADIUS * 2;
+
+	/**
+	 * The default maximum amount of cold chunks kept in memory before the least recently resident ones are spilled to disk.
+	 */
+	public static final int DEFAULT_COLD_BUDGET           = 256;
+
+	/**
+	 * The default maximum amount of residency transitions (hot to cold, cold to disk) performed in one frame.
+	 */
+	public static final int DEFAULT_TRANSITIONS_PER_FRAME = 16;
+
+	private final TWorld                      world;
+	private final LinkedHashMap<Long, TChunk> cold;
+	private final Array<TChunk>               sweep;
+
+	private int     hotRadius           = DEFAULT_HOT_RADIUS;
+	private int     spillRadius         = DEFAULT_SPILL_RADIUS;
+	private int     coldBudget          = DEFAULT_COLD_BUDGET;
+	private int     transitionsPerFrame = DEFAULT_TRANSITIONS_PER_FRAME;
+	private int     focusChunkX         = Integer.MIN_VALUE;
+	private int     focusChunkY         = Integer.MIN_VALUE;
+	private boolean sweepPending        = false;
+
+	/**
+	 * Creates a new residency manager for given {@link TWorld}.
+	 */
+	public TChunkResidency(TWorld world) {
+		this.world = world;
+		cold       = new LinkedHashMap<>();
+		sweep      = new Array<>();
+	}
+
+	/**
+	 * Moves chunks between residency states around the given focus, in world coordinates. Hydrates chunks that came into the hot radius
+	 * and performs, at most, transitionsPerFrame evictions. Must be called on the render thread, outside of the physics step.
+	 */
+	public void update(float focusX, float focusY) {
+		final int chunkX = TChunk.tileToChunk(Math.round(focusX / TWorld.TILE_SIZE));
+		final int chunkY = TChunk.tileToChunk(Math.round(focusY / TWorld.TILE_SIZE));
+		if(chunkX != focusChunkX || chunkY != focusChunkY) {
+			focusChunkX  = chunkX;
+			focusChunkY  = chunkY;
+			sweepPending = true;
+			// bring back anything in the hot radius that we already know about...
+			for(int i = -hotRadius; i <= hotRadius; i++)
+				for(int j = -hotRadius; j <= hotRadius; j++) {
+					final TChunk c = world.getChunkAt(chunkX + i, chunkY + j);
+					if(c != null)
+						hydrate(c);
+				}
+		}
+		if(sweepPending)
+			evict();
+	}
+
+	/**
+	 * Makes sure the given chunk is hot. Does nothing if it already is.
+	 */
+	public void hydrate(TChunk chunk) {
+		if(chunk.isResident())
+			return;
+		cold.remove(chunk.getPositionHash());
+		chunk.thaw();
+	}
+
+	/**
+	 * Walks the chunks of the world and moves the ones outside of the configured radii down a residency state. Spills the least recently
+	 * resident cold chunks if the cold budget is exceeded.
+	 */
+	private void evict() {
+		int budget = transitionsPerFrame;
+		sweep.clear();
+		for(final TChunk c : world.getChunkData().values())
+			sweep.add(c);
+		for(final TChunk c : sweep) {
+			if(budget <= 0)
+				return;
+			final int d = Math.max(Math.abs(c.getChunkX() - focusChunkX), Math.abs(c.getChunkY() - focusChunkY));
+			if(c.isResident()) {
+				if(d > hotRadius) {
+					c.freeze();
+					cold.put(c.getPositionHash(), c);
+					budget--;
+				}
+			} else if(d > spillRadius && spill(c))
+				budget--;
+		}
+		final Iterator<TChunk> lru = cold.values().iterator();
+		while(cold.size() > coldBudget && lru.hasNext()) {
+			if(budget <= 0)
+				return;
+			final TChunk c = lru.next();
+			if(!canSpill(c))
+				continue;
+			lru.remove();
+			world.unloadChunk(c);
+			budget--;
+		}
+		sweepPending = false;
+	}
+
+	/**
+	 * Writes a cold chunk to disk and removes it from memory. Returns whether or not the chunk was spilled.
+	 */
+	private boolean spill(TChunk chunk) {
+		if(!canSpill(chunk))
+			return false;
+		cold.remove(chunk.getPositionHash());
+		world.unloadChunk(chunk);
+		return true;
+	}
+
+	/**
+	 * Whether or not a chunk can safely leave memory. Chunks that are still generating stay put.
+	 */
+	private boolean canSpill(TChunk chunk) {
+		return !chunk.isResident() && !world.getChunkGenerator().isPending(chunk);
+	}
+
+	/**
+	 * Sets the amount of chunks, in all directions, around the focus that are kept hot.
+	 */
+	public void setHotRadius(int hotRadius) {
+		if(hotRadius < TChunkGenerator.PREFETCH_RADIUS)
+			throw new IllegalArgumentException("[Terrafort Game Engine] The hot radius must cover at least the prefetch radius of " + TChunkGenerator.PREFETCH_RADIUS + " chunks.");
+		this.hotRadius = hotRadius;
+		spillRadius    = Math.max(spillRadius, hotRadius);
+		focusChunkX    = Integer.MIN_VALUE;
+	}
+
+	/**
+	 * Sets the amount of chunks, in all directions, around the focus that may stay in memory while cold.
+	 */
+	public void setSpillRadius(int spillRadius) {
+		if(spillRadius < hotRadius)
+			throw new IllegalArgumentException("[Terrafort Game Engine] The spill radius can't be smaller than the hot radius.");
+		this.spillRadius = spillRadius;
+		sweepPending     = true;
+	}
+
+	/**
+	 * Sets the maximum amount of cold chunks kept in memory.
+	 */
+	public void setColdBudget(int coldBudget) {
+		this.coldBudget = Math.max(0, coldBudget);
+		sweepPending    = true;
+	}
+
+	/**
+	 * Sets the maximum amount of residency transitions performed in one frame.
+	 */
+	public void setTransitionsPerFrame(int transitionsPerFrame) {
+		this.transitionsPerFrame = Math.max(1, transitionsPerFrame);
+	}
+
+	/**
+	 * The amount of cold chunks currently held in memory.
+	 */
+	public int getColdCount() {
+		return cold.size();
+	}
+
+	public int getHotRadius() {
+		return hotRadius;
+	}
+
+	public int getSpillRadius() {
+		return spillRadius;
+	}
+
+	public int getColdBudget() {
+		return coldBudget;
+	}
+
+}
@@ -1,5 +1,9 @@
 package dev.iwilkey.terrafort.world;
 
+import java.util.IdentityHashMap;
+
+import com.badlogic.gdx.physics.box2d.Body;
+import com.badlogic.gdx.physics.box2d.BodyDef;
 import com.badlogic.gdx.physics.box2d.World;
 import com.badlogic.gdx.utils.Array;
 import com.badlogic.gdx.utils.Disposable;
@@ -13,14 +17,37 @@ import dev.iwilkey.terrafort.obj.type.TParticulate;
 
 /**
  * A non-serializable chunk of world data that manages runtime and simulation behavior.
+ * 
+ * <p>
+ * Only awake objects are ticked. An object that is idle after its tick is put to sleep and skipped until something wakes it up, so the cost of
+ * an update follows the amount of objects that have something to do, not the amount of objects in the chunk; see {@link TObject}.isIdle().
+ * </p>
+ * 
+ * <p>
+ * Static, solid objects don't get a body of their own. Their colliders are fixtures of one static body per chunk, so a forested chunk adds one
+ * body to the physics engine instead of hundreds; see {@link TObjectRuntime}.canShareBody(object).
+ * </p>
  * @author Ian Wilkey (iwilkey)
  */
 public final class TChunkRuntime implements Disposable {
 
-	private final TChunk                data;
-	private final Array<TObjectRuntime> activeObjects;
-	private final Array<TObjectRuntime> garbageObjects;
-	private final Array<TObjectRuntime> transferredObjects;
+	private final TChunk                                   data;
+	private final Array<TObjectRuntime>                    activeObjects;
+	private final Array<TObjectRuntime>                    awakeObjects;
+	private final Array<TObjectRuntime>                    wokenObjects;
+	private final Array<TObjectRuntime>                    garbageObjects;
+	private final Array<TObjectRuntime>                    transferredObjects;
+	private final IdentityHashMap<TObject, TObjectRuntime> runtimes;
+	
+	/**
+	 * The body shared by every static, solid object of the chunk. Created with the first such object.
+	 */
+	private Body                                           staticBody;
+	
+	/**
+	 * Whether or not an object fell asleep during the current update.
+	 */
+	private boolean                                        sleepers;
 	
 	/**
 	 * Initiates a new chunk physical, dictated by the given {@link TChunk}.
@@ -28,16 +55,24 @@ public final class TChunkRuntime implements Disposable {
 	public TChunkRuntime(TChunk data) {
 		this.data          = data;
 		activeObjects      = new Array<>();
+		awakeObjects       = new Array<>();
+		wokenObjects       = new Array<>();
 		garbageObjects     = new Array<>();
 		transferredObjects = new Array<>();
+		runtimes           = new IdentityHashMap<>();
 	}
 	
 	/**
-	 * Updates the state of the active object's runtime.
+	 * Updates the state of the awake objects' runtimes. Nothing is drawn; see render(tileX, tileY).
 	 */
 	public void update(float dt) {
-		for(final TObjectRuntime r : activeObjects) {
+		handleWakeUps();
+		for(final TObjectRuntime r : awakeObjects) {
 			r.tick(dt);
+			if(r.getAbstract().consumeModified())
+				data.markModified(r.getAbstract());
+			if(r.getAbstract().isDynamic)
+				data.getSpatialIndex().update(r.getAbstract());
 			if(r.getAbstract() instanceof TEntity) {
 				// this means we have to monitor this object's health...
 				final TEntity e = (TEntity)r.getAbstract();
@@ -45,7 +80,7 @@ public final class TChunkRuntime implements Disposable {
 					// this thing is dead! notify the abstract chunk, and take care of it on this end.
 					e.death(r);
 					data.removeAbstractObject(e);
-					garbageObjects.add(r);
+					discard(r);
 					continue;
 				}
 			} else if(r.getAbstract() instanceof TParticulate) {
@@ -53,35 +88,59 @@ public final class TChunkRuntime implements Disposable {
 				final TParticulate p = (TParticulate)r.getAbstract();
 				if(p.isDone()) {
 					data.removeAbstractObject(p);
-					garbageObjects.add(r);
+					discard(r);
 					continue;
 				}
 			}
-			// draw objects only within render distance...
-			final float centerX = TGraphics.WORLD_PROJ_MAT.position.x;
-			final float centerY = TGraphics.WORLD_PROJ_MAT.position.y;
-			final int   cx      = (int)Math.round(centerX / TWorld.TILE_SIZE);
-		    final int   cy      = (int)Math.round(centerY / TWorld.TILE_SIZE);
-		    final int   tx      = r.getAbstract().currentTileX;
-		    final int   ty      = r.getAbstract().currentTileY;
-		    int x2 = (tx - cx) * (tx - cx);
-        	int y2 = (ty - cy) * (ty - cy);
-        	if((x2 + y2) <= (TWorld.RENDER_DISTANCE * TWorld.RENDER_DISTANCE))
-        		TGraphics.draw(r);
 			// handle chunk transfer if applicable...
 			final long juris = r.getAbstract().getChunkJurisdiction();
 			if(juris != data.getPositionHash()) {
-				final TWorld world = data.getParent();
-				// The goal is to never get rid of the physical body and force it to rebuild!
-				if(world.getChunkData().containsKey(juris)) {
-					world.getChunkData().get(juris).transferObject(r.getAbstract(), r);
-					transferredObjects.add(r);
-				} else garbageObjects.add(r);
+				final TChunk target = data.getParent().getOrGenerateChunkAt((int)(juris >> 32), (int)juris);
 				data.removeAbstractObject(r.getAbstract());
+				// The goal is to never get rid of the physical body and force it to rebuild! Unless the target chunk is cold...
+				if(target.transferObject(r.getAbstract(), r)) {
+					if(runtimes.remove(r.getAbstract()) == r)
+						transferredObjects.add(r);
+				} else discard(r);
+				continue;
+			}
+			// nothing left to do until something happens to it...
+			if(r.getAbstract().isIdle()) {
+				r.sleep(this);
+				sleepers = true;
 			}
 		}
 		handleTransfers();
 		handleGarbageCollection();
+		handleSleepers();
+	}
+	
+	/**
+	 * Ticks given object again from the next update on. Called by an object that was put to sleep by this runtime; see 
+	 * {@link TObjectRuntime}.wake().
+	 */
+	public void wake(TObjectRuntime runtime) {
+		wokenObjects.add(runtime);
+	}
+	
+	/**
+	 * The amount of objects this runtime ticks.
+	 */
+	public int getAwakeObjectCount() {
+		return awakeObjects.size;
+	}
+	
+	/**
+	 * Draws the active objects within render distance of given tile. Never changes any state, so it can be skipped entirely when nothing is
+	 * being rendered.
+	 */
+	public void render(int tileX, int tileY) {
+		for(final TObjectRuntime r : activeObjects) {
+			final int dx = r.getAbstract().currentTileX - tileX;
+			final int dy = r.getAbstract().currentTileY - tileY;
+			if((dx * dx + dy * dy) <= (TWorld.RENDER_DISTANCE * TWorld.RENDER_DISTANCE))
+				TGraphics.draw(r);
+		}
 	}
 	
 	/**
@@ -89,7 +148,15 @@ public final class TChunkRuntime implements Disposable {
 	 * in memory.
 	 */
 	public void createObjectRuntimeFromAbstract(TObject object) {
-		activeObjects.add(object.create(data.getParent()));
+		if(runtimes.containsKey(object))
+			return;
+		final TObjectRuntime runtime = TObjectRuntime.canShareBody(object) 
+				? new TObjectRuntime(data.getParent(), object, getStaticBody()) 
+				: object.create(data.getParent());
+		runtimes.put(object, runtime);
+		activeObjects.add(runtime);
+		awakeObjects.add(runtime);
+		runtime.setTickingIn(this);
 	}
 	
 	/**
@@ -97,12 +164,18 @@ public final class TChunkRuntime implements Disposable {
 	 * there was a record of the abstract object's runtime in the chunk.
 	 */
 	public boolean removeObjectRuntimeFromAbstract(TObject object) {
-		for(final TObjectRuntime r : activeObjects)
-			if(r.getAbstract().equals(object)) {
-				garbageObjects.add(r);
-				return true;
-			}
-		return false;
+		final TObjectRuntime r = runtimes.get(object);
+		if(r == null)
+			return false;
+		discard(r);
+		return true;
+	}
+	
+	/**
+	 * Returns the runtime of given abstract object, or null if this chunk runtime doesn't manage it.
+	 */
+	public TObjectRuntime getRuntime(TObject object) {
+		return runtimes.get(object);
 	}
 	
 	/**
@@ -111,7 +184,10 @@ public final class TChunkRuntime implements Disposable {
 	public void addObjectRuntime(TObjectRuntime runtime) {
 		if(runtime.getAbstract() instanceof TMob) 
 			throw new IllegalArgumentException("[Terrafort Game Engine] TMob's aren't managed by TChunks. They can only be managed by a TWorld. Please use TWorld.addObject(TMob) instead.");
+		runtimes.put(runtime.getAbstract(), runtime);
 		activeObjects.add(runtime);
+		awakeObjects.add(runtime);
+		runtime.setTickingIn(this);
 	}
 	
 	/**
@@ -121,11 +197,102 @@ public final class TChunkRuntime implements Disposable {
 		return data.getParent().getPhysicalWorld();
 	}
 
+	/**
+	 * Destroys the bodies of every object this runtime manages. The abstract objects are untouched. Used when a chunk goes cold.
+	 */
+	public void release() {
+		handleGarbageCollection();
+		for(final TObjectRuntime r : activeObjects)
+			if(!r.sharesBody())
+				r.destroy();
+		// every shared fixture goes with its body at once...
+		if(staticBody != null)
+			getPhysicalWorld().destroyBody(staticBody);
+		staticBody = null;
+		dispose();
+	}
+	
+	/**
+	 * Returns the static body shared by the static, solid objects of the chunk, creating it if needed. It sits at the origin of the chunk.
+	 */
+	private Body getStaticBody() {
+		if(staticBody == null) {
+			final BodyDef bodyDef = new BodyDef();
+			bodyDef.type          = BodyDef.BodyType.StaticBody;
+			bodyDef.position.set((float)data.getChunkX() * TChunk.CHUNK_SIZE * TWorld.TILE_SIZE, (float)data.getChunkY() * TChunk.CHUNK_SIZE * TWorld.TILE_SIZE);
+			staticBody            = getPhysicalWorld().createBody(bodyDef);
+		}
+		return staticBody;
+	}
+
 	@Override
 	public void dispose() {
 		activeObjects.clear();
+		for(final TObjectRuntime r : awakeObjects)
+			if(r.isTickingIn(this))
+				r.setTickingIn(null);
+		awakeObjects.clear();
+		wokenObjects.clear();
 		garbageObjects.clear();
 		transferredObjects.clear();
+		runtimes.clear();
+	}
+	
+	/**
+	 * Marks a runtime for garbage collection. Guards against the same body being destroyed twice.
+	 */
+	private void discard(TObjectRuntime r) {
+		if(runtimes.remove(r.getAbstract()) == r)
+			garbageObjects.add(r);
+	}
+	
+	/**
+	 * Removes every runtime that is no longer indexed from the active objects, and every runtime that is no longer indexed or is asleep from
+	 * the awake objects, in one pass each.
+	 */
+	private void compact() {
+		int kept = 0;
+		for(int i = 0; i < activeObjects.size; i++) {
+			final TObjectRuntime r = activeObjects.get(i);
+			if(runtimes.get(r.getAbstract()) == r)
+				activeObjects.set(kept++, r);
+		}
+		activeObjects.truncate(kept);
+		kept = 0;
+		for(int i = 0; i < awakeObjects.size; i++) {
+			final TObjectRuntime r = awakeObjects.get(i);
+			if(runtimes.get(r.getAbstract()) == r && !r.isAsleep())
+				awakeObjects.set(kept++, r);
+			else if(r.isTickingIn(this))
+				r.setTickingIn(null);
+		}
+		awakeObjects.truncate(kept);
+	}
+	
+	/**
+	 * Ticks the objects woken up since the last update again. Objects that were discarded or transferred in the meantime are dropped, and so
+	 * are objects woken up during the update they fell asleep in, which were never removed; see {@link TObjectRuntime}.isTickingIn(owner).
+	 */
+	private void handleWakeUps() {
+		if(wokenObjects.size != 0) {
+			for(final TObjectRuntime r : wokenObjects) {
+				if(runtimes.get(r.getAbstract()) == r && !r.isTickingIn(this)) {
+					awakeObjects.add(r);
+					r.setTickingIn(this);
+				}
+			}
+			wokenObjects.clear();
+		}
+	}
+	
+	/**
+	 * Efficiently stops ticking the objects that fell asleep during the update.
+	 */
+	private void handleSleepers() {
+		if(sleepers) {
+			compact();
+			sleepers = false;
+		}
 	}
 
 	/**
@@ -133,7 +300,7 @@ public final class TChunkRuntime implements Disposable {
 	 */
 	private void handleTransfers() {
 		if(transferredObjects.size != 0) {
-			activeObjects.removeAll(transferredObjects, false);
+			compact();
 			transferredObjects.clear();
 		}
 	}
@@ -145,8 +312,8 @@ public final class TChunkRuntime implements Disposable {
 	private void handleGarbageCollection() {
 		if(garbageObjects.size != 0) {
 			for(final TObjectRuntime r : garbageObjects) 
-				data.getParent().getPhysicalWorld().destroyBody(r.getPhysical());
-			activeObjects.removeAll(garbageObjects, false);
+				r.destroy();
+			compact();
 			garbageObjects.clear();
 		}
 	}
@@ -0,0 +1,399 @@
+package dev.iwilkey.terrafort.world;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.LongMap;
+
+import dev.iwilkey.terrafort.gfx.TGraphics;
+import dev.iwilkey.terrafort.obj.runtime.TObjectRuntime;
+import dev.iwilkey.terrafort.obj.type.TMob;
+import dev.iwilkey.terrafort.obj.type.TObject;
+
+/**
+ * Manages every {@link TMob} of a {@link TWorld}. Mobs are bucketed by the chunk they stand in, so spatial queries and drawing only visit the
+ * chunks they cover. Mobs are ticked in tiers by the distance of their chunk from the focus, using the simulation distances of the world:
+ * mobs within the full rate distance are ticked every frame, mobs within the reduced rate distance every reduced rate interval frames, and
+ * mobs past that round-robin, at most {@link TMobManager}.DEFAULT_FAR_BUDGET a frame. A mob is always given all of the time since it was last
+ * ticked. Only mobs in view are animated.
+ *
+ * <p>
+ * Only the bodies of mobs within the full rate distance are simulated by the physics engine. Past it, a mob still thinks when it is ticked,
+ * but its body is taken out of the physics engine and stands still, so neither stepping nor interpolating the world costs more per mob, and
+ * no mob walks anywhere unsupervised between two of its ticks.
+ * </p>
+ * @author Ian Wilkey (iwilkey)
+ */
+public final class TMobManager {
+
+	/**
+	 * The default maximum amount of mobs past the reduced rate distance ticked in one frame.
+	 */
+	public static final int DEFAULT_FAR_BUDGET = 64;
+
+	private static final int NEAR   = 0;
+	private static final int MIDDLE = 1;
+	private static final int FAR    = 2;
+
+	/**
+	 * The bookkeeping of one managed mob.
+	 */
+	private static final class TMobSlot {
+
+		final TObjectRuntime runtime;
+		final TMob           mob;
+
+		int     chunkX;
+		int     chunkY;
+		int     tier;
+		int     tierIndex;
+		int     bucketIndex;
+		double  tickedAt;
+		boolean removed;
+
+		TMobSlot(TObjectRuntime runtime, TMob mob) {
+			this.runtime = runtime;
+			this.mob     = mob;
+		}
+
+	}
+
+	private final TWorld                             world;
+	private final IdentityHashMap<TObject, TMobSlot> slots;
+	private final LongMap<Array<TMobSlot>>           buckets;
+	private final Array<TMobSlot>[]                  tiers;
+	private final Array<TMobSlot>                    moved;
+	private final Array<TMobSlot>                    garbage;
+
+	private double clock           = 0.0;
+	private int    farBudget       = DEFAULT_FAR_BUDGET;
+	private int    farCursor       = 0;
+	private int    middleFrame     = 0;
+	private int    tickedLastFrame = 0;
+	private int    focusChunkX     = Integer.MIN_VALUE;
+	private int    focusChunkY     = Integer.MIN_VALUE;
+	private int    fullDistance    = -1;
+	private int    reducedDistance = -1;
+	private int    viewMinChunkX   = 0;
+	private int    viewMinChunkY   = 0;
+	private int    viewMaxChunkX   = -1;
+	private int    viewMaxChunkY   = -1;
+
+	/**
+	 * Creates a new, empty mob manager for given {@link TWorld}.
+	 */
+	@SuppressWarnings("unchecked")
+	public TMobManager(TWorld world) {
+		this.world = world;
+		slots      = new IdentityHashMap<>();
+		buckets    = new LongMap<>();
+		tiers      = new Array[] { new Array<>(), new Array<>(), new Array<>() };
+		moved      = new Array<>();
+		garbage    = new Array<>();
+	}
+
+	/**
+	 * Creates a runtime for given mob and starts managing it. Returns the runtime, or null if the mob is already managed.
+	 */
+	public TObjectRuntime add(TMob mob) {
+		if(slots.containsKey(mob))
+			return null;
+		final TMobSlot slot = new TMobSlot(new TObjectRuntime(world, mob), mob);
+		slot.chunkX         = chunkOf(mob.worldX);
+		slot.chunkY         = chunkOf(mob.worldY);
+		slot.tier           = tierOf(slot);
+		slot.tickedAt       = clock;
+		slots.put(mob, slot);
+		enterBucket(slot);
+		enterTier(slot);
+		slot.runtime.setSimulated(slot.tier == NEAR);
+		return slot.runtime;
+	}
+
+	/**
+	 * Stops managing given mob. Its runtime is destroyed at the start of the next update. Returns whether or not it was managed.
+	 */
+	public boolean remove(TObject mob) {
+		final TMobSlot slot = slots.remove(mob);
+		if(slot == null)
+			return false;
+		slot.removed = true;
+		garbage.add(slot);
+		return true;
+	}
+
+	/**
+	 * Returns the runtime of given mob, or null if it isn't managed.
+	 */
+	public TObjectRuntime getRuntime(TObject mob) {
+		final TMobSlot slot = slots.get(mob);
+		return (slot == null) ? null : slot.runtime;
+	}
+
+	/**
+	 * Destroys the mobs removed since the last update, then ticks the mobs due this frame around given focus, in world coordinates.
+	 */
+	public void update(float dt, float focusX, float focusY) {
+		if(garbage.size != 0) {
+			for(final TMobSlot slot : garbage) {
+				leaveBucket(slot);
+				leaveTier(slot);
+				slot.runtime.destroy();
+			}
+			garbage.clear();
+		}
+		clock += dt;
+		final int chunkX = chunkOf(focusX);
+		final int chunkY = chunkOf(focusY);
+		if(chunkX != focusChunkX || chunkY != focusChunkY || fullDistance != world.getFullRateDistance()
+				|| reducedDistance != world.getReducedRateDistance()) {
+			focusChunkX     = chunkX;
+			focusChunkY     = chunkY;
+			fullDistance    = world.getFullRateDistance();
+			reducedDistance = world.getReducedRateDistance();
+			retierAll();
+		}
+		tickedLastFrame = 0;
+		final Array<TMobSlot> near = tiers[NEAR];
+		for(int i = 0; i < near.size; i++)
+			tick(near.get(i));
+		final Array<TMobSlot> middle   = tiers[MIDDLE];
+		final int             interval = world.getReducedRateInterval();
+		middleFrame = (middleFrame + 1) % interval;
+		for(int i = middleFrame; i < middle.size; i += interval)
+			tick(middle.get(i));
+		// past the reduced rate distance, a frame costs the same no matter how many mobs there are...
+		final Array<TMobSlot> far    = tiers[FAR];
+		final int             budget = Math.min(far.size, farBudget);
+		for(int i = 0; i < budget; i++) {
+			if(farCursor >= far.size)
+				farCursor = 0;
+			tick(far.get(farCursor++));
+		}
+		// tiers and buckets are only changed once nothing iterates them...
+		for(final TMobSlot slot : moved) {
+			if(slot.removed)
+				continue;
+			leaveBucket(slot);
+			slot.chunkX = chunkOf(slot.mob.worldX);
+			slot.chunkY = chunkOf(slot.mob.worldY);
+			enterBucket(slot);
+			final int tier = tierOf(slot);
+			if(tier != slot.tier) {
+				leaveTier(slot);
+				slot.tier = tier;
+				enterTier(slot);
+				slot.runtime.setSimulated(tier == NEAR);
+			}
+		}
+		moved.clear();
+	}
+
+	/**
+	 * Remembers the state of the body of every mob within the full rate distance right before a physics step, so it can be interpolated. The
+	 * bodies of the other mobs aren't stepped.
+	 */
+	public void capturePreviousStates() {
+		final Array<TMobSlot> near = tiers[NEAR];
+		for(int i = 0; i < near.size; i++)
+			near.get(i).runtime.capturePreviousState();
+	}
+
+	/**
+	 * Submits every mob in the buckets of the chunks that overlap given tile bounds, and the chunks around them, to the render queue. The
+	 * bounds are remembered; only mobs within them are animated by the next update.
+	 */
+	public void render(long minTileX, long minTileY, long maxTileX, long maxTileY) {
+		// a mob is bucketed by its position when it was last ticked, so it can stand a bit outside of its bucket's chunk...
+		viewMinChunkX = TChunk.tileToChunk(minTileX) - 1;
+		viewMinChunkY = TChunk.tileToChunk(minTileY) - 1;
+		viewMaxChunkX = TChunk.tileToChunk(maxTileX) + 1;
+		viewMaxChunkY = TChunk.tileToChunk(maxTileY) + 1;
+		final long area = ((long)viewMaxChunkX - viewMinChunkX + 1) * ((long)viewMaxChunkY - viewMinChunkY + 1);
+		if(buckets.size <= area) {
+			for(final Array<TMobSlot> bucket : buckets.values())
+				if(inView(bucket.first()))
+					for(final TMobSlot slot : bucket)
+						TGraphics.draw(slot.runtime);
+			return;
+		}
+		for(int cx = viewMinChunkX; cx <= viewMaxChunkX; cx++)
+			for(int cy = viewMinChunkY; cy <= viewMaxChunkY; cy++) {
+				final Array<TMobSlot> bucket = buckets.get(TChunk.positionHash(cx, cy));
+				if(bucket != null)
+					for(final TMobSlot slot : bucket)
+						TGraphics.draw(slot.runtime);
+			}
+	}
+
+	/**
+	 * Adds every managed mob on given tile coordinates to "out".
+	 */
+	public void collectAt(long tileX, long tileY, Array<TObject> out) {
+		final int chunkX = TChunk.tileToChunk(tileX);
+		final int chunkY = TChunk.tileToChunk(tileY);
+		for(int cx = chunkX - 1; cx <= chunkX + 1; cx++)
+			for(int cy = chunkY - 1; cy <= chunkY + 1; cy++) {
+				final Array<TMobSlot> bucket = buckets.get(TChunk.positionHash(cx, cy));
+				if(bucket == null)
+					continue;
+				for(final TMobSlot slot : bucket)
+					if(!slot.removed && TSpatialIndex.worldToTile(slot.mob.worldX) == tileX && TSpatialIndex.worldToTile(slot.mob.worldY) == tileY)
+						out.add(slot.mob);
+			}
+	}
+
+	/**
+	 * Adds every managed mob whose position is within "radius" world units of (worldX, worldY) to "out".
+	 */
+	public void collectNear(float worldX, float worldY, float radius, Array<TObject> out) {
+		final float r2   = radius * radius;
+		final int   minX = chunkOf(worldX - radius) - 1;
+		final int   maxX = chunkOf(worldX + radius) + 1;
+		final int   minY = chunkOf(worldY - radius) - 1;
+		final int   maxY = chunkOf(worldY + radius) + 1;
+		for(int cx = minX; cx <= maxX; cx++)
+			for(int cy = minY; cy <= maxY; cy++) {
+				final Array<TMobSlot> bucket = buckets.get(TChunk.positionHash(cx, cy));
+				if(bucket == null)
+					continue;
+				for(final TMobSlot slot : bucket) {
+					final float dx = slot.mob.worldX - worldX;
+					final float dy = slot.mob.worldY - worldY;
+					if(!slot.removed && dx * dx + dy * dy <= r2)
+						out.add(slot.mob);
+				}
+			}
+	}
+
+	/**
+	 * Adds every managed mob to "out", in no particular order.
+	 */
+	public void collectMobs(ArrayList<TMob> out) {
+		for(final TMobSlot slot : slots.values())
+			out.add(slot.mob);
+	}
+
+	/**
+	 * Sets the maximum amount of mobs past the reduced rate distance ticked in one frame.
+	 */
+	public void setFarBudget(int farBudget) {
+		if(farBudget <= 0)
+			throw new IllegalArgumentException("[Terrafort Game Engine] The far mob budget must be positive, not " + farBudget + "!");
+		this.farBudget = farBudget;
+	}
+
+	public int getFarBudget() {
+		return farBudget;
+	}
+
+	/**
+	 * The amount of managed mobs.
+	 */
+	public int getCount() {
+		return slots.size();
+	}
+
+	/**
+	 * The amount of mobs ticked by the last update.
+	 */
+	public int getTickedCount() {
+		return tickedLastFrame;
+	}
+
+	/**
+	 * Ticks one mob with all of the time since it was last ticked.
+	 */
+	private void tick(TMobSlot slot) {
+		if(slot.removed)
+			return;
+		final float dt = (float)(clock - slot.tickedAt);
+		slot.tickedAt  = clock;
+		slot.mob.setAnimated(inView(slot));
+		slot.runtime.tick(dt);
+		tickedLastFrame++;
+		if(slot.mob.currentHealthPoints <= 0) {
+			slot.mob.death(slot.runtime);
+			world.removeObject(slot.mob);
+			return;
+		}
+		if(chunkOf(slot.mob.worldX) != slot.chunkX || chunkOf(slot.mob.worldY) != slot.chunkY)
+			moved.add(slot);
+	}
+
+	/**
+	 * Sorts every mob into its tier again. Only needed when the focus crosses into another chunk or the simulation distances change.
+	 */
+	private void retierAll() {
+		for(final Array<TMobSlot> tier : tiers)
+			tier.clear();
+		// removed mobs are always destroyed before this, so every mob in a tier is still managed...
+		for(final TMobSlot slot : slots.values()) {
+			slot.tier = tierOf(slot);
+			enterTier(slot);
+			slot.runtime.setSimulated(slot.tier == NEAR);
+		}
+		farCursor = 0;
+	}
+
+	/**
+	 * The tier of a mob by the distance of its chunk from the focus chunk. The client is always ticked every frame.
+	 */
+	private int tierOf(TMobSlot slot) {
+		if(slot.mob == TWorld.client || TWorld.withinDistance(slot.chunkX, slot.chunkY, focusChunkX, focusChunkY, fullDistance))
+			return NEAR;
+		if(TWorld.withinDistance(slot.chunkX, slot.chunkY, focusChunkX, focusChunkY, reducedDistance))
+			return MIDDLE;
+		return FAR;
+	}
+
+	private boolean inView(TMobSlot slot) {
+		return slot.chunkX >= viewMinChunkX && slot.chunkX <= viewMaxChunkX && slot.chunkY >= viewMinChunkY && slot.chunkY <= viewMaxChunkY;
+	}
+
+	private void enterTier(TMobSlot slot) {
+		slot.tierIndex = tiers[slot.tier].size;
+		tiers[slot.tier].add(slot);
+	}
+
+	private void leaveTier(TMobSlot slot) {
+		final Array<TMobSlot> tier = tiers[slot.tier];
+		final TMobSlot        last = tier.pop();
+		if(last != slot) {
+			tier.set(slot.tierIndex, last);
+			last.tierIndex = slot.tierIndex;
+		}
+	}
+
+	private void enterBucket(TMobSlot slot) {
+		final long      key    = TChunk.positionHash(slot.chunkX, slot.chunkY);
+		Array<TMobSlot> bucket = buckets.get(key);
+		if(bucket == null) {
+			bucket = new Array<>(false, 4);
+			buckets.put(key, bucket);
+		}
+		slot.bucketIndex = bucket.size;
+		bucket.add(slot);
+	}
+
+	private void leaveBucket(TMobSlot slot) {
+		final long            key    = TChunk.positionHash(slot.chunkX, slot.chunkY);
+		final Array<TMobSlot> bucket = buckets.get(key);
+		final TMobSlot        last   = bucket.pop();
+		if(last != slot) {
+			bucket.set(slot.bucketIndex, last);
+			last.bucketIndex = slot.bucketIndex;
+		}
+		if(bucket.size == 0)
+			buckets.remove(key);
+	}
+
+	/**
+	 * The chunk coordinate of given world coordinate.
+	 */
+	private static int chunkOf(float world) {
+		return TChunk.tileToChunk(TSpatialIndex.worldToTile(world));
+	}
+
+}
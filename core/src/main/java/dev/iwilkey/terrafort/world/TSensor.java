@@ -0,0 +1,261 @@
+package dev.iwilkey.terrafort.world;
+
+import java.util.Arrays;
+
+import com.badlogic.gdx.utils.Array;
+
+import dev.iwilkey.terrafort.obj.type.TObject;
+import dev.iwilkey.terrafort.obj.type.TParticulate;
+
+/**
+ * Answers "what is the closest object in this arc" queries of a {@link TWorld} against its spatial indices instead of the physics engine. An
+ * arc starts at an origin, points in a direction, reaches "length" world units and opens "halfAngle" radians to both sides. Objects are
+ * tested against the bounds of their collider, like a ray of the physics engine would be; an object whose collider holds the origin can't be
+ * sensed. Nothing is allocated per query.
+ *
+ * <p>
+ * Queries can be answered right away with sense(...), or submitted with submit(...) and answered together by resolve(). Submitted queries
+ * are sorted by the chunk of their origin, and the objects around a chunk are only collected once for every query that starts in it.
+ * </p>
+ * @author Ian Wilkey (iwilkey)
+ */
+public final class TSensor {
+
+	/**
+	 * Receives the answers of submitted queries.
+	 */
+	public interface TListener {
+
+		/**
+		 * Called by resolve() with the closest object in the arc of a query submitted with given tag, or null if there is none.
+		 */
+		void onSensed(int tag, TObject sensed);
+
+	}
+
+	/**
+	 * The maximum amount of queries that can be submitted between two calls to resolve().
+	 */
+	public static final int MAX_QUERIES = 1 << 14;
+
+	/**
+	 * How far past its length an arc looks for the centers of objects that could still reach into it.
+	 */
+	public static final float REACH_PADDING = TWorld.TILE_SIZE * 2;
+
+	private static final int INDEX_BITS = 14;
+	private static final int INDEX_MASK = (1 << INDEX_BITS) - 1;
+
+	private final TWorld         world;
+	private final Array<TObject> candidates;
+	private final float[]        originX;
+	private final float[]        originY;
+	private final float[]        directionX;
+	private final float[]        directionY;
+	private final float[]        length;
+	private final float[]        halfAngle;
+	private final TObject[]      ignore;
+	private final TListener[]    listener;
+	private final int[]          tag;
+	private final TObject[]      result;
+	private final long[]         order;
+
+	private int     count     = 0;
+	private boolean resolving = false;
+
+	/**
+	 * Creates a new sensor for given {@link TWorld}.
+	 */
+	public TSensor(TWorld world) {
+		this.world = world;
+		candidates = new Array<>(false, 64);
+		originX    = new float[MAX_QUERIES];
+		originY    = new float[MAX_QUERIES];
+		directionX = new float[MAX_QUERIES];
+		directionY = new float[MAX_QUERIES];
+		length     = new float[MAX_QUERIES];
+		halfAngle  = new float[MAX_QUERIES];
+		ignore     = new TObject[MAX_QUERIES];
+		listener   = new TListener[MAX_QUERIES];
+		tag        = new int[MAX_QUERIES];
+		result     = new TObject[MAX_QUERIES];
+		order      = new long[MAX_QUERIES];
+	}
+
+	/**
+	 * Returns the closest object, other than "ignore", in the arc from (originX, originY) towards (directionX, directionY), or null if there
+	 * is none. The direction doesn't need to be normalized.
+	 */
+	public TObject sense(float originX, float originY, float directionX, float directionY, float length, float halfAngle, TObject ignore) {
+		final float norm = (float)Math.sqrt(directionX * directionX + directionY * directionY);
+		if(norm == 0)
+			return null;
+		candidates.clear();
+		world.collectObjectsNear(originX, originY, length + REACH_PADDING, candidates);
+		final TObject sensed = closestInArc(originX, originY, directionX / norm, directionY / norm, length, halfAngle, ignore);
+		candidates.clear();
+		return sensed;
+	}
+
+	/**
+	 * Submits a query to be answered by the next call to resolve(), which hands the answer to "listener" with given tag. Same arguments as
+	 * sense(...). Can't be called from a listener.
+	 */
+	public void submit(float originX, float originY, float directionX, float directionY, float length, float halfAngle, TObject ignore,
+			TListener listener, int tag) {
+		if(resolving)
+			throw new IllegalStateException("[Terrafort Game Engine] A sense query can't be submitted while the sensor is resolving!");
+		if(count == MAX_QUERIES)
+			throw new IllegalStateException("[Terrafort Game Engine] More than " + MAX_QUERIES + " sense queries were submitted before they were resolved!");
+		final float norm = (float)Math.sqrt(directionX * directionX + directionY * directionY);
+		this.originX[count]    = originX;
+		this.originY[count]    = originY;
+		this.directionX[count] = (norm == 0) ? 0 : directionX / norm;
+		this.directionY[count] = (norm == 0) ? 0 : directionY / norm;
+		this.length[count]     = length;
+		this.halfAngle[count]  = halfAngle;
+		this.ignore[count]     = ignore;
+		this.listener[count]   = listener;
+		this.tag[count]        = tag;
+		count++;
+	}
+
+	/**
+	 * Answers every submitted query, then hands the answers to their listeners in the order the queries were submitted.
+	 */
+	public void resolve() {
+		if(count == 0)
+			return;
+		// the chunk of the origin goes in the high bits and the query in the low ones, so sorting groups queries by chunk...
+		for(int i = 0; i < count; i++) {
+			final long chunkX = TChunk.tileToChunk(TSpatialIndex.worldToTile(originX[i])) & 0x3fffffL;
+			final long chunkY = TChunk.tileToChunk(TSpatialIndex.worldToTile(originY[i])) & 0x3fffffL;
+			order[i]          = (((chunkX << 22) | chunkY) << INDEX_BITS) | i;
+		}
+		Arrays.sort(order, 0, count);
+		int start = 0;
+		while(start < count) {
+			final long group = order[start] >>> INDEX_BITS;
+			int        end   = start;
+			float      reach = 0;
+			while(end < count && (order[end] >>> INDEX_BITS) == group)
+				reach = Math.max(reach, length[(int)(order[end++] & INDEX_MASK)]);
+			// the masked chunk coordinates can collide, so the objects are collected around the bounds of the queries themselves...
+			float minX = Float.MAX_VALUE;
+			float minY = Float.MAX_VALUE;
+			float maxX = -Float.MAX_VALUE;
+			float maxY = -Float.MAX_VALUE;
+			for(int o = start; o < end; o++) {
+				final int q = (int)(order[o] & INDEX_MASK);
+				minX        = Math.min(minX, originX[q]);
+				minY        = Math.min(minY, originY[q]);
+				maxX        = Math.max(maxX, originX[q]);
+				maxY        = Math.max(maxY, originY[q]);
+			}
+			final float halfW = (maxX - minX) / 2f;
+			final float halfH = (maxY - minY) / 2f;
+			candidates.clear();
+			world.collectObjectsNear(minX + halfW, minY + halfH, (float)Math.sqrt(halfW * halfW + halfH * halfH) + reach + REACH_PADDING, candidates);
+			for(int o = start; o < end; o++) {
+				final int q = (int)(order[o] & INDEX_MASK);
+				result[q]   = (directionX[q] == 0 && directionY[q] == 0) ? null
+						    : closestInArc(originX[q], originY[q], directionX[q], directionY[q], length[q], halfAngle[q], ignore[q]);
+			}
+			start = end;
+		}
+		candidates.clear();
+		resolving = true;
+		try {
+			for(int i = 0; i < count; i++)
+				listener[i].onSensed(tag[i], result[i]);
+		} finally {
+			resolving = false;
+			// don't keep anything alive until the next batch...
+			Arrays.fill(ignore, 0, count, null);
+			Arrays.fill(listener, 0, count, null);
+			Arrays.fill(result, 0, count, null);
+			count = 0;
+		}
+	}
+
+	/**
+	 * The amount of queries waiting for resolve().
+	 */
+	public int getPendingCount() {
+		return count;
+	}
+
+	/**
+	 * The closest of the candidates, other than "ignore", whose collider bounds reach into the arc. The direction must be normalized.
+	 */
+	private TObject closestInArc(float originX, float originY, float directionX, float directionY, float length, float halfAngle, TObject ignore) {
+		final float sin      = (float)Math.sin(halfAngle);
+		final float cos      = (float)Math.cos(halfAngle);
+		// the directions of both edges of the arc...
+		final float leftX    = directionX * cos - directionY * sin;
+		final float leftY    = directionX * sin + directionY * cos;
+		final float rightX   = directionX * cos + directionY * sin;
+		final float rightY   = -directionX * sin + directionY * cos;
+		TObject     closest  = null;
+		float       distance = Float.MAX_VALUE;
+		for(int i = 0; i < candidates.size; i++) {
+			final TObject o = candidates.get(i);
+			if(o == ignore || o instanceof TParticulate)
+				continue;
+			// the bounds of the collider, which is centered on the object and may be rotated...
+			final float rc   = Math.abs((float)Math.cos(o.rotationRadians));
+			final float rs   = Math.abs((float)Math.sin(o.rotationRadians));
+			final float hw   = rc * o.colliderWidth + rs * o.colliderHeight;
+			final float hh   = rs * o.colliderWidth + rc * o.colliderHeight;
+			final float minX = o.worldX - hw - originX;
+			final float minY = o.worldY - hh - originY;
+			final float maxX = o.worldX + hw - originX;
+			final float maxY = o.worldY + hh - originY;
+			// the point of the bounds closest to the origin...
+			final float cx   = Math.max(minX, Math.min(0, maxX));
+			final float cy   = Math.max(minY, Math.min(0, maxY));
+			if(cx == 0 && cy == 0)
+				continue;
+			final float gap  = (float)Math.sqrt(cx * cx + cy * cy);
+			if(gap > length || gap >= distance)
+				continue;
+			final boolean inArc = halfAngle >= Math.PI || Math.abs((float)Math.atan2(directionX * cy - directionY * cx, directionX * cx + directionY * cy)) <= halfAngle;
+			// the bounds are convex, so if their closest point is outside of the arc they can only reach into it across one of its edges...
+			final float   hit   = inArc ? gap : Math.min(enter(leftX, leftY, length, minX, minY, maxX, maxY), enter(rightX, rightY, length, minX, minY, maxX, maxY));
+			if(hit >= distance)
+				continue;
+			closest  = o;
+			distance = hit;
+		}
+		return closest;
+	}
+
+	/**
+	 * How far along a segment from the origin, in given normalized direction and of given length, it enters the bounds relative to the origin;
+	 * Float.MAX_VALUE if it doesn't.
+	 */
+	private static float enter(float directionX, float directionY, float length, float minX, float minY, float maxX, float maxY) {
+		float near = 0;
+		float far  = length;
+		if(directionX == 0) {
+			if(minX > 0 || maxX < 0)
+				return Float.MAX_VALUE;
+		} else {
+			final float a = minX / directionX;
+			final float b = maxX / directionX;
+			near          = Math.max(near, Math.min(a, b));
+			far           = Math.min(far, Math.max(a, b));
+		}
+		if(directionY == 0) {
+			if(minY > 0 || maxY < 0)
+				return Float.MAX_VALUE;
+		} else {
+			final float a = minY / directionY;
+			final float b = maxY / directionY;
+			near          = Math.max(near, Math.min(a, b));
+			far           = Math.min(far, Math.max(a, b));
+		}
+		return (near <= far) ? near : Float.MAX_VALUE;
+	}
+
+}
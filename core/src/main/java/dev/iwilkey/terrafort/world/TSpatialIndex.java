@@ -0,0 +1,126 @@
+package dev.iwilkey.terrafort.world;
+
+import java.util.IdentityHashMap;
+
+import com.badlogic.gdx.utils.Array;
+
+import dev.iwilkey.terrafort.obj.type.TObject;
+
+/**
+ * A tile-cell spatial index of the {@link TObject}s a {@link TChunk} holds. Every tile of the chunk has a cell, so membership, removal and 
+ * "objects at tile" queries don't depend on how many objects the chunk holds. Objects are keyed by identity.
+ * @author Ian Wilkey (iwilkey)
+ */
+public final class TSpatialIndex {
+
+	private final Array<TObject>[]                  cells;
+	private final IdentityHashMap<TObject, Integer> cellOf;
+	
+	/**
+	 * Creates an empty index for one chunk.
+	 */
+	@SuppressWarnings("unchecked")
+	public TSpatialIndex() {
+		cells  = new Array[TChunk.CHUNK_AREA];
+		cellOf = new IdentityHashMap<>();
+	}
+	
+	/**
+	 * Adds an object to the cell of the tile it's currently on. Does nothing if it's already indexed.
+	 */
+	public void add(TObject object) {
+		if(cellOf.containsKey(object))
+			return;
+		final int cell = cellFor(object);
+		cellOf.put(object, cell);
+		getOrCreateCell(cell).add(object);
+	}
+	
+	/**
+	 * Removes an object from the index. Returns whether or not it was indexed.
+	 */
+	public boolean remove(TObject object) {
+		final Integer cell = cellOf.remove(object);
+		if(cell == null)
+			return false;
+		cells[cell].removeValue(object, true);
+		return true;
+	}
+	
+	/**
+	 * Moves an object to the cell of the tile it's currently on, if it changed. Only needs to be called for objects that move.
+	 */
+	public void update(TObject object) {
+		final Integer cell = cellOf.get(object);
+		if(cell == null)
+			return;
+		final int now = cellFor(object);
+		if(now == cell)
+			return;
+		cells[cell].removeValue(object, true);
+		getOrCreateCell(now).add(object);
+		cellOf.put(object, now);
+	}
+	
+	/**
+	 * Whether or not the object is indexed.
+	 */
+	public boolean contains(TObject object) {
+		return cellOf.containsKey(object);
+	}
+	
+	/**
+	 * Adds every object in the cell at given local index (see {@link TChunk}.localIndex(localX, localY)) to "out".
+	 */
+	public void collect(int localIndex, Array<TObject> out) {
+		final Array<TObject> cell = cells[localIndex];
+		if(cell != null)
+			out.addAll(cell);
+	}
+	
+	/**
+	 * The amount of objects in the cell at given local index.
+	 */
+	public int count(int localIndex) {
+		final Array<TObject> cell = cells[localIndex];
+		return (cell == null) ? 0 : cell.size;
+	}
+	
+	/**
+	 * The amount of objects indexed.
+	 */
+	public int size() {
+		return cellOf.size();
+	}
+	
+	/**
+	 * Removes every object from the index.
+	 */
+	public void clear() {
+		for(final Array<TObject> cell : cells)
+			if(cell != null)
+				cell.clear();
+		cellOf.clear();
+	}
+	
+	private Array<TObject> getOrCreateCell(int cell) {
+		if(cells[cell] == null)
+			cells[cell] = new Array<>(false, 2);
+		return cells[cell];
+	}
+	
+	/**
+	 * Returns the tile coordinate that contains the given world coordinate. The same rounding is used to decide the jurisdiction of a {@link TObject}.
+	 */
+	public static int worldToTile(float world) {
+		return Math.round(world / TWorld.TILE_SIZE);
+	}
+	
+	/**
+	 * Returns the local index of the tile an object is currently on.
+	 */
+	private static int cellFor(TObject object) {
+		return TChunk.localIndex(TChunk.tileToLocal(worldToTile(object.worldX)), TChunk.tileToLocal(worldToTile(object.worldY)));
+	}
+	
+}
@@ -0,0 +1,235 @@
+package dev.iwilkey.terrafort.world;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.glutils.FrameBuffer;
+import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
+import com.badlogic.gdx.graphics.glutils.ShapeRenderer.ShapeType;
+import com.badlogic.gdx.utils.Disposable;
+
+import dev.iwilkey.terrafort.gfx.TGraphics;
+import dev.iwilkey.terrafort.gfx.TRect;
+import dev.iwilkey.terrafort.gfx.TRenderableSprite;
+import dev.iwilkey.terrafort.world.terrain.TBiome;
+
+/**
+ * Bakes the terrain layer of each generated {@link TChunk}, transition borders included, into a {@link FrameBuffer} once, so the whole chunk is
+ * drawn as a single sprite every frame. A bake is only redone when the tiles of the chunk, or of a neighbor it borders, change. Frame buffers are
+ * pooled and handed to the least recently drawn chunks when the pool is full.
+ * @author Ian Wilkey (iwilkey)
+ */
+public final class TTerrainCache implements Disposable {
+
+	/**
+	 * The size, in pixels, of one side of a baked chunk.
+	 */
+	public static final int SURFACE_SIZE         = TChunk.CHUNK_SIZE * TWorld.TILE_SIZE;
+
+	/**
+	 * The maximum amount of baked chunks kept on the GPU at once.
+	 */
+	public static final int MAX_SURFACES         = 64;
+
+	/**
+	 * The maximum amount of chunks baked in one frame. Chunks over budget are drawn tile by tile until their turn comes.
+	 */
+	public static final int MAX_BAKES_PER_FRAME  = 4;
+
+	private final LinkedHashMap<Long, TTerrainSurface> surfaces;
+	private final OrthographicCamera                   projection;
+	private final SpriteBatch                          batch;
+	private final ShapeRenderer                        renderer;
+
+	private int budget = MAX_BAKES_PER_FRAME;
+
+	/**
+	 * Creates a new, empty terrain cache. Must be created on the render thread.
+	 */
+	public TTerrainCache() {
+		surfaces   = new LinkedHashMap<>(MAX_SURFACES, 0.75f, true);
+		projection = new OrthographicCamera(SURFACE_SIZE, SURFACE_SIZE);
+		batch      = new SpriteBatch();
+		renderer   = new ShapeRenderer();
+		projection.setToOrtho(false, SURFACE_SIZE, SURFACE_SIZE);
+		batch.setProjectionMatrix(projection.combined);
+		renderer.setProjectionMatrix(projection.combined);
+	}
+
+	/**
+	 * Resets the per-frame bake budget. Call once per frame before any draw(chunk).
+	 */
+	public void begin() {
+		budget = MAX_BAKES_PER_FRAME;
+	}
+
+	/**
+	 * Submits the terrain of given chunk to {@link TGraphics}. A chunk still being generated is drawn as one flat placeholder. Returns false if
+	 * the chunk is generated but couldn't be baked this frame; the caller should then draw its tiles individually.
+	 */
+	public boolean draw(TChunk chunk) {
+		final long key = chunk.getPositionHash();
+		if(!chunk.isGenerated()) {
+			final TRect placeholder = new TRect(centerOf(chunk.getChunkX()), centerOf(chunk.getChunkY()), SURFACE_SIZE, SURFACE_SIZE);
+			placeholder.setColor(TBiome.PLACEHOLDER_COLOR);
+			placeholder.setDepth(255);
+			TGraphics.draw(placeholder);
+			return true;
+		}
+		TTerrainSurface surface = surfaces.get(key);
+		if(surface == null || !surface.valid) {
+			if(budget <= 0)
+				return false;
+			if(surface == null)
+				surface = obtain(key, chunk);
+			bake(chunk, surface);
+			budget--;
+		}
+		TGraphics.draw(surface);
+		return true;
+	}
+
+	/**
+	 * Invalidates the baked terrain of the chunk at given chunk coordinates and of its eight neighbors, whose borders may depend on its tiles.
+	 */
+	public void invalidateAround(int chunkX, int chunkY) {
+		for(int i = -1; i <= 1; i++)
+			for(int j = -1; j <= 1; j++) {
+				final TTerrainSurface surface = surfaces.get(TChunk.positionHash(chunkX + i, chunkY + j));
+				if(surface != null)
+					surface.valid = false;
+			}
+	}
+
+	/**
+	 * Returns the amount of chunks currently baked.
+	 */
+	public int size() {
+		return surfaces.size();
+	}
+
+	/**
+	 * Returns a surface for the chunk at given key, reusing the frame buffer of the least recently drawn surface if the pool is full.
+	 */
+	private TTerrainSurface obtain(long key, TChunk chunk) {
+		FrameBuffer buffer = null;
+		if(surfaces.size() >= MAX_SURFACES) {
+			final Iterator<Map.Entry<Long, TTerrainSurface>> eldest = surfaces.entrySet().iterator();
+			buffer = eldest.next().getValue().buffer;
+			eldest.remove();
+		} else {
+			buffer = new FrameBuffer(Pixmap.Format.RGBA8888, SURFACE_SIZE, SURFACE_SIZE, false);
+			buffer.getColorBufferTexture().setFilter(Texture.TextureFilter.Nearest, Texture.TextureFilter.Nearest);
+		}
+		final TTerrainSurface surface = new TTerrainSurface(buffer, centerOf(chunk.getChunkX()), centerOf(chunk.getChunkY()));
+		surfaces.put(key, surface);
+		return surface;
+	}
+
+	/**
+	 * Renders the tiles and transition borders of given chunk into the frame buffer of given surface.
+	 */
+	private void bake(TChunk chunk, TTerrainSurface surface) {
+		surface.buffer.begin();
+		Gdx.gl.glClearColor(0, 0, 0, 0);
+		Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
+		batch.begin();
+		chunk.getBiome().bakeTiles(batch);
+		batch.end();
+		renderer.begin(ShapeType.Filled);
+		chunk.getBiome().bakeTransitions(renderer);
+		renderer.end();
+		surface.buffer.end();
+		surface.valid = true;
+	}
+
+	/**
+	 * Returns the world coordinate of the center of a chunk along one axis. Tiles are centered on their tile coordinates.
+	 */
+	private static float centerOf(int chunk) {
+		return ((long)chunk * SURFACE_SIZE) - TWorld.HALF_TILE_SIZE + (SURFACE_SIZE / 2f);
+	}
+
+	@Override
+	public void dispose() {
+		for(final TTerrainSurface surface : surfaces.values())
+			surface.buffer.dispose();
+		surfaces.clear();
+		batch.dispose();
+		renderer.dispose();
+	}
+
+	/**
+	 * The baked terrain of one chunk, drawn as a single sprite. Frame buffer textures are stored bottom-up, so the texture is flipped when drawn.
+	 * @author Ian Wilkey (iwilkey)
+	 */
+	private static final class TTerrainSurface implements TRenderableSprite {
+
+		private final FrameBuffer buffer;
+		private final float       x;
+		private final float       y;
+
+		private boolean           valid = false;
+
+		TTerrainSurface(FrameBuffer buffer, float x, float y) {
+			this.buffer = buffer;
+			this.x      = x;
+			this.y      = y;
+		}
+
+		@Override
+		public String getSpriteSheet()              { return null;         }
+		@Override
+		public float getX()                         { return x;            }
+		@Override
+		public float getY()                         { return y;            }
+		@Override
+		public float getGraphicalX()                { return x;            }
+		@Override
+		public float getGraphicalY()                { return y;            }
+		@Override
+		public float getWidth()                     { return SURFACE_SIZE; }
+		@Override
+		public float getHeight()                    { return SURFACE_SIZE; }
+		@Override
+		public float getRotationInRadians()         { return 0;            }
+		@Override
+		public int   getDataSelectionOffsetX()      { return 0;            }
+		@Override
+		public int   getDataSelectionOffsetY()      { return 0;            }
+		@Override
+		public int   getDataSelectionSquareWidth()  { return 0;            }
+		@Override
+		public int   getDataSelectionSquareHeight() { return 0;            }
+		@Override
+		public Color getRenderTint()                { return Color.WHITE;  }
+		@Override
+		public int   getDepth()                     { return 255;          }
+
+		@Override
+		public void render(final OrthographicCamera camera, final SpriteBatch batch) {
+			batch.setPackedColor(Color.WHITE_FLOAT_BITS);
+			batch.draw(buffer.getColorBufferTexture(),
+					   x - (SURFACE_SIZE / 2f),
+					   y - (SURFACE_SIZE / 2f),
+					   SURFACE_SIZE,
+					   SURFACE_SIZE,
+					   0,
+					   0,
+					   SURFACE_SIZE,
+					   SURFACE_SIZE,
+					   false,
+					   true);
+		}
+
+	}
+
+}
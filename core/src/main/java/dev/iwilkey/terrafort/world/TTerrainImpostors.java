@@ -0,0 +1,380 @@
+package dev.iwilkey.terrafort.world;
+
+import java.nio.ByteBuffer;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Disposable;
+
+import dev.iwilkey.terrafort.gfx.TGraphics;
+import dev.iwilkey.terrafort.gfx.TRenderableSprite;
+import dev.iwilkey.terrafort.world.terrain.TDefaultBiome;
+import dev.iwilkey.terrafort.world.terrain.TTerrainGenerator;
+
+/**
+ * Draws the terrain of chunks past {@link TWorld}.RENDER_DISTANCE, up to {@link TTerrainImpostors}.LOD_DISTANCE tiles away, as one low resolution
+ * quad per chunk with one texel per tile. Impostors are computed from the terrain heights of the seed on a background thread, so far away chunks
+ * are never generated, loaded or simulated. Every impostor owns a slot of one atlas texture, and the atlas has a slot for every chunk within
+ * {@link TTerrainImpostors}.LOD_DISTANCE, so the impostors in view always fit; slots are handed to the least recently viewed chunks when the
+ * atlas is full, but never those of chunks still in view.
+ * @author Ian Wilkey (iwilkey)
+ */
+public final class TTerrainImpostors implements Disposable {
+
+	/**
+	 * How far, in tiles, the terrain is drawn from the camera.
+	 */
+	public static final int LOD_DISTANCE          = 320;
+
+	/**
+	 * The maximum amount of impostors uploaded to the atlas in one frame.
+	 */
+	public static final int MAX_UPLOADS_PER_FRAME = 32;
+
+	/**
+	 * The maximum amount of impostors being computed in the background at once.
+	 */
+	public static final int MAX_PENDING           = 64;
+
+	/**
+	 * The chunk offsets within {@link TTerrainImpostors}.LOD_DISTANCE of a focus chunk as (x, y) pairs, closest first, so the impostors
+	 * closest to the camera are requested first.
+	 */
+	private static final int[] OFFSETS;
+
+	/**
+	 * The size, in texels, of one side of the atlas that holds every impostor. The smallest power of two with a slot for every chunk offset
+	 * within {@link TTerrainImpostors}.LOD_DISTANCE.
+	 */
+	public static final int    ATLAS_SIZE;
+
+	/**
+	 * The maximum amount of impostors kept on the GPU at once.
+	 */
+	public static final int    MAX_IMPOSTORS;
+
+	static {
+		final int          radius  = (LOD_DISTANCE + TChunk.CHUNK_SIZE - 1) / TChunk.CHUNK_SIZE;
+		final Array<int[]> offsets = new Array<>();
+		for(int x = -radius; x <= radius; x++)
+			for(int y = -radius; y <= radius; y++)
+				if(TWorld.withinDistance(x, y, 0, 0, LOD_DISTANCE))
+					offsets.add(new int[] { x, y });
+		offsets.sort((a, b) -> Integer.compare(a[0] * a[0] + a[1] * a[1], b[0] * b[0] + b[1] * b[1]));
+		OFFSETS = new int[offsets.size * 2];
+		for(int i = 0; i < offsets.size; i++) {
+			OFFSETS[i * 2]     = offsets.get(i)[0];
+			OFFSETS[i * 2 + 1] = offsets.get(i)[1];
+		}
+		int side = TChunk.CHUNK_SIZE;
+		while((side / TChunk.CHUNK_SIZE) * (side / TChunk.CHUNK_SIZE) < offsets.size)
+			side <<= 1;
+		ATLAS_SIZE    = side;
+		MAX_IMPOSTORS = (side / TChunk.CHUNK_SIZE) * (side / TChunk.CHUNK_SIZE);
+	}
+
+	/**
+	 * The texels of one impostor, computed in the background and waiting to be uploaded on the render thread.
+	 */
+	private static final class TImpostorJob {
+
+		private final TImpostor impostor;
+		private final long      key;
+		private final int       chunkX;
+		private final int       chunkY;
+		private final byte[]    texels;
+
+		private TImpostorJob(TImpostor impostor, long key, int chunkX, int chunkY) {
+			this.impostor = impostor;
+			this.key      = key;
+			this.chunkX   = chunkX;
+			this.chunkY   = chunkY;
+			this.texels   = new byte[TChunk.CHUNK_AREA * 4];
+		}
+
+	}
+
+	private final long                                 seed;
+	private final ExecutorService                      worker;
+	private final ConcurrentLinkedQueue<TImpostorJob>  finished;
+	private final LinkedHashMap<Long, TImpostor>       impostors;
+	private final Array<TImpostor>                     inView;
+	private final Texture                              atlas;
+	private final Pixmap                               staging;
+
+	private int     pending      = 0;
+	private int     pass         = 0;
+	private boolean dirty        = true;
+	private int     focusChunkX  = Integer.MIN_VALUE;
+	private int     focusChunkY  = Integer.MIN_VALUE;
+	private int     minChunkX    = 0;
+	private int     minChunkY    = 0;
+	private int     maxChunkX    = -1;
+	private int     maxChunkY    = -1;
+
+	/**
+	 * Creates a new, empty impostor cache for a world with the given seed. Must be created on the render thread.
+	 */
+	public TTerrainImpostors(long seed) {
+		this.seed = seed;
+		finished  = new ConcurrentLinkedQueue<>();
+		impostors = new LinkedHashMap<>(MAX_IMPOSTORS, 0.75f, true);
+		inView    = new Array<>(false, 256);
+		atlas     = new Texture(ATLAS_SIZE, ATLAS_SIZE, Pixmap.Format.RGBA8888);
+		staging   = new Pixmap(TChunk.CHUNK_SIZE, TChunk.CHUNK_SIZE, Pixmap.Format.RGBA8888);
+		atlas.setFilter(Texture.TextureFilter.Nearest, Texture.TextureFilter.Nearest);
+		// one thread, so impostors never take more than one core away from chunk generation...
+		worker    = Executors.newSingleThreadExecutor(r -> {
+			final Thread t = new Thread(r, "TerrafortImpostorWorker");
+			t.setDaemon(true);
+			t.setPriority(Thread.MIN_PRIORITY);
+			return t;
+		});
+	}
+
+	/**
+	 * Submits the impostor of every chunk between given tile bounds that is past render distance of the focus chunk, and within
+	 * {@link TTerrainImpostors}.LOD_DISTANCE of it, to {@link TGraphics}. Chunks whose impostor isn't ready yet are requested and left out.
+	 * Must be called on the render thread.
+	 */
+	public void draw(int focusChunkX, int focusChunkY, long minTileX, long minTileY, long maxTileX, long maxTileY) {
+		upload();
+		final int minX = TChunk.tileToChunk(minTileX);
+		final int minY = TChunk.tileToChunk(minTileY);
+		final int maxX = TChunk.tileToChunk(maxTileX);
+		final int maxY = TChunk.tileToChunk(maxTileY);
+		// the impostors in view only change when the focus crosses into another chunk, the view changes size or an impostor is uploaded...
+		if(dirty || focusChunkX != this.focusChunkX || focusChunkY != this.focusChunkY
+				|| minX != minChunkX || minY != minChunkY || maxX != maxChunkX || maxY != maxChunkY) {
+			this.focusChunkX = focusChunkX;
+			this.focusChunkY = focusChunkY;
+			minChunkX        = minX;
+			minChunkY        = minY;
+			maxChunkX        = maxX;
+			maxChunkY        = maxY;
+			dirty            = false;
+			collect();
+		}
+		for(final TImpostor impostor : inView)
+			TGraphics.draw(impostor);
+	}
+
+	/**
+	 * Returns the amount of impostors currently on the GPU or being computed.
+	 */
+	public int size() {
+		return impostors.size();
+	}
+
+	/**
+	 * Rebuilds the impostors in view and requests the missing ones, closest first.
+	 */
+	private void collect() {
+		inView.clear();
+		pass++;
+		for(int i = 0; i < OFFSETS.length; i += 2) {
+			final int chunkX = focusChunkX + OFFSETS[i];
+			final int chunkY = focusChunkY + OFFSETS[i + 1];
+			if(chunkX < minChunkX || chunkX > maxChunkX || chunkY < minChunkY || chunkY > maxChunkY)
+				continue;
+			// closer chunks are drawn in full detail...
+			if(TWorld.withinDistance(chunkX, chunkY, focusChunkX, focusChunkY, TWorld.RENDER_DISTANCE))
+				continue;
+			final long key      = TChunk.positionHash(chunkX, chunkY);
+			TImpostor  impostor = impostors.get(key);
+			if(impostor == null) {
+				if(pending >= MAX_PENDING)
+					continue;
+				impostor = obtain(key, chunkX, chunkY);
+				// every slot holds a chunk in view; try again next pass...
+				if(impostor == null)
+					continue;
+				request(impostor, key, chunkX, chunkY);
+			}
+			impostor.pass = pass;
+			if(impostor.ready)
+				inView.add(impostor);
+		}
+	}
+
+	/**
+	 * Returns an impostor for the chunk at given key, reusing the atlas slot of the least recently viewed impostor if the atlas is full. Returns
+	 * null if that impostor was viewed during the current pass, since then every impostor was.
+	 */
+	private TImpostor obtain(long key, int chunkX, int chunkY) {
+		TImpostor impostor;
+		if(impostors.size() >= MAX_IMPOSTORS) {
+			final Iterator<Map.Entry<Long, TImpostor>> eldest = impostors.entrySet().iterator();
+			impostor = eldest.next().getValue();
+			if(impostor.pass == pass)
+				return null;
+			eldest.remove();
+		} else {
+			final int slot   = impostors.size();
+			final int perRow = ATLAS_SIZE / TChunk.CHUNK_SIZE;
+			impostor         = new TImpostor(atlas, (slot % perRow) * TChunk.CHUNK_SIZE, (slot / perRow) * TChunk.CHUNK_SIZE);
+		}
+		impostor.set(key, chunkX, chunkY);
+		impostors.put(key, impostor);
+		return impostor;
+	}
+
+	/**
+	 * Computes the texels of an impostor in the background.
+	 */
+	private void request(final TImpostor impostor, long key, int chunkX, int chunkY) {
+		final TImpostorJob job = new TImpostorJob(impostor, key, chunkX, chunkY);
+		pending++;
+		worker.execute(() -> {
+			compute(job);
+			finished.add(job);
+		});
+	}
+
+	/**
+	 * Copies, at most, {@link TTerrainImpostors}.MAX_UPLOADS_PER_FRAME finished impostors to their atlas slot. Impostors whose slot was handed
+	 * to another chunk in the meantime are dropped.
+	 */
+	private void upload() {
+		TImpostorJob job;
+		int          budget = MAX_UPLOADS_PER_FRAME;
+		while(budget > 0 && (job = finished.poll()) != null) {
+			pending--;
+			if(job.impostor.key != job.key)
+				continue;
+			final ByteBuffer pixels = staging.getPixels();
+			pixels.position(0);
+			pixels.put(job.texels);
+			pixels.position(0);
+			atlas.draw(staging, job.impostor.slotX, job.impostor.slotY);
+			job.impostor.ready = true;
+			dirty              = true;
+			budget--;
+		}
+	}
+
+	/**
+	 * Writes the color of the terrain height of every tile of a chunk to the texels of a job. Called on the worker thread; only reads the seed.
+	 */
+	private void compute(TImpostorJob job) {
+		final byte[] heights = new byte[TChunk.CHUNK_AREA];
+		TTerrainGenerator.getHeights(seed, (long)job.chunkX * TChunk.CHUNK_SIZE, (long)job.chunkY * TChunk.CHUNK_SIZE, TChunk.CHUNK_SIZE, TChunk.CHUNK_SIZE, heights);
+		for(int ly = 0; ly < TChunk.CHUNK_SIZE; ly++) {
+			for(int lx = 0; lx < TChunk.CHUNK_SIZE; lx++) {
+				final int color = TDefaultBiome.IMPOSTOR_COLORS[heights[TChunk.localIndex(lx, ly)]];
+				// pixmap rows go top down, tile rows bottom up...
+				final int t     = ((TChunk.CHUNK_SIZE - 1 - ly) * TChunk.CHUNK_SIZE + lx) * 4;
+				job.texels[t]     = (byte)(color >>> 24);
+				job.texels[t + 1] = (byte)(color >>> 16);
+				job.texels[t + 2] = (byte)(color >>> 8);
+				job.texels[t + 3] = (byte)color;
+			}
+		}
+	}
+
+	@Override
+	public void dispose() {
+		worker.shutdownNow();
+		try {
+			worker.awaitTermination(1, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		finished.clear();
+		impostors.clear();
+		inView.clear();
+		atlas.dispose();
+		staging.dispose();
+	}
+
+	/**
+	 * The terrain of one far away chunk, drawn as a single quad from its slot of the atlas.
+	 * @author Ian Wilkey (iwilkey)
+	 */
+	private static final class TImpostor implements TRenderableSprite {
+
+		private final Texture atlas;
+		private final int     slotX;
+		private final int     slotY;
+
+		private long          key   = 0;
+		private float         x     = 0;
+		private float         y     = 0;
+		private boolean       ready = false;
+		private int           pass  = 0;
+
+		TImpostor(Texture atlas, int slotX, int slotY) {
+			this.atlas = atlas;
+			this.slotX = slotX;
+			this.slotY = slotY;
+		}
+
+		/**
+		 * Hands this impostor, and its atlas slot, to the chunk at given chunk coordinates.
+		 */
+		void set(long key, int chunkX, int chunkY) {
+			this.key   = key;
+			this.x     = ((long)chunkX * TTerrainCache.SURFACE_SIZE) - TWorld.HALF_TILE_SIZE + (TTerrainCache.SURFACE_SIZE / 2f);
+			this.y     = ((long)chunkY * TTerrainCache.SURFACE_SIZE) - TWorld.HALF_TILE_SIZE + (TTerrainCache.SURFACE_SIZE / 2f);
+			this.ready = false;
+		}
+
+		@Override
+		public String getSpriteSheet()              { return null;                       }
+		@Override
+		public float getX()                         { return x;                          }
+		@Override
+		public float getY()                         { return y;                          }
+		@Override
+		public float getGraphicalX()                { return x;                          }
+		@Override
+		public float getGraphicalY()                { return y;                          }
+		@Override
+		public float getWidth()                     { return TTerrainCache.SURFACE_SIZE; }
+		@Override
+		public float getHeight()                    { return TTerrainCache.SURFACE_SIZE; }
+		@Override
+		public float getRotationInRadians()         { return 0;                          }
+		@Override
+		public int   getDataSelectionOffsetX()      { return 0;                          }
+		@Override
+		public int   getDataSelectionOffsetY()      { return 0;                          }
+		@Override
+		public int   getDataSelectionSquareWidth()  { return 0;                          }
+		@Override
+		public int   getDataSelectionSquareHeight() { return 0;                          }
+		@Override
+		public Color getRenderTint()                { return Color.WHITE;                }
+		@Override
+		public int   getDepth()                     { return 255;                        }
+
+		@Override
+		public void render(final OrthographicCamera camera, final SpriteBatch batch) {
+			batch.setPackedColor(Color.WHITE_FLOAT_BITS);
+			batch.draw(atlas,
+					   x - (TTerrainCache.SURFACE_SIZE / 2f),
+					   y - (TTerrainCache.SURFACE_SIZE / 2f),
+					   TTerrainCache.SURFACE_SIZE,
+					   TTerrainCache.SURFACE_SIZE,
+					   slotX,
+					   slotY,
+					   TChunk.CHUNK_SIZE,
+					   TChunk.CHUNK_SIZE,
+					   false,
+					   false);
+		}
+
+	}
+
+}
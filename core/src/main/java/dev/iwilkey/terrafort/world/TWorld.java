@@ -1,41 +1,59 @@
 package dev.iwilkey.terrafort.world;
 
+import java.io.ObjectStreamConstants;
 import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.HashSet;
-import java.util.Set;
 
 import com.badlogic.gdx.math.Vector2;
-import com.badlogic.gdx.physics.box2d.Body;
 import com.badlogic.gdx.physics.box2d.Contact;
 import com.badlogic.gdx.physics.box2d.ContactImpulse;
 import com.badlogic.gdx.physics.box2d.ContactListener;
+import com.badlogic.gdx.physics.box2d.Fixture;
 import com.badlogic.gdx.physics.box2d.Manifold;
 import com.badlogic.gdx.physics.box2d.World;
 import com.badlogic.gdx.utils.Array;
 import com.badlogic.gdx.utils.Disposable;
 
+import dev.iwilkey.terrafort.clk.TPhase;
+import dev.iwilkey.terrafort.clk.TProfiler;
 import dev.iwilkey.terrafort.gfx.TGraphics;
 import dev.iwilkey.terrafort.obj.mob.TPlayer;
+import dev.iwilkey.terrafort.obj.particulate.TParticleSystem;
 import dev.iwilkey.terrafort.obj.runtime.TObjectRuntime;
 import dev.iwilkey.terrafort.obj.type.TMob;
 import dev.iwilkey.terrafort.obj.type.TObject;
+import dev.iwilkey.terrafort.persistent.TBinaryReader;
+import dev.iwilkey.terrafort.persistent.TBinaryWriter;
+import dev.iwilkey.terrafort.persistent.TObjectCodec;
 import dev.iwilkey.terrafort.persistent.TPersistent;
-import dev.iwilkey.terrafort.persistent.TSerializable;
+import dev.iwilkey.terrafort.persistent.TRegionStore;
+import dev.iwilkey.terrafort.world.path.TPathfinder;
 
 /**
- * An abstract definition of the current state of an end-user's Terrafort game world. Serializable.
+ * An abstract definition of the current state of an end-user's Terrafort game world. Only the world's metadata and mobs are written with
+ * it; chunks live in region files and are read lazily as they're needed.
  * @author Ian Wilkey (iwilkey)
  */
-public final class TWorld implements TSerializable, Disposable {
+public final class TWorld implements Disposable {
 	
 	/**
-	 * Unique serialization ID.
+	 * The version of the world section in the binary format. Bump it when fields are added, and read them conditionally.
 	 */
-	private static final long serialVersionUID = 2436423371266909255L;
+	private static final int CODEC_VERSION = 1;
+	
+	/**
+	 * The first bytes of a world file, "TFWD". Tells it apart from any other file, such as a world saved with Java serialization by an old
+	 * version of Terrafort.
+	 */
+	public static final int FILE_MAGIC     = 0x54465744;
+	
+	/**
+	 * The version of the layout of a world file around its sections. Bump it when the header or the order of the sections changes.
+	 */
+	public static final int FILE_VERSION   = 1;
 	
 	////////////////////////////////
-	// Non-serializable attributes.
+	// Non-persistent attributes.
 	////////////////////////////////
 	
 	/**
@@ -54,16 +72,148 @@ public final class TWorld implements TSerializable, Disposable {
 	 */
 	public transient static final int TILE_VIEWPORT_CULL_PADDING = 4;
 	
+	/**
+	 * The default amount of tiles, in all directions around the focus, within which chunks are ticked every frame.
+	 */
+	public transient static final int DEFAULT_FULL_RATE_DISTANCE    = 32;
+	
+	/**
+	 * The default amount of tiles, in all directions around the focus, within which chunks past the full rate distance are ticked every
+	 * DEFAULT_REDUCED_RATE_INTERVAL frames. Chunks past it are frozen.
+	 */
+	public transient static final int DEFAULT_REDUCED_RATE_DISTANCE = 64;
+	
+	/**
+	 * The default amount of frames between two ticks of a chunk at reduced rate.
+	 */
+	public transient static final int DEFAULT_REDUCED_RATE_INTERVAL = 4;
+	
+	/**
+	 * The default amount of physics steps per second of simulated time.
+	 */
+	public transient static final int DEFAULT_PHYSICS_STEP_RATE    = 60;
+	
+	/**
+	 * The default maximum amount of physics steps taken in one frame. Time past it is dropped, so a slow frame can't make the next one slower.
+	 */
+	public transient static final int DEFAULT_MAX_PHYSICS_SUBSTEPS = 5;
+	
+	/**
+	 * The amount of velocity and position iterations of one physics step.
+	 */
+	private transient static final int PHYSICS_VELOCITY_ITERATIONS = 4;
+	private transient static final int PHYSICS_POSITION_ITERATIONS = 4;
+	
+	/**
+	 * Whether or not this world is simulated without a GL context. A headless world has no client, bakes no terrain and never touches
+	 * {@link TGraphics}; see tick(dt, focusX, focusY).
+	 */
+	private transient boolean headless = false;
+	
+	/**
+	 * How far, in chunks, the chunks within render distance can be from the chunk of the focus.
+	 */
+	private transient static final int CHUNK_RENDER_RADIUS = (RENDER_DISTANCE + TChunk.CHUNK_SIZE - 1) / TChunk.CHUNK_SIZE;
+	
+	/**
+	 * Chunks simulated at full and reduced rate by the last tick, and chunks drawn by the last frame. They are only collected again when the 
+	 * focus crosses into another chunk, the view changes size, the simulation distances change, or a chunk is loaded or unloaded; see 
+	 * chunkSetVersion.
+	 */
+	private transient Array<TChunk> simulatedChunks  = null;
+	private transient Array<TChunk> reducedChunks    = null;
+	private transient Array<TChunk> visibleChunks    = null;
+	private transient int           simulatedChunkX  = Integer.MIN_VALUE;
+	private transient int           simulatedChunkY  = Integer.MIN_VALUE;
+	private transient int           simulatedVersion = -1;
+	private transient int           visibleChunkX    = Integer.MIN_VALUE;
+	private transient int           visibleChunkY    = Integer.MIN_VALUE;
+	private transient int           visibleRadiusX   = -1;
+	private transient int           visibleRadiusY   = -1;
+	private transient int           visibleVersion   = -1;
+	
+	/**
+	 * Simulation tiers. Chunks within "fullRateDistance" tiles of the focus are ticked every frame. Chunks past it, but within 
+	 * "reducedRateDistance" tiles, are ticked every "reducedRateInterval" frames with the time accumulated in between; a different share of
+	 * them every frame, so the cost is spread evenly. Chunks past that are frozen.
+	 */
+	private transient int           fullRateDistance    = DEFAULT_FULL_RATE_DISTANCE;
+	private transient int           reducedRateDistance = DEFAULT_REDUCED_RATE_DISTANCE;
+	private transient int           reducedRateInterval = DEFAULT_REDUCED_RATE_INTERVAL;
+	private transient int           reducedRateFrame    = 0;
+	
+	/**
+	 * Bumped every time a chunk is added to or removed from memory.
+	 */
+	private transient int           chunkSetVersion  = 0;
+	
 	/**
 	 * Physics engine space. JNI binding. Written in C.
 	 */
 	private transient World jniSpace = null;
 	
 	/**
-	 * All active {@link TMob}'s runtimes. 
+	 * Fixed timestep state of the physics engine. "physicsAccumulator" holds simulated time that hasn't been stepped yet.
+	 */
+	private transient float        physicsStep         = 1f / DEFAULT_PHYSICS_STEP_RATE;
+	private transient int          maxPhysicsSubsteps  = DEFAULT_MAX_PHYSICS_SUBSTEPS;
+	private transient float        physicsAccumulator  = 0.0f;
+	private transient float        physicsAlpha        = 1.0f;
+	
+	/**
+	 * Background pipeline that generates chunk terrain and decorations.
+	 */
+	private transient TChunkGenerator generator = null;
+	
+	/**
+	 * Decides which chunks are hot, cold or spilled to disk.
+	 */
+	private transient TChunkResidency residency = null;
+	
+	/**
+	 * Baked terrain layers of the chunks in view.
+	 */
+	private transient TTerrainCache terrain = null;
+	
+	/**
+	 * Low resolution terrain of the chunks in view past render distance.
+	 */
+	private transient TTerrainImpostors impostors = null;
+	
+	/**
+	 * Debris and dust. Particles have no physical body and are never saved.
 	 */
-	private transient Array<TObjectRuntime> mobRuntimes = null;
-	private transient Array<TObjectRuntime> mobRuntimeGarbageCollection = null;
+	private transient TParticleSystem particles = null;
+	
+	/**
+	 * Region files that hold the chunks of this world on disk.
+	 */
+	private transient TRegionStore regions = null;
+	
+	/**
+	 * Reused to encode chunk records before they're written to their region.
+	 */
+	private transient TBinaryWriter recordWriter = null;
+	
+	/**
+	 * Every chunk currently held in memory.
+	 */
+	private transient HashMap<Long, TChunk> chunkData = null;
+	
+	/**
+	 * Every active {@link TMob} and its runtime.
+	 */
+	private transient TMobManager mobManager = null;
+	
+	/**
+	 * Answers the sense queries of this world's objects.
+	 */
+	private transient TSensor sensor = null;
+	
+	/**
+	 * Finds paths through this world's chunks in the background.
+	 */
+	private transient TPathfinder pathfinder = null;
 	
 	/**
 	 * The client.
@@ -71,41 +221,143 @@ public final class TWorld implements TSerializable, Disposable {
 	public static transient TPlayer client;
 	
 	////////////////////////////////
-	// Serializable attributes.
+	// Persistent attributes.
 	////////////////////////////////
 	
 	private final String                uniqueWorldName;
 	private final long                  seed;
-	private final HashMap<Long, TChunk> chunkData;
 	private final ArrayList<TMob>       mobData;
 	
 	/**
 	 * Creates a new world with given name and seed.
 	 */
 	public TWorld(String uniqueWorldName, long seed) {
+		this(uniqueWorldName, seed, false);
+	}
+	
+	/**
+	 * Creates a new world with given name and seed. A headless world can be simulated without a GL context, but has no client and can't be
+	 * rendered.
+	 */
+	public TWorld(String uniqueWorldName, long seed, boolean headless) {
 		this.uniqueWorldName        = uniqueWorldName;
 		this.seed                   = seed;
+		this.headless               = headless;
 		chunkData                   = new HashMap<>();
+		pathfinder                  = new TPathfinder();
 		mobData                     = new ArrayList<>();
-		mobRuntimes                 = new Array<>();
-		mobRuntimeGarbageCollection = new Array<>();
+		mobManager                  = new TMobManager(this);
+		sensor                      = new TSensor(this);
+		regions                     = new TRegionStore(getRegionDirectory());
+		generator                   = new TChunkGenerator(seed, regions);
+		residency                   = new TChunkResidency(this);
+		terrain                     = headless ? null : new TTerrainCache();
+		impostors                   = headless ? null : new TTerrainImpostors(seed);
+		recordWriter                = new TBinaryWriter(4096);
+		simulatedChunks             = new Array<>();
+		reducedChunks               = new Array<>();
+		visibleChunks               = new Array<>();
+		particles                   = new TParticleSystem(this);
+		// a new world must not pick up chunks left behind by an old world with the same name...
+		TPersistent.delete(getRegionDirectory());
 		initializePhysics();
+		if(headless)
+			return;
 		// this is a new world, so we need to add a player!
 		client = new TPlayer();
 		addObject(client);
 	}
 
-	@Override
-	public void loadFromPersistent() {
+	/**
+	 * Creates a world from its persistent state. See read(in).
+	 */
+	private TWorld(String uniqueWorldName, long seed, ArrayList<TMob> mobData) {
+		this.uniqueWorldName = uniqueWorldName;
+		this.seed            = seed;
+		this.mobData         = mobData;
+	}
+	
+	/**
+	 * Loads the world with given name from persistent memory. Returns null if it was never saved. A world saved with Java serialization by an
+	 * old version of Terrafort can't be read; it is refused and its file is left untouched.
+	 */
+	public static TWorld load(String uniqueWorldName) {
+		final String path = getFilePath(uniqueWorldName);
+		if(!TPersistent.pathExists(path))
+			return null;
+		final byte[] data = TPersistent.loadBytes(path);
+		if(data == null)
+			throw new IllegalStateException("[Terrafort Game Engine] The world file " + path + " exists, but couldn't be read!");
+		if(data.length >= 2 && (short)(((data[0] & 0xff) << 8) | (data[1] & 0xff)) == ObjectStreamConstants.STREAM_MAGIC)
+			throw new IllegalStateException("[Terrafort Game Engine] " + path + " was saved by an old version of Terrafort and can't be loaded. The file was left untouched; move it away to start a new world.");
+		return read(new TBinaryReader(data));
+	}
+	
+	/**
+	 * Writes the persistent state of this world. Chunks aren't part of it; they live in region files.
+	 */
+	public void write(final TBinaryWriter out) {
+		mobData.clear();
+		mobManager.collectMobs(mobData);
+		out.putInt(FILE_MAGIC);
+		out.putShort(FILE_VERSION);
+		out.beginSection(CODEC_VERSION);
+		out.putString(uniqueWorldName);
+		out.putLong(seed);
+		out.putInt(mobData.size());
+		out.endSection();
+		for(final TMob mob : mobData)
+			TObjectCodec.write(out, mob);
+	}
+	
+	/**
+	 * Reads a world written by write(out) and recreates its runtime.
+	 */
+	public static TWorld read(final TBinaryReader in) {
+		if(in.getInt() != FILE_MAGIC)
+			throw new IllegalArgumentException("[Terrafort Game Engine] The data being read isn't a Terrafort world!");
+		final int version = in.getShort() & 0xffff;
+		if(version > FILE_VERSION)
+			throw new IllegalArgumentException("[Terrafort Game Engine] The world was saved by a newer version of Terrafort (file version " + version + ")!");
+		in.beginSection();
+		final String          uniqueWorldName = in.getString();
+		final long            seed            = in.getLong();
+		final int             mobs            = in.getInt();
+		final ArrayList<TMob> mobData         = new ArrayList<>();
+		in.endSection();
+		for(int i = 0; i < mobs; i++) {
+			final TObject o = TObjectCodec.read(in);
+			if(o instanceof TMob)
+				mobData.add((TMob)o);
+		}
+		final TWorld world = new TWorld(uniqueWorldName, seed, mobData);
+		world.loadFromPersistent();
+		return world;
+	}
+	
+	/**
+	 * Recreates the runtime of a world that was just read from persistent memory.
+	 */
+	private void loadFromPersistent() {
 		System.out.println("[TerrafortPersistent] Loading world state of " + uniqueWorldName);
-		// recreate transients...
+		// recreate runtime state...
+		chunkData       = new HashMap<>();
+		pathfinder      = new TPathfinder();
+		regions         = new TRegionStore(getRegionDirectory());
+		generator       = new TChunkGenerator(seed, regions);
+		residency       = new TChunkResidency(this);
+		terrain         = new TTerrainCache();
+		impostors       = new TTerrainImpostors(seed);
+		recordWriter    = new TBinaryWriter(4096);
+		simulatedChunks = new Array<>();
+		reducedChunks   = new Array<>();
+		visibleChunks   = new Array<>();
+		particles       = new TParticleSystem(this);
 		initializePhysics();
-		// recreate physical chunks...
-		for(final TChunk c : chunkData.values())
-			c.loadFromPersistent();
+		// chunks are read from their region files the first time they are touched...
 		// recreate mobs...
-		mobRuntimes                 = new Array<>();
-		mobRuntimeGarbageCollection = new Array<>();
+		mobManager = new TMobManager(this);
+		sensor     = new TSensor(this);
 		for(final TMob mob : mobData) {
 			if(mob instanceof TPlayer) {
 				client = (TPlayer)mob;
@@ -113,7 +365,7 @@ public final class TWorld implements TSerializable, Disposable {
 				TGraphics.forceCameraPosition(mob.worldX, mob.worldY);
 			}
 			// create a new runtime for the mob...
-			mobRuntimes.add(new TObjectRuntime(this, mob));
+			mobManager.add(mob);
 		}
 	}
 	
@@ -126,23 +378,28 @@ public final class TWorld implements TSerializable, Disposable {
 		jniSpace.setContactListener(new ContactListener() {
 			@Override
 			public void beginContact(Contact contact) {
-				final Body bodyA = contact.getFixtureA().getBody();
-				final Body bodyB = contact.getFixtureB().getBody();
-				if(bodyA.getFixtureList().get(0).isSensor() && bodyB.getFixtureList().get(0).isSensor())
+				final Fixture fixtureA = contact.getFixtureA();
+				final Fixture fixtureB = contact.getFixtureB();
+				if(fixtureA.isSensor() && fixtureB.isSensor())
 					return;
-				final TObject objA = ((TObjectRuntime)(bodyA.getUserData())).getAbstract();
-				final TObject objB = ((TObjectRuntime)(bodyB.getUserData())).getAbstract();
+				// fixtures map back to their object; static objects of a chunk share one body...
+				final TObject objA = ((TObjectRuntime)(fixtureA.getUserData())).getAbstract();
+				final TObject objB = ((TObjectRuntime)(fixtureB.getUserData())).getAbstract();
+				objA.wake();
+				objB.wake();
 				objA.onPhysicalConvergence(objB);
 				objB.onPhysicalConvergence(objA);
 			}
 			@Override
 			public void endContact(Contact contact) {
-				final Body bodyA = contact.getFixtureA().getBody();
-				final Body bodyB = contact.getFixtureB().getBody();
-				if(bodyA.getFixtureList().get(0).isSensor() && bodyB.getFixtureList().get(0).isSensor())
+				final Fixture fixtureA = contact.getFixtureA();
+				final Fixture fixtureB = contact.getFixtureB();
+				if(fixtureA.isSensor() && fixtureB.isSensor())
 					return;
-				final TObject objA = ((TObjectRuntime)(bodyA.getUserData())).getAbstract();
-				final TObject objB = ((TObjectRuntime)(bodyB.getUserData())).getAbstract();
+				final TObject objA = ((TObjectRuntime)(fixtureA.getUserData())).getAbstract();
+				final TObject objB = ((TObjectRuntime)(fixtureB.getUserData())).getAbstract();
+				objA.wake();
+				objB.wake();
 				objA.onPhysicalDivergence(objB);
 				objB.onPhysicalDivergence(objA);
 			}
@@ -189,20 +446,152 @@ public final class TWorld implements TSerializable, Disposable {
 		return chunkData;
 	}
 	
+	/**
+	 * Get the world's chunk generation pipeline.
+	 */
+	public TChunkGenerator getChunkGenerator() {
+		return generator;
+	}
+	
+	/**
+	 * Get the world's chunk residency manager.
+	 */
+	public TChunkResidency getResidency() {
+		return residency;
+	}
+	
+	/**
+	 * Get the world's baked terrain cache. Null if the world is headless.
+	 */
+	public TTerrainCache getTerrainCache() {
+		return terrain;
+	}
+	
+	/**
+	 * Get the world's particle system.
+	 */
+	public TParticleSystem getParticles() {
+		return particles;
+	}
+	
+	/**
+	 * Get the world's mob manager.
+	 */
+	public TMobManager getMobManager() {
+		return mobManager;
+	}
+	
+	/**
+	 * Get the sensor that answers the sense queries of the world's objects.
+	 */
+	public TSensor getSensor() {
+		return sensor;
+	}
+	
+	/**
+	 * Get the world's pathfinder.
+	 */
+	public TPathfinder getPathfinder() {
+		return pathfinder;
+	}
+	
+	/**
+	 * Whether or not this world is simulated without a GL context.
+	 */
+	public boolean isHeadless() {
+		return headless;
+	}
+	
+	/**
+	 * Invalidates the baked terrain around given chunk coordinates, if this world bakes terrain at all.
+	 */
+	void invalidateTerrainAround(int chunkX, int chunkY) {
+		if(terrain != null)
+			terrain.invalidateAround(chunkX, chunkY);
+	}
+	
+	/**
+	 * Get the {@link TChunk} with given position hash only if it is in memory; null otherwise. Never touches the disk or generates anything, 
+	 * so it is safe to call from the render path. Use getOrGenerateChunkAt(chunkX, chunkY) to bring a chunk back from its region file.
+	 */
+	public TChunk getChunk(long chunkPositionHash) {
+		return chunkData.get(chunkPositionHash);
+	}
+	
+	/**
+	 * Writes a chunk to its region file if it changed since it was last written. A pristine chunk takes no space at all; its record, if it
+	 * had one, is removed.
+	 */
+	void writeChunk(TChunk chunk) {
+		if(!chunk.isDirty())
+			return;
+		if(chunk.isPristine())
+			regions.delete(chunk.getChunkX(), chunk.getChunkY());
+		else {
+			recordWriter.reset();
+			chunk.write(recordWriter);
+			regions.write(chunk.getChunkX(), chunk.getChunkY(), recordWriter.toByteArray());
+		}
+		chunk.markClean();
+	}
+	
+	/**
+	 * Writes a cold chunk to its region file, if needed, and removes it from memory.
+	 */
+	void unloadChunk(TChunk chunk) {
+		writeChunk(chunk);
+		chunkData.remove(chunk.getPositionHash());
+		chunkSetVersion++;
+		pathfinder.forget(chunk);
+	}
+	
+	/**
+	 * The file, relative to the persistent directory, that holds the persistent state of the world with given name.
+	 */
+	private static String getFilePath(String uniqueWorldName) {
+		return "world/" + uniqueWorldName + ".dat";
+	}
+	
+	/**
+	 * The directory, relative to the persistent directory, that holds this world's region files.
+	 */
+	private String getRegionDirectory() {
+		return "world/" + uniqueWorldName + "/region/";
+	}
+	
+	/**
+	 * Get an existing {@link TChunk} at given chunk coordinates. See getChunk(chunkPositionHash).
+	 */
+	public TChunk getChunkAt(int chunkX, int chunkY) {
+		return getChunk(TChunk.positionHash(chunkX, chunkY));
+	}
+	
 	/**
 	 * Get or generate a {@link TChunk} at given tile coordinates.
+	 * 
+	 * <p>
+	 * A chunk that doesn't exist yet is returned right away in a pending state while its terrain and decorations are generated in the 
+	 * background by the {@link TChunkGenerator}.
+	 * </p>
 	 */
 	public TChunk getOrGenerateChunkThatContains(long tileX, long tileY) {
-		final int chunkX = (int)(tileX / TChunk.CHUNK_SIZE);
-    	final int chunkY = (int)(tileY / TChunk.CHUNK_SIZE);
-    	final long chunkPositionHash = (((long)chunkX) << 32) | (chunkY & 0xffffffffL);
-    	if(chunkData.containsKey(chunkPositionHash)) {
-    		return chunkData.get(chunkPositionHash);
-    	} else {
-    		final TChunk chunk = new TChunk(this, chunkX, chunkY);
-    		chunkData.put(chunkPositionHash, chunk);
-    		return chunk;
-    	}
+		return getOrGenerateChunkAt(TChunk.tileToChunk(tileX), TChunk.tileToChunk(tileY));
+	}
+	
+	/**
+	 * Get or generate a {@link TChunk} at given chunk coordinates. A chunk that isn't in memory is returned right away in a pending state; 
+	 * its region record, if it has one, is read and merged in by the {@link TChunkGenerator} along with its terrain and decorations.
+	 */
+	public TChunk getOrGenerateChunkAt(int chunkX, int chunkY) {
+		final long   chunkPositionHash = TChunk.positionHash(chunkX, chunkY);
+		final TChunk existing          = getChunk(chunkPositionHash);
+		if(existing != null)
+			return existing;
+		final TChunk chunk = new TChunk(this, chunkX, chunkY);
+		chunkData.put(chunkPositionHash, chunk);
+		chunkSetVersion++;
+		generator.request(chunk);
+		return chunk;
 	}
 	
 	/**
@@ -210,12 +599,10 @@ public final class TWorld implements TSerializable, Disposable {
 	 */
 	public void addObject(TObject object) {
 		if(object instanceof TMob) {
-			final TMob mob = (TMob)object;
-			mobData.add(mob);
-			mobRuntimes.add(new TObjectRuntime(this, mob));
+			mobManager.add((TMob)object);
 			return;
 		}
-		getOrGenerateChunkThatContains((long)(object.worldX / TILE_SIZE), (long)(object.worldY / TILE_SIZE)).addObject(object);
+		getOrGenerateChunkThatContains(TSpatialIndex.worldToTile(object.worldX), TSpatialIndex.worldToTile(object.worldY)).addObject(object);
 	}
 	
 	/**
@@ -223,92 +610,336 @@ public final class TWorld implements TSerializable, Disposable {
 	 */
 	public void removeObject(TObject object) {
 		if(object instanceof TMob) {
-			final TMob mob = (TMob)object;
-			mobData.remove(mob);
-			for(final TObjectRuntime r : mobRuntimes) {
-				if(r.getAbstract().equals(mob)) {
-					mobRuntimeGarbageCollection.add(r);
-					break;
-				}
-			}
+			mobManager.remove(object);
 			return;
 		}
-		getOrGenerateChunkThatContains((long)(object.worldX / TILE_SIZE), (long)(object.worldY / TILE_SIZE)).removeObject(object);
+		getOrGenerateChunkThatContains(TSpatialIndex.worldToTile(object.worldX), TSpatialIndex.worldToTile(object.worldY)).removeObject(object);
 	}
-
+	
 	/**
-	 * Steps the physics engine fowards and instructs chunks to manage themselves.
+	 * Returns the runtime of an object in the world, or null if it doesn't have one, such as when its chunk is cold.
 	 */
-	public void updatePhysics(float dt) {
-		jniSpace.step(1 / 60f, 4, 4);	
+	public TObjectRuntime getRuntime(TObject object) {
+		if(object instanceof TMob)
+			return mobManager.getRuntime(object);
+		final TChunk chunk = chunkData.get(TChunk.positionHash(TChunk.tileToChunk(TSpatialIndex.worldToTile(object.worldX)), 
+				                                               TChunk.tileToChunk(TSpatialIndex.worldToTile(object.worldY))));
+		if(chunk == null || !chunk.isResident())
+			return null;
+		return chunk.getPhysical().getRuntime(object);
+	}
+	
+	/**
+	 * Adds every object, mobs included, on given tile coordinates to "out". Only chunks in memory are considered.
+	 */
+	public void collectObjectsAt(long tileX, long tileY, Array<TObject> out) {
+		final TChunk chunk = chunkData.get(TChunk.positionHash(TChunk.tileToChunk(tileX), TChunk.tileToChunk(tileY)));
+		if(chunk != null)
+			chunk.collectObjectsAt(tileX, tileY, out);
+		mobManager.collectAt(tileX, tileY, out);
 	}
 	
 	/**
-	 * Manages all active {@link TMob}s within the world.
+	 * Adds every object, mobs included, whose position is within "radius" world units of (worldX, worldY) to "out". Only the tile cells 
+	 * that overlap the radius are visited, and only chunks in memory are considered.
 	 */
-	public void manageMobs(float dt) {
-		for(final TObjectRuntime ma : mobRuntimes) {
-			ma.tick(dt);
-			final TMob mob = (TMob)ma.getAbstract();
-			if(mob.currentHealthPoints <= 0) {
-				mob.death(ma);
-				removeObject(mob);
-				continue;
+	public void collectObjectsNear(float worldX, float worldY, float radius, Array<TObject> out) {
+		final float r2      = radius * radius;
+		final int   minTX   = TSpatialIndex.worldToTile(worldX - radius);
+		final int   maxTX   = TSpatialIndex.worldToTile(worldX + radius);
+		final int   minTY   = TSpatialIndex.worldToTile(worldY - radius);
+		final int   maxTY   = TSpatialIndex.worldToTile(worldY + radius);
+		final int   start   = out.size;
+		TChunk      chunk   = null;
+		for(int tx = minTX; tx <= maxTX; tx++) {
+			for(int ty = minTY; ty <= maxTY; ty++) {
+				if(chunk == null || !chunk.contains(tx, ty))
+					chunk = chunkData.get(TChunk.positionHash(TChunk.tileToChunk(tx), TChunk.tileToChunk(ty)));
+				if(chunk != null)
+					chunk.collectObjectsAt(tx, ty, out);
 			}
-			TGraphics.draw(ma);
 		}
-		// TMob garbage collection...
-		if(mobRuntimeGarbageCollection.size != 0) {
-			for(final TObjectRuntime r : mobRuntimeGarbageCollection) 
-				getPhysicalWorld().destroyBody(r.getPhysical());
-			mobRuntimes.removeAll(mobRuntimeGarbageCollection, false);
-			mobRuntimeGarbageCollection.clear();
+		// the cells are coarse, so trim what is actually outside of the radius...
+		int kept = start;
+		for(int i = start; i < out.size; i++) {
+			final TObject o  = out.get(i);
+			final float   dx = o.worldX - worldX;
+			final float   dy = o.worldY - worldY;
+			if(dx * dx + dy * dy <= r2)
+				out.set(kept++, o);
 		}
+		out.truncate(kept);
+		mobManager.collectNear(worldX, worldY, radius, out);
+	}
+
+	/**
+	 * Steps the physics engine forwards by a fixed timestep as many times as the elapsed time calls for, at most maxPhysicsSubsteps times.
+	 * Whatever is left over is kept for the next frame and used to interpolate rendered bodies between their last two states.
+	 */
+	public void updatePhysics(float dt) {
+		physicsAccumulator = Math.min(physicsAccumulator + dt, physicsStep * maxPhysicsSubsteps);
+		while(physicsAccumulator >= physicsStep) {
+			// only the state right before the last step is needed to interpolate, but which step is last isn't known up front...
+			// mobs are the only bodies moved by the physics engine...
+			mobManager.capturePreviousStates();
+			jniSpace.step(physicsStep, PHYSICS_VELOCITY_ITERATIONS, PHYSICS_POSITION_ITERATIONS);
+			physicsAccumulator -= physicsStep;
+		}
+		physicsAlpha = physicsAccumulator / physicsStep;
 	}
 	
 	/**
-	 * Render the world to the screen from the camera's perspective.
+	 * How far, from 0 to 1, the simulation is between the last physics step and the next one. Used to interpolate rendered bodies.
 	 */
-	public void render(float dt) {
+	public float getPhysicsAlpha() {
+		return physicsAlpha;
+	}
+	
+	/**
+	 * Sets how many fixed physics steps are simulated per second.
+	 */
+	public void setPhysicsStepRate(int stepsPerSecond) {
+		if(stepsPerSecond <= 0)
+			throw new IllegalArgumentException("[Terrafort Game Engine] The physics step rate must be positive, not " + stepsPerSecond + "!");
+		physicsStep = 1f / stepsPerSecond;
+	}
+	
+	/**
+	 * Sets the maximum amount of physics steps that can be taken in one frame.
+	 */
+	public void setMaxPhysicsSubsteps(int maxSubsteps) {
+		if(maxSubsteps <= 0)
+			throw new IllegalArgumentException("[Terrafort Game Engine] The maximum amount of physics substeps must be positive, not " + maxSubsteps + "!");
+		maxPhysicsSubsteps = maxSubsteps;
+	}
+	
+	/**
+	 * Manages all active {@link TMob}s within the world. Mobs near the focus (world coordinates) are ticked every frame and the ones further
+	 * away less often; see {@link TMobManager}.
+	 */
+	public void manageMobs(float dt, float focusX, float focusY) {
+		mobManager.update(dt, focusX, focusY);
+	}
+	
+	/**
+	 * Advances the state of the world by "dt" seconds without drawing anything. Chunks are streamed, generated and simulated around the 
+	 * focus point (world coordinates), which is where the camera would be.
+	 */
+	public void tick(float dt, float focusX, float focusY) {
+		// consume finished chunks, snapshot the ones that changed for the pathfinder, release the ones left behind and request the ones the
+		// focus is heading towards...
+		TProfiler.begin(TPhase.CHUNK_STREAMING);
+		generator.commit();
+		pathfinder.update();
+		residency.update(focusX, focusY);
+		generator.prefetch(this, focusX, focusY, dt);
+		TProfiler.end(TPhase.CHUNK_STREAMING);
 		// update state of world...
+		TProfiler.begin(TPhase.PHYSICS);
 		updatePhysics(dt);
+		TProfiler.end(TPhase.PHYSICS);
 		// mobs are managed at a world level (not chunk) because they always need to be monitored.
-		manageMobs(dt);
-		// render and tick chunks in the most optimized way possible...
-		final float centerX             = TGraphics.WORLD_PROJ_MAT.position.x;
-		final float centerY             = TGraphics.WORLD_PROJ_MAT.position.y;
+		TProfiler.begin(TPhase.MOBS);
+		manageMobs(dt, focusX, focusY);
+		// everything the mobs asked to sense this frame is answered at once...
+		sensor.resolve();
+		TProfiler.end(TPhase.MOBS);
+		// tick the chunks near the focus every frame, and the ones a bit further away every few frames...
+		final int focusChunkX = TChunk.tileToChunk(Math.round(focusX / TILE_SIZE));
+		final int focusChunkY = TChunk.tileToChunk(Math.round(focusY / TILE_SIZE));
+		TProfiler.begin(TPhase.CHUNKS);
+		if(focusChunkX != simulatedChunkX || focusChunkY != simulatedChunkY || simulatedVersion != chunkSetVersion) {
+			collectSimulatedChunks(focusChunkX, focusChunkY);
+			simulatedChunkX  = focusChunkX;
+			simulatedChunkY  = focusChunkY;
+			simulatedVersion = chunkSetVersion;
+		}
+		for(final TChunk c : simulatedChunks)
+			c.update(dt);
+		reducedRateFrame = (reducedRateFrame + 1) % reducedRateInterval;
+		for(int i = 0; i < reducedChunks.size; i++)
+			reducedChunks.get(i).updateDeferred(dt, (i % reducedRateInterval) == reducedRateFrame);
+		TProfiler.end(TPhase.CHUNKS);
+		// particles last, so the ones emitted by anything above move this tick too...
+		TProfiler.begin(TPhase.PARTICLES);
+		particles.tick(dt);
+		TProfiler.end(TPhase.PARTICLES);
+	}
+	
+	/**
+	 * The amount of chunks simulated, at full or reduced rate, by the last tick.
+	 */
+	public int getSimulatedChunkCount() {
+		return simulatedChunks.size + reducedChunks.size;
+	}
+	
+	/**
+	 * The amount of chunks simulated at reduced rate by the last tick.
+	 */
+	public int getReducedRateChunkCount() {
+		return reducedChunks.size;
+	}
+	
+	/**
+	 * Sets the simulation tiers of the world. Chunks within "fullRateDistance" tiles of the focus are ticked every frame, chunks within 
+	 * "reducedRateDistance" tiles are ticked every "reducedRateInterval" frames and chunks past that are frozen. Independent of 
+	 * RENDER_DISTANCE. The hot radius of the {@link TChunkResidency} grows to cover every simulated chunk if it has to.
+	 */
+	public void setSimulationDistances(int fullRateDistance, int reducedRateDistance, int reducedRateInterval) {
+		if(fullRateDistance < 0)
+			throw new IllegalArgumentException("[Terrafort Game Engine] The full rate simulation distance can't be negative, not " + fullRateDistance + "!");
+		if(reducedRateDistance < fullRateDistance)
+			throw new IllegalArgumentException("[Terrafort Game Engine] The reduced rate simulation distance can't be smaller than the full rate simulation distance!");
+		if(reducedRateInterval <= 0)
+			throw new IllegalArgumentException("[Terrafort Game Engine] The reduced rate interval must be positive, not " + reducedRateInterval + "!");
+		this.fullRateDistance    = fullRateDistance;
+		this.reducedRateDistance = reducedRateDistance;
+		this.reducedRateInterval = reducedRateInterval;
+		reducedRateFrame         = 0;
+		simulatedVersion         = -1;
+		// a simulated chunk that isn't hot would be hydrated every time it is ticked, and released right after...
+		final int radius = simulationRadius(reducedRateDistance);
+		if(radius > residency.getHotRadius())
+			residency.setHotRadius(radius);
+	}
+	
+	public int getFullRateDistance() {
+		return fullRateDistance;
+	}
+	
+	public int getReducedRateDistance() {
+		return reducedRateDistance;
+	}
+	
+	public int getReducedRateInterval() {
+		return reducedRateInterval;
+	}
+	
+	/**
+	 * Replaces the contents of "out" with every chunk, up to "radiusX" and "radiusY" chunks away from the given center chunk, that is within
+	 * render distance of it. Chunks that don't exist yet are generated.
+	 */
+	private void collectChunks(Array<TChunk> out, int centerChunkX, int centerChunkY, int radiusX, int radiusY) {
+		out.clear();
+		for(int cx = centerChunkX - radiusX; cx <= centerChunkX + radiusX; cx++)
+			for(int cy = centerChunkY - radiusY; cy <= centerChunkY + radiusY; cy++)
+				if(withinRenderDistance(cx, cy, centerChunkX, centerChunkY))
+					out.add(getOrGenerateChunkAt(cx, cy));
+	}
+	
+	/**
+	 * Sorts every chunk within the reduced rate distance of the focus chunk into the chunks simulated at full rate and the chunks simulated at
+	 * reduced rate. Chunks that don't exist yet are generated.
+	 */
+	private void collectSimulatedChunks(int focusChunkX, int focusChunkY) {
+		simulatedChunks.clear();
+		reducedChunks.clear();
+		final int radius = simulationRadius(reducedRateDistance);
+		for(int cx = focusChunkX - radius; cx <= focusChunkX + radius; cx++)
+			for(int cy = focusChunkY - radius; cy <= focusChunkY + radius; cy++) {
+				if(withinDistance(cx, cy, focusChunkX, focusChunkY, fullRateDistance))
+					simulatedChunks.add(getOrGenerateChunkAt(cx, cy));
+				else if(withinDistance(cx, cy, focusChunkX, focusChunkY, reducedRateDistance))
+					reducedChunks.add(getOrGenerateChunkAt(cx, cy));
+			}
+	}
+	
+	/**
+	 * How far, in chunks, the chunks within given amount of tiles can be from the chunk of the focus.
+	 */
+	private static int simulationRadius(int distance) {
+		return (distance + TChunk.CHUNK_SIZE - 1) / TChunk.CHUNK_SIZE;
+	}
+	
+	/**
+	 * Whether or not any tile of the chunk at given chunk coordinates could be within render distance of a focus anywhere in the given
+	 * focus chunk; the closest tiles of both chunks are within render distance of each other.
+	 */
+	private static boolean withinRenderDistance(int chunkX, int chunkY, int focusChunkX, int focusChunkY) {
+		return withinDistance(chunkX, chunkY, focusChunkX, focusChunkY, RENDER_DISTANCE);
+	}
+	
+	/**
+	 * Whether or not the closest tiles of the chunk at given chunk coordinates and of the focus chunk are, at most, "distance" tiles apart.
+	 */
+	static boolean withinDistance(int chunkX, int chunkY, int focusChunkX, int focusChunkY, int distance) {
+		final long gx = Math.max(0, (Math.abs((long)chunkX - focusChunkX) - 1) * TChunk.CHUNK_SIZE + 1);
+		final long gy = Math.max(0, (Math.abs((long)chunkY - focusChunkY) - 1) * TChunk.CHUNK_SIZE + 1);
+		return (gx * gx + gy * gy) <= ((long)distance * distance);
+	}
+	
+	/**
+	 * Ticks the world around the camera, then draws it to the screen from the camera's perspective.
+	 */
+	public void render(float dt) {
+		if(headless)
+			throw new IllegalStateException("[Terrafort Game Engine] A headless world can't be rendered! Use TWorld.tick(dt, focusX, focusY) instead.");
+		final float centerX = TGraphics.WORLD_PROJ_MAT.position.x;
+		final float centerY = TGraphics.WORLD_PROJ_MAT.position.y;
+		tick(dt, centerX, centerY);
+		TProfiler.begin(TPhase.WORLD_DRAW);
+		particles.render();
+		// render chunks in the most optimized way possible...
 		final float camWidthWorldUnits  = TGraphics.WORLD_PROJ_MAT.viewportWidth * TGraphics.WORLD_PROJ_MAT.zoom;
 	    final float camHeightWorldUnits = TGraphics.WORLD_PROJ_MAT.viewportHeight * TGraphics.WORLD_PROJ_MAT.zoom;
-	    final int   tilesInViewWidth    = Math.min(RENDER_DISTANCE, (int)(Math.round(camWidthWorldUnits / TILE_SIZE) / 2f));
-	    final int   tilesInViewHeight   = Math.min(RENDER_DISTANCE, (int)(Math.round(camHeightWorldUnits / TILE_SIZE) / 2f));
+	    final int   tilesInViewWidth    = Math.min(TTerrainImpostors.LOD_DISTANCE, (int)(Math.round(camWidthWorldUnits / TILE_SIZE) / 2f));
+	    final int   tilesInViewHeight   = Math.min(TTerrainImpostors.LOD_DISTANCE, (int)(Math.round(camHeightWorldUnits / TILE_SIZE) / 2f));
 	    final int   cxTileSpace         = (int)Math.round(centerX / TILE_SIZE);
 	    final int   cyTileSpace         = (int)Math.round(centerY / TILE_SIZE);
 	    final int   xTileStart          = cxTileSpace - (tilesInViewWidth + TILE_VIEWPORT_CULL_PADDING);
 	    final int   xTileEnd            = cxTileSpace + (tilesInViewWidth + TILE_VIEWPORT_CULL_PADDING);
 	    final int   yTileStart          = cyTileSpace - (tilesInViewHeight + TILE_VIEWPORT_CULL_PADDING);
 	    final int   yTileEnd            = cyTileSpace + (tilesInViewHeight + TILE_VIEWPORT_CULL_PADDING);
-	    Set<TChunk> ticked              = new HashSet<>();
-	    for(int i = xTileStart; i <= xTileEnd; i++) {
-	        for(int j = yTileStart; j <= yTileEnd; j++) {
-	        	int x2 = (i - cxTileSpace) * (i - cxTileSpace);
-	        	int y2 = (j - cyTileSpace) * (j - cyTileSpace);
-	        	if((x2 + y2) <= (RENDER_DISTANCE * RENDER_DISTANCE)) {
-	        		final TChunk c = getOrGenerateChunkThatContains(i, j);
-	        		if(!ticked.contains(c)) {
-	        			c.update(dt);
-	        			ticked.add(c);
-	        		}
-	        		c.render(dt, i, j);
-	        	}
-	        }
+	    // the chunks in view only change when the camera crosses into another chunk or the view changes size...
+	    final int   cameraChunkX        = TChunk.tileToChunk(cxTileSpace);
+	    final int   cameraChunkY        = TChunk.tileToChunk(cyTileSpace);
+	    final int   radiusX             = Math.min(CHUNK_RENDER_RADIUS, (tilesInViewWidth + TILE_VIEWPORT_CULL_PADDING + TChunk.CHUNK_SIZE - 1) / TChunk.CHUNK_SIZE);
+	    final int   radiusY             = Math.min(CHUNK_RENDER_RADIUS, (tilesInViewHeight + TILE_VIEWPORT_CULL_PADDING + TChunk.CHUNK_SIZE - 1) / TChunk.CHUNK_SIZE);
+	    if(cameraChunkX != visibleChunkX || cameraChunkY != visibleChunkY || radiusX != visibleRadiusX || radiusY != visibleRadiusY 
+	    		|| visibleVersion != chunkSetVersion) {
+	    	collectChunks(visibleChunks, cameraChunkX, cameraChunkY, radiusX, radiusY);
+	    	visibleChunkX  = cameraChunkX;
+	    	visibleChunkY  = cameraChunkY;
+	    	visibleRadiusX = radiusX;
+	    	visibleRadiusY = radiusY;
+	    	visibleVersion = chunkSetVersion;
+	    }
+	    mobManager.render(xTileStart, yTileStart, xTileEnd, yTileEnd);
+	    // terrain is drawn a whole chunk at a time from its baked layer...
+	    terrain.begin();
+	    for(final TChunk c : visibleChunks) {
+	    	// the set is chunk aligned, so its outer chunks may be just out of view...
+	    	final long minX = (long)c.getChunkX() * TChunk.CHUNK_SIZE;
+	    	final long minY = (long)c.getChunkY() * TChunk.CHUNK_SIZE;
+	    	if(minX > xTileEnd || minX + TChunk.CHUNK_SIZE - 1 < xTileStart || minY > yTileEnd || minY + TChunk.CHUNK_SIZE - 1 < yTileStart)
+	    		continue;
+	    	c.renderObjects(cxTileSpace, cyTileSpace);
+	    	// over this frame's bake budget; draw the tiles in view one by one until the chunk is baked...
+	    	if(!terrain.draw(c))
+	    		c.renderTiles(dt, xTileStart, yTileStart, xTileEnd, yTileEnd);
 	    }
+	    // past render distance, every chunk in view is one low resolution quad...
+	    impostors.draw(cameraChunkX, cameraChunkY, xTileStart, yTileStart, xTileEnd, yTileEnd);
+	    TProfiler.end(TPhase.WORLD_DRAW);
 	}
 
 	@Override
 	public void dispose() {
-		TPersistent.save(this, "world/" + uniqueWorldName + ".dat");
-		for(final TChunk chunk : getChunkData().values())
+		generator.dispose();
+		pathfinder.dispose();
+		// only chunks that changed since they were last written touch the disk...
+		for(final TChunk chunk : getChunkData().values()) {
+			writeChunk(chunk);
 			chunk.dispose();
+		}
+		if(terrain != null)
+			terrain.dispose();
+		if(impostors != null)
+			impostors.dispose();
+		regions.dispose();
+		recordWriter.reset();
+		write(recordWriter);
+		TPersistent.saveBytes(recordWriter.toByteArray(), getFilePath(uniqueWorldName));
 		jniSpace.dispose();
 	}
 
@@ -0,0 +1,183 @@
+package dev.iwilkey.terrafort.world.path;
+
+import com.badlogic.gdx.utils.Array;
+
+import dev.iwilkey.terrafort.world.TChunk;
+
+/**
+ * The abstract graph of one chunk: its portals and the flow fields that lead to each of them. A portal is the middle tile of a run of
+ * border tiles that can be walked on, and whose neighbors across the border can be walked on too. Both chunks of a border find the same
+ * runs, so every portal has a partner portal across the border. Built from the snapshot of the chunk and of its four neighbors; the graph
+ * is stale once any of them is no longer published.
+ * @author Ian Wilkey (iwilkey)
+ */
+final class TChunkGraph {
+
+	private static final int[] SIDE_DX = { -1, 1,  0, 0 };
+	private static final int[] SIDE_DY = {  0, 0, -1, 1 };
+
+	private final TNavChunk         self;
+	private final TNavChunk[]       neighbors;
+	private final int[]             portals;
+	private final Array<TFlowField> fields;
+	private final int[]             crossFrom;
+	private final int[]             crossTileX;
+	private final int[]             crossTileY;
+
+	/**
+	 * Builds the graph of a chunk. "neighbors" holds the snapshots of the chunks to the west, east, south and north, in that order; null if
+	 * there is none.
+	 */
+	TChunkGraph(TNavChunk self, TNavChunk[] neighbors) {
+		this.self      = self;
+		this.neighbors = neighbors.clone();
+		final int   size       = TChunk.CHUNK_SIZE;
+		final int[] local      = new int[size * 4];
+		final int[] from       = new int[size * 4];
+		final int[] tileX      = new int[size * 4];
+		final int[] tileY      = new int[size * 4];
+		final int   originX    = self.getChunkX() * size;
+		final int   originY    = self.getChunkY() * size;
+		int         portalSize = 0;
+		int         crossSize  = 0;
+		for(int side = 0; side < 4; side++) {
+			final TNavChunk other = neighbors[side];
+			if(other == null)
+				continue;
+			int runStart = -1;
+			for(int k = 0; k <= size; k++) {
+				boolean open = false;
+				if(k < size) {
+					final int lx = borderX(side, k, size);
+					final int ly = borderY(side, k, size);
+					open         = self.isWalkable(lx, ly) && other.isWalkable(Math.floorMod(lx + SIDE_DX[side], size), Math.floorMod(ly + SIDE_DY[side], size));
+				}
+				if(open && runStart < 0)
+					runStart = k;
+				if(open || runStart < 0)
+					continue;
+				// the run ended; its middle tile is the portal...
+				final int mid = (runStart + k - 1) / 2;
+				final int lx  = borderX(side, mid, size);
+				final int ly  = borderY(side, mid, size);
+				final int li  = TChunk.localIndex(lx, ly);
+				int       p   = 0;
+				while(p < portalSize && local[p] != li)
+					p++;
+				if(p == portalSize)
+					local[portalSize++] = li;
+				from[crossSize]  = p;
+				tileX[crossSize] = originX + lx + SIDE_DX[side];
+				tileY[crossSize] = originY + ly + SIDE_DY[side];
+				crossSize++;
+				runStart = -1;
+			}
+		}
+		portals    = new int[portalSize];
+		fields     = new Array<>(true, portalSize);
+		crossFrom  = new int[crossSize];
+		crossTileX = new int[crossSize];
+		crossTileY = new int[crossSize];
+		System.arraycopy(local, 0, portals, 0, portalSize);
+		System.arraycopy(from, 0, crossFrom, 0, crossSize);
+		System.arraycopy(tileX, 0, crossTileX, 0, crossSize);
+		System.arraycopy(tileY, 0, crossTileY, 0, crossSize);
+		for(int p = 0; p < portalSize; p++)
+			fields.add(new TFlowField(self, portals[p]));
+	}
+
+	/**
+	 * Whether or not this graph was built from given snapshots; see the constructor.
+	 */
+	boolean isBuiltFrom(TNavChunk self, TNavChunk[] neighbors) {
+		if(this.self != self)
+			return false;
+		for(int i = 0; i < 4; i++)
+			if(this.neighbors[i] != neighbors[i])
+				return false;
+		return true;
+	}
+
+	TNavChunk getSnapshot() {
+		return self;
+	}
+
+	/**
+	 * The amount of portals of this chunk.
+	 */
+	int getPortalCount() {
+		return portals.length;
+	}
+
+	/**
+	 * The local index of given portal.
+	 */
+	int getPortal(int portal) {
+		return portals[portal];
+	}
+
+	/**
+	 * The portal at given local index, or -1 if that tile isn't one.
+	 */
+	int findPortal(int localIndex) {
+		for(int p = 0; p < portals.length; p++)
+			if(portals[p] == localIndex)
+				return p;
+		return -1;
+	}
+
+	/**
+	 * The flow field that leads to given portal from anywhere in this chunk.
+	 */
+	TFlowField getField(int portal) {
+		return fields.get(portal);
+	}
+
+	/**
+	 * The amount of border crossings. A portal on a corner of the chunk can cross two borders.
+	 */
+	int getCrossingCount() {
+		return crossFrom.length;
+	}
+
+	/**
+	 * The portal given crossing starts from.
+	 */
+	int getCrossingPortal(int crossing) {
+		return crossFrom[crossing];
+	}
+
+	/**
+	 * The tile coordinates of the partner portal across the border of given crossing.
+	 */
+	int getCrossingTileX(int crossing) {
+		return crossTileX[crossing];
+	}
+
+	int getCrossingTileY(int crossing) {
+		return crossTileY[crossing];
+	}
+
+	/**
+	 * The local x coordinate of the k-th tile along given border of the chunk.
+	 */
+	private static int borderX(int side, int k, int size) {
+		switch(side) {
+			case 0:  return 0;
+			case 1:  return size - 1;
+			default: return k;
+		}
+	}
+
+	/**
+	 * The local y coordinate of the k-th tile along given border of the chunk.
+	 */
+	private static int borderY(int side, int k, int size) {
+		switch(side) {
+			case 2:  return 0;
+			case 3:  return size - 1;
+			default: return k;
+		}
+	}
+
+}
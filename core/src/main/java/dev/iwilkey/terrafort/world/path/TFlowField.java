@@ -0,0 +1,95 @@
+package dev.iwilkey.terrafort.world.path;
+
+import java.util.Arrays;
+
+import dev.iwilkey.terrafort.world.TChunk;
+
+/**
+ * The cheapest way from every tile of a {@link TNavChunk} to one target tile, without leaving the chunk. Built with one Dijkstra flood from
+ * the target. Moves go in 8 directions; a diagonal move can't cut the corner of a tile that can't be walked on, so costs are symmetric.
+ * @author Ian Wilkey (iwilkey)
+ */
+final class TFlowField {
+
+	/**
+	 * The cost of a straight and of a diagonal move.
+	 */
+	static final int STRAIGHT    = 10;
+	static final int DIAGONAL    = 14;
+
+	/**
+	 * The cost of a tile the target can't be reached from.
+	 */
+	static final int UNREACHABLE = Short.MAX_VALUE;
+
+	private static final int[] DX = { 1, -1, 0,  0, 1, -1,  1, -1 };
+	private static final int[] DY = { 0,  0, 1, -1, 1,  1, -1, -1 };
+
+	private final int     target;
+	private final short[] cost;
+	private final byte[]  next;
+
+	/**
+	 * Floods given chunk from the target at given local index.
+	 */
+	TFlowField(TNavChunk chunk, int target) {
+		this.target = target;
+		cost        = new short[TChunk.CHUNK_AREA];
+		next        = new byte[TChunk.CHUNK_AREA];
+		Arrays.fill(cost, (short)UNREACHABLE);
+		if(!chunk.isWalkable(target))
+			return;
+		// an entry is the cost in the high bits and the tile in the low byte...
+		final TLongHeap open = new TLongHeap(TChunk.CHUNK_AREA);
+		cost[target]         = 0;
+		next[target]         = (byte)target;
+		open.push(target);
+		while(!open.isEmpty()) {
+			final long entry = open.pop();
+			final int  c     = (int)(entry >>> 8);
+			final int  u     = (int)(entry & 0xff);
+			if(c > cost[u])
+				continue;
+			final int ux = u % TChunk.CHUNK_SIZE;
+			final int uy = u / TChunk.CHUNK_SIZE;
+			for(int d = 0; d < DX.length; d++) {
+				final int vx = ux + DX[d];
+				final int vy = uy + DY[d];
+				if(!chunk.isWalkable(vx, vy))
+					continue;
+				final boolean diagonal = DX[d] != 0 && DY[d] != 0;
+				if(diagonal && (!chunk.isWalkable(ux + DX[d], uy) || !chunk.isWalkable(ux, uy + DY[d])))
+					continue;
+				final int v  = TChunk.localIndex(vx, vy);
+				final int vc = c + (diagonal ? DIAGONAL : STRAIGHT);
+				if(vc >= cost[v])
+					continue;
+				cost[v] = (short)vc;
+				next[v] = (byte)u;
+				open.push(((long)vc << 8) | v);
+			}
+		}
+	}
+
+	/**
+	 * The local index of the tile this field leads to.
+	 */
+	int getTarget() {
+		return target;
+	}
+
+	/**
+	 * The cost of the cheapest way from the tile at given local index to the target, or UNREACHABLE.
+	 */
+	int getCost(int from) {
+		return cost[from];
+	}
+
+	/**
+	 * The local index of the tile to step on next from the tile at given local index. Only meaningful if the target is reachable from it.
+	 */
+	int getNext(int from) {
+		return next[from] & 0xff;
+	}
+
+}
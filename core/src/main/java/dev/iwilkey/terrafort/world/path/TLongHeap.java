@@ -0,0 +1,59 @@
+package dev.iwilkey.terrafort.world.path;
+
+import java.util.Arrays;
+
+/**
+ * A binary min-heap of longs that grows as needed. Searches pack the priority in the high bits of an entry and what it refers to in the low
+ * ones, so entries are compared as plain longs.
+ * @author Ian Wilkey (iwilkey)
+ */
+final class TLongHeap {
+
+	private long[] entries;
+	private int    size = 0;
+
+	TLongHeap(int capacity) {
+		entries = new long[Math.max(1, capacity)];
+	}
+
+	void push(long entry) {
+		if(size == entries.length)
+			entries = Arrays.copyOf(entries, size * 2);
+		int i = size++;
+		while(i > 0) {
+			final int parent = (i - 1) >>> 1;
+			if(entries[parent] <= entry)
+				break;
+			entries[i] = entries[parent];
+			i          = parent;
+		}
+		entries[i] = entry;
+	}
+
+	/**
+	 * Removes and returns the smallest entry. The heap must not be empty.
+	 */
+	long pop() {
+		final long top  = entries[0];
+		final long last = entries[--size];
+		int        i    = 0;
+		while(true) {
+			int child = (i << 1) + 1;
+			if(child >= size)
+				break;
+			if(child + 1 < size && entries[child + 1] < entries[child])
+				child++;
+			if(entries[child] >= last)
+				break;
+			entries[i] = entries[child];
+			i          = child;
+		}
+		entries[i] = last;
+		return top;
+	}
+
+	boolean isEmpty() {
+		return size == 0;
+	}
+
+}
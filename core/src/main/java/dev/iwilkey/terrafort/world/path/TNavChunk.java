@@ -0,0 +1,51 @@
+package dev.iwilkey.terrafort.world.path;
+
+import dev.iwilkey.terrafort.world.TChunk;
+
+/**
+ * An immutable snapshot of which tiles of a {@link TChunk} can be walked on. Snapshots are taken on the render thread and only ever read by
+ * the workers of the {@link TPathfinder}, so a search never touches live chunk data. A chunk that changes gets a new snapshot; anything
+ * derived from the old one is stale once its snapshot is no longer the published one.
+ * @author Ian Wilkey (iwilkey)
+ */
+public final class TNavChunk {
+
+	private final int    chunkX;
+	private final int    chunkY;
+	private final long[] walkable;
+
+	/**
+	 * Takes a snapshot of given chunk. See {@link TChunk}.collectWalkable(out).
+	 */
+	TNavChunk(TChunk chunk) {
+		chunkX   = chunk.getChunkX();
+		chunkY   = chunk.getChunkY();
+		walkable = new long[TChunk.CHUNK_AREA / 64];
+		chunk.collectWalkable(walkable);
+	}
+
+	public int getChunkX() {
+		return chunkX;
+	}
+
+	public int getChunkY() {
+		return chunkY;
+	}
+
+	/**
+	 * Whether or not the tile at given local index (see {@link TChunk}.localIndex(localX, localY)) could be walked on.
+	 */
+	public boolean isWalkable(int localIndex) {
+		return (walkable[localIndex >>> 6] & (1L << localIndex)) != 0;
+	}
+
+	/**
+	 * Whether or not the tile at given local coordinates could be walked on. False outside of the chunk.
+	 */
+	public boolean isWalkable(int localX, int localY) {
+		if(localX < 0 || localY < 0 || localX >= TChunk.CHUNK_SIZE || localY >= TChunk.CHUNK_SIZE)
+			return false;
+		return isWalkable(TChunk.localIndex(localX, localY));
+	}
+
+}
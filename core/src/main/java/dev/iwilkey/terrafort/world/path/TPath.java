@@ -0,0 +1,58 @@
+package dev.iwilkey.terrafort.world.path;
+
+import dev.iwilkey.terrafort.world.TWorld;
+
+/**
+ * An immutable path of tiles found by the {@link TPathfinder}, from the start tile to the goal tile, both included. Every tile is a straight
+ * or diagonal step from the one before it.
+ * @author Ian Wilkey (iwilkey)
+ */
+public final class TPath {
+
+	private final int[]       tileX;
+	private final int[]       tileY;
+	private final TNavChunk[] crossed;
+
+	TPath(int[] tileX, int[] tileY, TNavChunk[] crossed) {
+		this.tileX   = tileX;
+		this.tileY   = tileY;
+		this.crossed = crossed;
+	}
+
+	/**
+	 * The amount of tiles on this path.
+	 */
+	public int getLength() {
+		return tileX.length;
+	}
+
+	public int getTileX(int i) {
+		return tileX[i];
+	}
+
+	public int getTileY(int i) {
+		return tileY[i];
+	}
+
+	/**
+	 * The world x coordinate of the center of the i-th tile.
+	 */
+	public float getWorldX(int i) {
+		return tileX[i] * TWorld.TILE_SIZE;
+	}
+
+	/**
+	 * The world y coordinate of the center of the i-th tile.
+	 */
+	public float getWorldY(int i) {
+		return tileY[i] * TWorld.TILE_SIZE;
+	}
+
+	/**
+	 * The snapshots of every chunk this path walks through. The path still holds while all of them are published.
+	 */
+	TNavChunk[] getCrossed() {
+		return crossed;
+	}
+
+}
@@ -0,0 +1,58 @@
+package dev.iwilkey.terrafort.world.path;
+
+/**
+ * A path request handed out by the {@link TPathfinder}. The path is searched for in the background; poll isDone() from the render thread.
+ * @author Ian Wilkey (iwilkey)
+ */
+public final class TPathQuery {
+
+	final int startTileX;
+	final int startTileY;
+	final int goalTileX;
+	final int goalTileY;
+
+	private volatile TPath   path      = null;
+	private volatile boolean done      = false;
+	private volatile boolean cancelled = false;
+
+	TPathQuery(int startTileX, int startTileY, int goalTileX, int goalTileY) {
+		this.startTileX = startTileX;
+		this.startTileY = startTileY;
+		this.goalTileX  = goalTileX;
+		this.goalTileY  = goalTileY;
+	}
+
+	/**
+	 * Whether or not the search is over. A cancelled query is never done.
+	 */
+	public boolean isDone() {
+		return done;
+	}
+
+	/**
+	 * The path that was found, or null if there is none or the search isn't over.
+	 */
+	public TPath getPath() {
+		return path;
+	}
+
+	/**
+	 * Tells the pathfinder that the path isn't needed anymore. A query that wasn't searched for yet is skipped.
+	 */
+	public void cancel() {
+		cancelled = true;
+	}
+
+	public boolean isCancelled() {
+		return cancelled;
+	}
+
+	/**
+	 * Ends the search with given path, null if there is none.
+	 */
+	void complete(TPath path) {
+		this.path = path;
+		done      = true;
+	}
+
+}
@@ -0,0 +1,399 @@
+package dev.iwilkey.terrafort.world.path;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.badlogic.gdx.utils.Disposable;
+
+import dev.iwilkey.terrafort.math.THash;
+import dev.iwilkey.terrafort.world.TChunk;
+import dev.iwilkey.terrafort.world.TSpatialIndex;
+import dev.iwilkey.terrafort.world.TWorld;
+
+/**
+ * Finds paths of walkable tiles through the chunks of a {@link TWorld} on a pool of worker threads. A tile can be walked on if it isn't
+ * water and no static, solid object stands on it; see {@link TChunk}.collectWalkable(out).
+ *
+ * <p>
+ * The render thread takes an immutable {@link TNavChunk} snapshot of every generated chunk in memory, again whenever the chunk changes.
+ * Workers only ever read snapshots. A search is hierarchical: an A* over the portals between chunks, where the cost between two portals
+ * of a chunk comes from the flow field of each portal, and the flow fields are followed again to refine the portals into tiles. The
+ * portals and flow fields of a chunk are cached until the snapshot of the chunk, or of a neighbor, is replaced. Found paths are cached
+ * until the snapshot of any chunk they walk through is replaced. Chunks without a snapshot can't be walked through.
+ * </p>
+ * @author Ian Wilkey (iwilkey)
+ */
+public final class TPathfinder implements Disposable {
+
+	/**
+	 * The amount of worker threads dedicated to finding paths.
+	 */
+	public static final int WORKERS                 = Math.max(1, Math.min(2, Runtime.getRuntime().availableProcessors() - 1));
+
+	/**
+	 * The maximum amount of chunk snapshots taken in one frame.
+	 */
+	public static final int MAX_SNAPSHOTS_PER_FRAME = 32;
+
+	/**
+	 * The maximum amount of chunks, in any direction, between the chunks of the start and the goal of a path.
+	 */
+	public static final int MAX_SEARCH_CHUNKS       = 16;
+
+	/**
+	 * The maximum amount of portals a search expands before it gives up.
+	 */
+	public static final int MAX_EXPANSIONS          = 4096;
+
+	/**
+	 * The maximum amount of paths cached before the cache is emptied.
+	 */
+	public static final int MAX_CACHED_PATHS        = 1024;
+
+	/**
+	 * A node of the portal graph searched by a worker. The start and the goal are nodes too.
+	 */
+	private static final class TNode {
+
+		private final int tileX;
+		private final int tileY;
+		private final int index;
+		private int       g      = Integer.MAX_VALUE;
+		private TNode     parent = null;
+		private boolean   closed = false;
+
+		private TNode(int tileX, int tileY, int index) {
+			this.tileX = tileX;
+			this.tileY = tileY;
+			this.index = index;
+		}
+
+	}
+
+	private final ExecutorService                      workers;
+	private final ConcurrentHashMap<Long, TNavChunk>   snapshots;
+	private final ConcurrentHashMap<Long, TChunkGraph> graphs;
+	private final ConcurrentHashMap<Long, TPath>       paths;
+	private final LinkedHashSet<TChunk>                stale;
+
+	/**
+	 * Creates a new pathfinder with an empty set of snapshots.
+	 */
+	public TPathfinder() {
+		snapshots = new ConcurrentHashMap<>();
+		graphs    = new ConcurrentHashMap<>();
+		paths     = new ConcurrentHashMap<>();
+		stale     = new LinkedHashSet<>();
+		workers   = Executors.newFixedThreadPool(WORKERS, new ThreadFactory() {
+			private final AtomicInteger count = new AtomicInteger();
+			@Override
+			public Thread newThread(Runnable r) {
+				final Thread t = new Thread(r, "TerrafortPathWorker-" + count.incrementAndGet());
+				t.setDaemon(true);
+				t.setPriority(Thread.NORM_PRIORITY - 1);
+				return t;
+			}
+		});
+	}
+
+	/**
+	 * Indicates that the tiles or the static objects of given chunk changed. It gets a new snapshot during one of the next updates. Must be
+	 * called on the render thread.
+	 */
+	public void invalidate(TChunk chunk) {
+		stale.add(chunk);
+	}
+
+	/**
+	 * Drops the snapshot of a chunk that is leaving memory. Must be called on the render thread.
+	 */
+	public void forget(TChunk chunk) {
+		stale.remove(chunk);
+		snapshots.remove(chunk.getPositionHash());
+		graphs.remove(chunk.getPositionHash());
+	}
+
+	/**
+	 * Takes, at most, {@link TPathfinder}.MAX_SNAPSHOTS_PER_FRAME snapshots of chunks that changed. Must be called on the render thread.
+	 */
+	public void update() {
+		int                    taken = 0;
+		final Iterator<TChunk> it    = stale.iterator();
+		while(it.hasNext() && taken < MAX_SNAPSHOTS_PER_FRAME) {
+			final TChunk chunk = it.next();
+			it.remove();
+			// a chunk that isn't generated yet is invalidated again once it is...
+			if(!chunk.isGenerated())
+				continue;
+			snapshots.put(chunk.getPositionHash(), new TNavChunk(chunk));
+			taken++;
+		}
+	}
+
+	/**
+	 * Requests a path between given world coordinates. A cached path is handed out right away; otherwise the path is searched for in the
+	 * background. Must be called on the render thread.
+	 */
+	public TPathQuery request(float startX, float startY, float goalX, float goalY) {
+		final TPathQuery query  = new TPathQuery(TSpatialIndex.worldToTile(startX), TSpatialIndex.worldToTile(startY),
+				                                 TSpatialIndex.worldToTile(goalX), TSpatialIndex.worldToTile(goalY));
+		final long       key    = cacheKey(query);
+		final TPath      cached = paths.get(key);
+		if(cached != null && isCurrent(cached) && cached.getTileX(0) == query.startTileX && cached.getTileY(0) == query.startTileY
+				&& cached.getTileX(cached.getLength() - 1) == query.goalTileX && cached.getTileY(cached.getLength() - 1) == query.goalTileY) {
+			query.complete(cached);
+			return query;
+		}
+		workers.execute(() -> {
+			if(query.isCancelled())
+				return;
+			final TPath path = search(query);
+			if(path != null) {
+				if(paths.size() >= MAX_CACHED_PATHS)
+					paths.clear();
+				paths.put(key, path);
+			}
+			query.complete(path);
+		});
+		return query;
+	}
+
+	/**
+	 * The amount of chunks that have a snapshot.
+	 */
+	public int getSnapshotCount() {
+		return snapshots.size();
+	}
+
+	/**
+	 * Whether or not every chunk a path walks through still has the snapshot it was found in.
+	 */
+	private boolean isCurrent(TPath path) {
+		for(final TNavChunk nav : path.getCrossed())
+			if(snapshots.get(TChunk.positionHash(nav.getChunkX(), nav.getChunkY())) != nav)
+				return false;
+		return true;
+	}
+
+	/**
+	 * Searches for a path on a worker. Returns null if there is none, it's too far or the query was cancelled.
+	 */
+	private TPath search(TPathQuery query) {
+		final int       startChunkX = TChunk.tileToChunk(query.startTileX);
+		final int       startChunkY = TChunk.tileToChunk(query.startTileY);
+		final int       goalChunkX  = TChunk.tileToChunk(query.goalTileX);
+		final int       goalChunkY  = TChunk.tileToChunk(query.goalTileY);
+		final int       startLocal  = localIndexOf(query.startTileX, query.startTileY);
+		final int       goalLocal   = localIndexOf(query.goalTileX, query.goalTileY);
+		final TNavChunk startNav    = snapshots.get(TChunk.positionHash(startChunkX, startChunkY));
+		final TNavChunk goalNav     = snapshots.get(TChunk.positionHash(goalChunkX, goalChunkY));
+		if(startNav == null || goalNav == null || !startNav.isWalkable(startLocal) || !goalNav.isWalkable(goalLocal))
+			return null;
+		if(Math.max(Math.abs(goalChunkX - startChunkX), Math.abs(goalChunkY - startChunkY)) > MAX_SEARCH_CHUNKS)
+			return null;
+		// the flow field of the goal gives the cost from every tile of its chunk, portals included...
+		final TFlowField goalField = new TFlowField(goalNav, goalLocal);
+		if(startNav == goalNav && goalField.getCost(startLocal) != TFlowField.UNREACHABLE) {
+			final ArrayList<TNavChunk> crossed = new ArrayList<>();
+			crossed.add(startNav);
+			final int[] tiles = new int[2 * (goalField.getCost(startLocal) / TFlowField.STRAIGHT + 2)];
+			int         size  = 0;
+			tiles[size++]     = query.startTileX;
+			tiles[size++]     = query.startTileY;
+			size              = follow(goalField, startNav, startLocal, tiles, size);
+			return toPath(tiles, size, crossed);
+		}
+		final HashMap<Long, TChunkGraph> memo  = new HashMap<>();
+		final HashMap<Long, TNode>       nodes = new HashMap<>();
+		final ArrayList<TNode>           all   = new ArrayList<>();
+		final TLongHeap                  open  = new TLongHeap(256);
+		final TNode                      start = new TNode(query.startTileX, query.startTileY, 0);
+		final TNode                      goal  = new TNode(query.goalTileX, query.goalTileY, 1);
+		all.add(start);
+		all.add(goal);
+		start.g = 0;
+		open.push(((long)heuristic(start, goal) << 32) | start.index);
+		int expansions = 0;
+		while(!open.isEmpty()) {
+			final TNode n = all.get((int)(open.pop() & 0xffffffffL));
+			if(n.closed)
+				continue;
+			n.closed = true;
+			if(n == goal)
+				break;
+			if(++expansions > MAX_EXPANSIONS || query.isCancelled())
+				return null;
+			final int         chunkX = TChunk.tileToChunk(n.tileX);
+			final int         chunkY = TChunk.tileToChunk(n.tileY);
+			final int         local  = localIndexOf(n.tileX, n.tileY);
+			final TChunkGraph graph  = graph(chunkX, chunkY, memo);
+			if(graph == null)
+				continue;
+			if(chunkX == goalChunkX && chunkY == goalChunkY && graph.getSnapshot() == goalNav)
+				relax(n, goal, goalField.getCost(local), goal, open);
+			final int portal = (n == start) ? -1 : graph.findPortal(local);
+			// across the borders of the chunk...
+			if(portal >= 0)
+				for(int c = 0; c < graph.getCrossingCount(); c++)
+					if(graph.getCrossingPortal(c) == portal)
+						relax(n, node(graph.getCrossingTileX(c), graph.getCrossingTileY(c), nodes, all), TFlowField.STRAIGHT, goal, open);
+			// ... and to every other portal of the chunk...
+			for(int p = 0; p < graph.getPortalCount(); p++) {
+				if(p == portal)
+					continue;
+				final int to = graph.getPortal(p);
+				relax(n, node(chunkX * TChunk.CHUNK_SIZE + to % TChunk.CHUNK_SIZE, chunkY * TChunk.CHUNK_SIZE + to / TChunk.CHUNK_SIZE, nodes, all),
+						graph.getField(p).getCost(local), goal, open);
+			}
+		}
+		if(!goal.closed)
+			return null;
+		return refine(start, goal, goalField, goalNav, memo);
+	}
+
+	/**
+	 * Turns the portals of a found route into tiles by following the flow fields between them.
+	 */
+	private TPath refine(TNode start, TNode goal, TFlowField goalField, TNavChunk goalNav, HashMap<Long, TChunkGraph> memo) {
+		final ArrayList<TNode> route = new ArrayList<>();
+		for(TNode n = goal; n != null; n = n.parent)
+			route.add(0, n);
+		final ArrayList<TNavChunk> crossed = new ArrayList<>();
+		int[]                      tiles   = new int[64];
+		int                        size    = 0;
+		tiles[size++]                      = start.tileX;
+		tiles[size++]                      = start.tileY;
+		for(int i = 1; i < route.size(); i++) {
+			final TNode       a      = route.get(i - 1);
+			final TNode       b      = route.get(i);
+			final int         chunkX = TChunk.tileToChunk(a.tileX);
+			final int         chunkY = TChunk.tileToChunk(a.tileY);
+			final TChunkGraph graph  = memo.get(TChunk.positionHash(chunkX, chunkY));
+			if(!crossed.contains(graph.getSnapshot()))
+				crossed.add(graph.getSnapshot());
+			// every segment is at most a chunk's worth of tiles...
+			if(size + 2 * TChunk.CHUNK_AREA > tiles.length)
+				tiles = Arrays.copyOf(tiles, Math.max(tiles.length * 2, size + 2 * TChunk.CHUNK_AREA));
+			if(b == goal)
+				size = follow(goalField, goalNav, localIndexOf(a.tileX, a.tileY), tiles, size);
+			else if(TChunk.tileToChunk(b.tileX) != chunkX || TChunk.tileToChunk(b.tileY) != chunkY) {
+				tiles[size++] = b.tileX;
+				tiles[size++] = b.tileY;
+			} else
+				size = follow(graph.getField(graph.findPortal(localIndexOf(b.tileX, b.tileY))), graph.getSnapshot(), localIndexOf(a.tileX, a.tileY), tiles, size);
+		}
+		return toPath(tiles, size, crossed);
+	}
+
+	/**
+	 * Lowers the cost of reaching "to" through "from", if that is cheaper, and queues it.
+	 */
+	private static void relax(TNode from, TNode to, int cost, TNode goal, TLongHeap open) {
+		if(cost == TFlowField.UNREACHABLE || to.closed)
+			return;
+		final int g = from.g + cost;
+		if(g >= to.g)
+			return;
+		to.g      = g;
+		to.parent = from;
+		open.push(((long)(g + heuristic(to, goal)) << 32) | to.index);
+	}
+
+	/**
+	 * The cost of the cheapest way between two nodes if every tile could be walked on. Never overestimates.
+	 */
+	private static int heuristic(TNode n, TNode goal) {
+		final int dx = Math.abs(goal.tileX - n.tileX);
+		final int dy = Math.abs(goal.tileY - n.tileY);
+		return TFlowField.STRAIGHT * Math.abs(dx - dy) + TFlowField.DIAGONAL * Math.min(dx, dy);
+	}
+
+	/**
+	 * The node of the portal on given tile, created the first time it is reached.
+	 */
+	private static TNode node(int tileX, int tileY, HashMap<Long, TNode> nodes, ArrayList<TNode> all) {
+		final long key = TChunk.positionHash(tileX, tileY);
+		TNode      n   = nodes.get(key);
+		if(n == null) {
+			n = new TNode(tileX, tileY, all.size());
+			nodes.put(key, n);
+			all.add(n);
+		}
+		return n;
+	}
+
+	/**
+	 * The graph of the chunk at given chunk coordinates, built again if any snapshot it was built from was replaced. Null if the chunk has
+	 * no snapshot. Graphs are only looked up once per search, so a search sees one consistent graph per chunk.
+	 */
+	private TChunkGraph graph(int chunkX, int chunkY, HashMap<Long, TChunkGraph> memo) {
+		final long  hash = TChunk.positionHash(chunkX, chunkY);
+		TChunkGraph g    = memo.get(hash);
+		if(g != null || memo.containsKey(hash))
+			return g;
+		final TNavChunk self = snapshots.get(hash);
+		if(self != null) {
+			final TNavChunk[] neighbors = {
+				snapshots.get(TChunk.positionHash(chunkX - 1, chunkY)),
+				snapshots.get(TChunk.positionHash(chunkX + 1, chunkY)),
+				snapshots.get(TChunk.positionHash(chunkX, chunkY - 1)),
+				snapshots.get(TChunk.positionHash(chunkX, chunkY + 1))
+			};
+			g = graphs.get(hash);
+			if(g == null || !g.isBuiltFrom(self, neighbors)) {
+				g = new TChunkGraph(self, neighbors);
+				graphs.put(hash, g);
+			}
+		}
+		memo.put(hash, g);
+		return g;
+	}
+
+	/**
+	 * Appends the tiles met following given flow field from the tile at given local index of its chunk, excluding that tile, to "tiles".
+	 * Returns the new amount of ints in "tiles".
+	 */
+	private static int follow(TFlowField field, TNavChunk nav, int from, int[] tiles, int size) {
+		final int originX = nav.getChunkX() * TChunk.CHUNK_SIZE;
+		final int originY = nav.getChunkY() * TChunk.CHUNK_SIZE;
+		int       cur     = from;
+		while(cur != field.getTarget()) {
+			cur           = field.getNext(cur);
+			tiles[size++] = originX + cur % TChunk.CHUNK_SIZE;
+			tiles[size++] = originY + cur / TChunk.CHUNK_SIZE;
+		}
+		return size;
+	}
+
+	private static TPath toPath(int[] tiles, int size, ArrayList<TNavChunk> crossed) {
+		final int[] tileX = new int[size / 2];
+		final int[] tileY = new int[size / 2];
+		for(int i = 0; i < tileX.length; i++) {
+			tileX[i] = tiles[i * 2];
+			tileY[i] = tiles[i * 2 + 1];
+		}
+		return new TPath(tileX, tileY, crossed.toArray(new TNavChunk[0]));
+	}
+
+	private static int localIndexOf(int tileX, int tileY) {
+		return TChunk.localIndex(TChunk.tileToLocal(tileX), TChunk.tileToLocal(tileY));
+	}
+
+	private static long cacheKey(TPathQuery query) {
+		return THash.hash(TChunk.positionHash(query.startTileX, query.startTileY), query.goalTileX, query.goalTileY, 0);
+	}
+
+	@Override
+	public void dispose() {
+		workers.shutdownNow();
+	}
+
+}
@@ -1,10 +1,13 @@
 package dev.iwilkey.terrafort.world.terrain;
 
 import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
 
 import dev.iwilkey.terrafort.gfx.TFrame;
 import dev.iwilkey.terrafort.gfx.TGraphics;
 import dev.iwilkey.terrafort.gfx.TRect;
+import dev.iwilkey.terrafort.gfx.TSpriteSheet;
 import dev.iwilkey.terrafort.math.TMath;
 import dev.iwilkey.terrafort.world.TChunk;
 import dev.iwilkey.terrafort.world.TWorld;
@@ -23,6 +26,21 @@ public abstract class TBiome {
 	public static final int  ROCK_LEVEL     = 3;
 	public static final int  TERRAIN_LEVELS = (MAX_HEIGHT - MIN_HEIGHT) + 1;
 	
+	/**
+	 * The color of the placeholder drawn for tiles whose chunk is still being generated.
+	 */
+	public static final int  PLACEHOLDER_COLOR = 0x2e2e38ff;
+	
+	/**
+	 * The thickness of the transition border drawn along the edge of a tile that is higher than its neighbor.
+	 */
+	public static final int  BORDER_SIZE       = TWorld.TILE_SIZE / 6;
+	
+	/**
+	 * The path of the sprite sheet that holds every terrain {@link TFrame}.
+	 */
+	public static final String TERRAIN_SHEET   = "sheets/natural.png";
+	
 	protected final TFrame[] levels;
 	protected final Color[]  transitions;
 	protected final TChunk   parent;
@@ -36,13 +54,24 @@ public abstract class TBiome {
 	}
 	
 	public void render(float dt, long tileX, long tileY) {
-    	final int vq = parent.getOrGenerateTile(tileX, tileY);
+		if(!parent.isGenerated()) {
+			renderPlaceholder(tileX, tileY);
+			return;
+		}
+		final int lx = TChunk.tileToLocal(tileX);
+		final int ly = TChunk.tileToLocal(tileY);
+    	final int vq = parent.getLocalTile(TChunk.localIndex(lx, ly));
         for (int d = 0; d < 8; d++) {
             final int dx  = TMath.DX[d];
             final int dy  = TMath.DY[d];
             final long xx = tileX - dx;
             final long yy = tileY + dy;
-            final int vvq = parent.getParent().getOrGenerateChunkThatContains(xx, yy).getOrGenerateTile(xx, yy);
+            final int nlx = lx - dx;
+            final int nly = ly + dy;
+            // neighbors inside this chunk are read straight from the tile layer. Neighbors that are still being generated simply don't contribute a transition border yet...
+            final int vvq = (nlx >= 0 && nlx < TChunk.CHUNK_SIZE && nly >= 0 && nly < TChunk.CHUNK_SIZE) 
+            		? parent.getLocalTile(TChunk.localIndex(nlx, nly)) 
+            		: parent.getParent().getOrGenerateChunkThatContains(xx, yy).getTile(xx, yy);
             if (vvq != vq && vvq > vq) {
             	float       borderCX         = (xx + 0.5f) * TWorld.TILE_SIZE;
                 float       borderCY         = (yy + 0.5f) * TWorld.TILE_SIZE;
@@ -85,6 +114,94 @@ public abstract class TBiome {
                 TGraphics.draw(border);
             }
         }
-    	TGraphics.draw("sheets/natural.png", levels[vq], tileX * TWorld.TILE_SIZE, tileY * TWorld.TILE_SIZE, 255, TWorld.TILE_SIZE, TWorld.TILE_SIZE, Color.WHITE);
+    	TGraphics.draw(TERRAIN_SHEET, levels[vq], tileX * TWorld.TILE_SIZE, tileY * TWorld.TILE_SIZE, 255, TWorld.TILE_SIZE, TWorld.TILE_SIZE, Color.WHITE);
+	}
+	
+	/**
+	 * Draws every tile of the parent chunk into "batch". Coordinates are local to the chunk, in pixels, with the bottom-left corner of local tile
+	 * (0, 0) at the origin. Used to bake the chunk's terrain layer; see {@link dev.iwilkey.terrafort.world.TTerrainCache}.
+	 */
+	public void bakeTiles(SpriteBatch batch) {
+		final TSpriteSheet sheet = TGraphics.getSheet(TERRAIN_SHEET);
+		for(int ly = 0; ly < TChunk.CHUNK_SIZE; ly++) {
+			for(int lx = 0; lx < TChunk.CHUNK_SIZE; lx++) {
+				final int vq = parent.getLocalTile(TChunk.localIndex(lx, ly));
+				if(vq < 0)
+					continue;
+				final TFrame frame = levels[vq];
+				batch.draw(sheet.get(), 
+						   lx * TWorld.TILE_SIZE, 
+						   ly * TWorld.TILE_SIZE, 
+						   TWorld.TILE_SIZE, 
+						   TWorld.TILE_SIZE, 
+						   sheet.getRegionX(frame.getDataOffsetX()), 
+						   sheet.getRegionY(frame.getDataOffsetY()), 
+						   frame.getDataSelectionWidth() * TGraphics.DATA_WIDTH, 
+						   frame.getDataSelectionHeight() * TGraphics.DATA_HEIGHT, 
+						   false, 
+						   false);
+			}
+		}
 	}
+	
+	/**
+	 * Draws the height transition borders of the parent chunk into "renderer", which must be in filled mode. Same coordinates as bakeTiles(batch).
+	 * 
+	 * <p>
+	 * A border is drawn inside every tile along each edge (or corner) that faces a lower neighbor, colored after the neighbor's level. Neighbors in
+	 * other chunks that aren't in memory or generated yet don't contribute a border; the bake is invalidated when they arrive.
+	 * </p>
+	 */
+	public void bakeTransitions(ShapeRenderer renderer) {
+		final long originX = (long)parent.getChunkX() * TChunk.CHUNK_SIZE;
+		final long originY = (long)parent.getChunkY() * TChunk.CHUNK_SIZE;
+		final int  inset   = TWorld.HALF_TILE_SIZE - (BORDER_SIZE / 2);
+		// the 8 chunks around this one, looked up once; (dx + 1) + (dy + 1) * 3...
+		final TChunk[] around = new TChunk[9];
+		for(int dy = -1; dy <= 1; dy++)
+			for(int dx = -1; dx <= 1; dx++)
+				if(dx != 0 || dy != 0)
+					around[(dx + 1) + (dy + 1) * 3] = parent.getParent().getChunkAt(parent.getChunkX() + dx, parent.getChunkY() + dy);
+		for(int ly = 0; ly < TChunk.CHUNK_SIZE; ly++) {
+			for(int lx = 0; lx < TChunk.CHUNK_SIZE; lx++) {
+				final int vq = parent.getLocalTile(TChunk.localIndex(lx, ly));
+				if(vq <= MIN_HEIGHT)
+					continue;
+				final float cx = lx * TWorld.TILE_SIZE + TWorld.HALF_TILE_SIZE;
+				final float cy = ly * TWorld.TILE_SIZE + TWorld.HALF_TILE_SIZE;
+				for(int d = 0; d < 8; d++) {
+					final int ox  = TMath.DX[d];
+					final int oy  = TMath.DY[d];
+					final int nlx = lx + ox;
+					final int nly = ly + oy;
+					int       vvq;
+					if(nlx >= 0 && nlx < TChunk.CHUNK_SIZE && nly >= 0 && nly < TChunk.CHUNK_SIZE)
+						vvq = parent.getLocalTile(TChunk.localIndex(nlx, nly));
+					else {
+						final int    dx       = (nlx < 0) ? -1 : (nlx >= TChunk.CHUNK_SIZE) ? 1 : 0;
+						final int    dy       = (nly < 0) ? -1 : (nly >= TChunk.CHUNK_SIZE) ? 1 : 0;
+						final TChunk neighbor = around[(dx + 1) + (dy + 1) * 3];
+						vvq = (neighbor != null) ? neighbor.getTile(originX + nlx, originY + nly) : -1;
+					}
+					if(vvq < 0 || vvq >= vq)
+						continue;
+					final float width  = (ox == 0) ? TWorld.TILE_SIZE : BORDER_SIZE;
+					final float height = (oy == 0) ? TWorld.TILE_SIZE : BORDER_SIZE;
+					renderer.setColor(transitions[vvq]);
+					renderer.rect(cx + (ox * inset) - (width / 2), cy + (oy * inset) - (height / 2), width, height);
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Draws a flat placeholder in place of a tile whose chunk is still being generated in the background.
+	 */
+	protected void renderPlaceholder(long tileX, long tileY) {
+		final TRect placeholder = new TRect((tileX * TWorld.TILE_SIZE), (tileY * TWorld.TILE_SIZE), TWorld.TILE_SIZE, TWorld.TILE_SIZE);
+		placeholder.setColor(PLACEHOLDER_COLOR);
+		placeholder.setDepth(255);
+		TGraphics.draw(placeholder);
+	}
+	
 }
@@ -16,6 +16,17 @@ public final class TDefaultBiome extends TBiome {
 	public static final TFrame LEVEL_2_GRASS = new TFrame(2, 0, 1, 1);
 	public static final TFrame LEVEL_3_ROCK  = new TFrame(3, 0, 1, 1);
 	
+	/**
+	 * The average color of the frame of each level, RGBA int format. Used where a chunk is too far away to be drawn tile by tile; see
+	 * {@link dev.iwilkey.terrafort.world.TTerrainImpostors}.
+	 */
+	public static final int[]  IMPOSTOR_COLORS = {
+		0x15cbbeff,
+		0xcdb460ff,
+		0x55b556ff,
+		0x9f9390ff
+	};
+	
 	/**
 	 * The {@link TChunk} that is given implies the chunk is of the biome {@link TDefaultBiome}.
 	 */
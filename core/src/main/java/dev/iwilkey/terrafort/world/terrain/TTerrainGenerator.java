@@ -9,13 +9,135 @@ import dev.iwilkey.terrafort.math.TNoise;
  */
 public final class TTerrainGenerator {
 	
+	/**
+	 * The bounds of the frequency of the height layer, which is modulated by a low frequency layer.
+	 */
+	private static final float FREQUENCY_LOWER_BOUND = 0.00001f;
+	private static final float FREQUENCY_UPPER_BOUND = 0.02f;
+	
+	/**
+	 * The octaves of the frequency modulation and height layers.
+	 */
+	private static final int   FREQUENCY_OCTAVES     = 8;
+	private static final int   HEIGHT_OCTAVES        = 16;
+	
+	/**
+	 * An upper bound of the magnitude of one noise sample, with a margin. Used to find out early that the octaves left can't change the height
+	 * of a tile anymore.
+	 */
+	private static final float NOISE_BOUND           = 1.0625f;
+	
+	/**
+	 * Working arrays of the region API, one set per thread so chunks can be generated concurrently.
+	 */
+	private static final ThreadLocal<TRegionScratch> SCRATCH = ThreadLocal.withInitial(TRegionScratch::new);
+	
 	public static int getHeightAt(long seed, long tileX, long tileY) {
-		final float flb  = 0.00001f;
-		final float fub  = 0.02f;
+		final float flb  = FREQUENCY_LOWER_BOUND;
+		final float fub  = FREQUENCY_UPPER_BOUND;
 		final float freq = flb + layer(seed, tileX, tileY, 0.001f, 8) * (fub - flb);
 	    return TMath.partition(layer(seed, tileX, tileY, freq, 16), TBiome.TERRAIN_LEVELS);
 	}
 	
+	/**
+	 * Fills "out" with the terrain heights of the (width x height) tile rectangle whose bottom left tile is (tileX, tileY), row by row from
+	 * the bottom. The same heights as getHeightAt(seed, x, y) for every tile, computed a whole octave of the rectangle at a time.
+	 * 
+	 * <p>
+	 * A tile stops being sampled as soon as the octaves it has left are too faint to move it into another height level, which is most tiles
+	 * well before the last octave.
+	 * </p>
+	 */
+	public static void getHeights(long seed, long tileX, long tileY, int width, int height, byte[] out) {
+		final int            n = width * height;
+		final TRegionScratch s = SCRATCH.get().prepare(tileX, tileY, width, height);
+		final float          r = FREQUENCY_UPPER_BOUND - FREQUENCY_LOWER_BOUND;
+		for(int i = 0; i < n; i++)
+			s.frequency[i] = 0.001f;
+		layer(seed, s, n, FREQUENCY_OCTAVES, s.value);
+		for(int i = 0; i < n; i++)
+			s.frequency[i] = FREQUENCY_LOWER_BOUND + s.value[i] * r;
+		// the amplitudes are the same for every tile, so the total amplitude and what is left of it after each octave are known up front...
+		float maxAmplitude = 0;
+		float amplitude    = 1;
+		for(int o = 0; o < HEIGHT_OCTAVES; o++) {
+			maxAmplitude += amplitude;
+			amplitude    /= 2;
+		}
+		final float[] total     = s.total;
+		final float[] frequency = s.frequency;
+		final int[]   active    = s.active;
+		int           count     = n;
+		float         remaining = maxAmplitude;
+		amplitude               = 1;
+		for(int i = 0; i < n; i++) {
+			total[i]  = 0;
+			active[i] = i;
+		}
+		for(int o = 0; o < HEIGHT_OCTAVES && count != 0; o++) {
+			remaining -= amplitude;
+			// keep only the tiles whose level can still change...
+			final float bound = remaining * NOISE_BOUND + 1e-4f;
+			int kept = 0;
+			for(int k = 0; k < count; k++) {
+				final int i   = active[k];
+				total[i]     += TNoise.get(seed, s.tileX[i] * frequency[i], s.tileY[i] * frequency[i]) * amplitude;
+				frequency[i] *= 2;
+				final int lo  = level(total[i] - bound, maxAmplitude);
+				if(o == HEIGHT_OCTAVES - 1 || lo != level(total[i] + bound, maxAmplitude))
+					active[kept++] = i;
+				else out[i] = (byte)lo;
+			}
+			count      = kept;
+			amplitude /= 2;
+		}
+		for(int k = 0; k < count; k++)
+			out[active[k]] = (byte)level(total[active[k]], maxAmplitude);
+	}
+	
+	/**
+	 * The height level of a summed height layer, the same way getHeightAt(seed, x, y) computes it. Monotonic in "total".
+	 */
+	private static int level(float total, float maxAmplitude) {
+		final float value = (float)(((total / maxAmplitude) + 1.0) / 2.0);
+		return TMath.partition(Math.max(0, Math.min(1, value)), TBiome.TERRAIN_LEVELS);
+	}
+	
+	/**
+	 * Fills "out" with the noise layer of the (width x height) tile rectangle whose bottom left tile is (tileX, tileY), row by row from the 
+	 * bottom. The same values as layer(seed, x, y, freq, octaves) for every tile, bit for bit.
+	 */
+	public static void layer(long seed, long tileX, long tileY, int width, int height, float freq, float octaves, float[] out) {
+		final int            n = width * height;
+		final TRegionScratch s = SCRATCH.get().prepare(tileX, tileY, width, height);
+		for(int i = 0; i < n; i++)
+			s.frequency[i] = freq;
+		layer(seed, s, n, octaves, out);
+	}
+	
+	/**
+	 * The region layer. Every sample starts at its own frequency in s.frequency, which is used up. Octaves are summed in the same order and 
+	 * precision as the per tile layer, so results are identical.
+	 */
+	private static void layer(long seed, TRegionScratch s, int n, float octaves, float[] out) {
+		final float[] total        = s.total;
+		final float[] frequency    = s.frequency;
+		float         amplitude    = 1;
+		float         maxAmplitude = 0;
+		for(int i = 0; i < n; i++)
+			total[i] = 0;
+		for(int o = 0; o < octaves; o++) {
+			for(int i = 0; i < n; i++) {
+				total[i]     += TNoise.get(seed, s.tileX[i] * frequency[i], s.tileY[i] * frequency[i]) * amplitude;
+				frequency[i] *= 2;
+			}
+			maxAmplitude += amplitude;
+			amplitude    /= 2;
+		}
+		for(int i = 0; i < n; i++)
+			out[i] = (float)(((total[i] / maxAmplitude) + 1.0) / 2.0);
+	}
+	
 	/**
 	 * Requests an OpenSimplex noise value at given tile coordinates with given frequency and octaves.
 	 * 
@@ -36,5 +158,42 @@ public final class TTerrainGenerator {
 	    }
 	    return (float)(((total / maxAmplitude) + 1.0) / 2.0);
 	}
+	
+	/**
+	 * Working arrays of the region API. Tile coordinates are stored as floats because that is what a long tile coordinate is promoted to when
+	 * it is multiplied by a float frequency.
+	 * @author Ian Wilkey (iwilkey)
+	 */
+	private static final class TRegionScratch {
+		
+		private float[] tileX     = new float[0];
+		private float[] tileY     = new float[0];
+		private float[] frequency = new float[0];
+		private float[] total     = new float[0];
+		private float[] value     = new float[0];
+		private int[]   active    = new int[0];
+		
+		/**
+		 * Grows the arrays to fit given rectangle, if needed, and fills in its tile coordinates. Returns itself.
+		 */
+		TRegionScratch prepare(long originX, long originY, int width, int height) {
+			final int n = width * height;
+			if(tileX.length < n) {
+				tileX     = new float[n];
+				tileY     = new float[n];
+				frequency = new float[n];
+				total     = new float[n];
+				value     = new float[n];
+				active    = new int[n];
+			}
+			for(int j = 0, i = 0; j < height; j++)
+				for(int k = 0; k < width; k++, i++) {
+					tileX[i] = originX + k;
+					tileY[i] = originY + j;
+				}
+			return this;
+		}
+		
+	}
 
 }
@@ -0,0 +1,63 @@
+package dev.iwilkey.terrafort.headless;
+
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+
+import dev.iwilkey.terrafort.TSimulation;
+
+/**
+ * Launches a headless (no window, no GL context) simulation of a Terrafort world.
+ *
+ * <p>
+ * Usage: [--seed n] [--tick-rate hz] [--ticks n] [--speed tiles/s] [--paced]
+ * </p>
+ *
+ * By default the world is ticked as fast as possible; with --paced, ticks are spread out over wall time at the tick rate.
+ * @author Ian Wilkey (iwilkey)
+ */
+public class TerrafortHeadlessLauncher {
+
+	/**
+	 * The default amount of ticks per second of simulated time.
+	 */
+	public static final int   DEFAULT_TICK_RATE   = 60;
+
+	/**
+	 * The default speed, in tiles per second, of the simulation's focus.
+	 */
+	public static final float DEFAULT_FOCUS_SPEED = 4.0f;
+
+	public static void main(String[] args) {
+		long    seed     = 0L;
+		int     tickRate = DEFAULT_TICK_RATE;
+		long    ticks    = 0L;
+		float   speed    = DEFAULT_FOCUS_SPEED;
+		boolean paced    = false;
+		for(int i = 0; i < args.length; i++) {
+			switch(args[i]) {
+				case "--seed":
+					seed = Long.parseLong(args[++i]);
+					break;
+				case "--tick-rate":
+					tickRate = Integer.parseInt(args[++i]);
+					break;
+				case "--ticks":
+					ticks = Long.parseLong(args[++i]);
+					break;
+				case "--speed":
+					speed = Float.parseFloat(args[++i]);
+					break;
+				case "--paced":
+					paced = true;
+					break;
+				default:
+					throw new IllegalArgumentException("[Terrafort Game Engine] Unknown headless argument: " + args[i]);
+			}
+		}
+		final HeadlessApplicationConfiguration configuration = new HeadlessApplicationConfiguration();
+		// zero means the application loop never sleeps...
+		configuration.updatesPerSecond = paced ? tickRate : 0;
+		new HeadlessApplication(new TSimulation(seed, tickRate, ticks, speed), configuration);
+	}
+
+}